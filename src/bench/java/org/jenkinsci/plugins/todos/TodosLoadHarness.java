@@ -0,0 +1,285 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2026 TODOs Plugin contributors
+ * This file is part of TODOs Plugin (Jenkins CI).
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.jenkinsci.plugins.todos;
+
+import hudson.FilePath;
+
+import java.io.File;
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryPoolMXBean;
+import java.lang.management.MemoryType;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.jenkinsci.plugins.todos.benchmark.TodosReportGenerator;
+import org.jenkinsci.plugins.todos.model.TodosComment;
+import org.jenkinsci.plugins.todos.model.TodosReport;
+import org.jenkinsci.plugins.todos.model.TodosReportReceiver;
+import org.jenkinsci.plugins.todos.model.TodosTimings;
+
+/**
+ * End-to-end load test of the publishing and the results paths over a
+ * simulated history of builds. No Jenkins instance is needed, the workspace
+ * and the build directories are plain local directories.
+ * 
+ * Arguments: number of comments, number of patterns, number of files, skew,
+ * churn in percent, number of builds and number of report files per build.
+ * 
+ * @author TODOs Plugin contributors
+ */
+public class TodosLoadHarness {
+	/** Pattern matching the generated report files. */
+	private static final String FILE_PATTERN = "**/todos*.xml";
+
+	/** Nanoseconds in a millisecond. */
+	private static final double NANOS_PER_MILLI = 1000000.0;
+
+	/** Durations of the phases in nanoseconds. */
+	private final Map<String, List<Long>> durations = new LinkedHashMap<String, List<Long>>();
+
+	/** Total number of parsed comments. */
+	private long numComments = 0;
+
+	/**
+	 * Entry point.
+	 * 
+	 * @param args
+	 *            the arguments
+	 * @throws Exception
+	 *             if something fails
+	 */
+	public static void main(String[] args) throws Exception {
+		if (args.length != 7) {
+			System.err.println("Usage: TodosLoadHarness COMMENTS PATTERNS"
+					+ " FILES SKEW CHURN_PERCENT BUILDS REPORT_FILES");
+			System.exit(1);
+		}
+
+		TodosReportGenerator generator = new TodosReportGenerator(
+				Integer.parseInt(args[0]), Integer.parseInt(args[1]),
+				Integer.parseInt(args[2]), Double.parseDouble(args[3]),
+				Integer.parseInt(args[4]), 1);
+
+		File directory = TodosReportGenerator
+				.createTempDirectory("todos-load");
+
+		try {
+			new TodosLoadHarness().run(generator, Integer.parseInt(args[5]),
+					Integer.parseInt(args[6]), directory);
+		} finally {
+			TodosReportGenerator.deleteDirectory(directory);
+		}
+	}
+
+	/**
+	 * Run the simulation and print the results.
+	 * 
+	 * @param generator
+	 *            generator of the reports
+	 * @param numBuilds
+	 *            number of builds
+	 * @param numReportFiles
+	 *            number of report files per build
+	 * @param directory
+	 *            working directory
+	 * @throws IOException
+	 *             if something fails
+	 * @throws InterruptedException
+	 *             if something fails
+	 */
+	private void run(TodosReportGenerator generator, int numBuilds,
+			int numReportFiles, File directory) throws IOException,
+			InterruptedException {
+		File workspace = new File(directory, "workspace");
+		File builds = new File(directory, "builds");
+		File previousBuildDir = null;
+
+		List<TodosComment> comments = generator.generate();
+		resetPeakHeap();
+		long start = System.nanoTime();
+
+		for (int build = 1; build <= numBuilds; ++build) {
+			TodosReportGenerator.deleteDirectory(workspace);
+			mkdirs(workspace);
+			TodosReportGenerator.writeXml(comments, workspace, numReportFiles);
+
+			File buildDir = new File(builds, String.valueOf(build));
+			mkdirs(buildDir);
+
+			runBuild(workspace, buildDir, previousBuildDir);
+
+			previousBuildDir = buildDir;
+			comments = generator.nextBuild(comments);
+		}
+
+		long elapsed = System.nanoTime() - start;
+		printResults(elapsed);
+	}
+
+	/**
+	 * Run the publishing and the results paths of one build.
+	 * 
+	 * @param workspace
+	 *            the workspace with the reports
+	 * @param buildDir
+	 *            the build directory
+	 * @param previousBuildDir
+	 *            the previous build directory or null
+	 * @throws IOException
+	 *             if something fails
+	 * @throws InterruptedException
+	 *             if something fails
+	 */
+	private void runBuild(File workspace, File buildDir, File previousBuildDir)
+			throws IOException, InterruptedException {
+		long time = System.nanoTime();
+		TodosReportReceiver receiver = TodosPublisher.receiveReports(
+				new FilePath(workspace), FILE_PATTERN,
+				TodosConstants.DEFAULT_DIRECTORY_DEPTH, buildDir, null,
+				null, new TodosTimings());
+
+		receiver.getStatistics();
+		receiver.getDirectoryStatistics();
+		time = record("publish", time);
+
+		TodosReport current = TodosPrecomputation.loadReport(buildDir);
+		TodosReport previous = (previousBuildDir == null) ? null
+				: TodosPrecomputation.loadReport(previousBuildDir);
+		current.diffReports(previous);
+		record("diff", time);
+
+		numComments += receiver.getCommentsCount();
+	}
+
+	/**
+	 * Record duration of a phase.
+	 * 
+	 * @param phase
+	 *            name of the phase
+	 * @param start
+	 *            start of the phase
+	 * @return end of the phase
+	 */
+	private long record(String phase, long start) {
+		long end = System.nanoTime();
+		List<Long> values = durations.get(phase);
+
+		if (values == null) {
+			values = new ArrayList<Long>();
+			durations.put(phase, values);
+		}
+
+		values.add(Long.valueOf(end - start));
+		return end;
+	}
+
+	/**
+	 * Print the results.
+	 * 
+	 * @param elapsed
+	 *            total elapsed time in nanoseconds
+	 */
+	private void printResults(long elapsed) {
+		System.out.format("%-12s %10s %10s %10s %10s%n", "phase [ms]", "p50",
+				"p90", "p99", "max");
+
+		for (Map.Entry<String, List<Long>> entry : durations.entrySet()) {
+			List<Long> values = new ArrayList<Long>(entry.getValue());
+			Collections.sort(values);
+
+			System.out.format("%-12s %10.1f %10.1f %10.1f %10.1f%n",
+					entry.getKey(), percentile(values, 50),
+					percentile(values, 90), percentile(values, 99),
+					percentile(values, 100));
+		}
+
+		double seconds = elapsed / (NANOS_PER_MILLI * 1000);
+		System.out.format("Comments:   %d%n", numComments);
+		System.out.format("Throughput: %.0f comments/s%n", numComments
+				/ seconds);
+		System.out.format("Peak heap:  %.1f MB%n", getPeakHeap()
+				/ (1024.0 * 1024.0));
+	}
+
+	/**
+	 * Get a percentile of sorted values.
+	 * 
+	 * @param values
+	 *            the sorted values in nanoseconds
+	 * @param percentile
+	 *            the percentile
+	 * @return the value in milliseconds
+	 */
+	private static double percentile(List<Long> values, int percentile) {
+		int index = (int) Math.ceil(percentile / 100.0 * values.size()) - 1;
+		return values.get(Math.max(0, index)).longValue() / NANOS_PER_MILLI;
+	}
+
+	/**
+	 * Reset peak usage of all heap memory pools.
+	 */
+	private static void resetPeakHeap() {
+		for (MemoryPoolMXBean pool : ManagementFactory.getMemoryPoolMXBeans()) {
+			if (pool.getType() == MemoryType.HEAP) {
+				pool.resetPeakUsage();
+			}
+		}
+	}
+
+	/**
+	 * Get sum of peak usages of all heap memory pools.
+	 * 
+	 * @return the peak usage in bytes
+	 */
+	private static long getPeakHeap() {
+		long peak = 0;
+
+		for (MemoryPoolMXBean pool : ManagementFactory.getMemoryPoolMXBeans()) {
+			if (pool.getType() == MemoryType.HEAP) {
+				peak += pool.getPeakUsage().getUsed();
+			}
+		}
+
+		return peak;
+	}
+
+	/**
+	 * Create a directory including its parents.
+	 * 
+	 * @param directory
+	 *            the directory
+	 * @throws IOException
+	 *             if creating fails
+	 */
+	private static void mkdirs(File directory) throws IOException {
+		if (!directory.isDirectory() && !directory.mkdirs()) {
+			throw new IOException("Creating of directory failed: " + directory);
+		}
+	}
+}
@@ -0,0 +1,136 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2026 TODOs Plugin contributors
+ * This file is part of TODOs Plugin (Jenkins CI).
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.jenkinsci.plugins.todos.benchmark;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.jenkinsci.plugins.todos.model.TodosComment;
+import org.jenkinsci.plugins.todos.model.TodosParser;
+import org.jenkinsci.plugins.todos.model.TodosReport;
+import org.jenkinsci.plugins.todos.model.TodosReportStatistics;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+/**
+ * Operations whose allocations are checked against the budgets. The
+ * benchmark is intended to be run with the GC profiler.
+ * 
+ * @author TODOs Plugin contributors
+ * 
+ * @see TodosFootprintCheck
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class TodosAllocationBenchmark {
+	/** Number of comments in the report. */
+	@Param({ "10000" })
+	public int numComments;
+
+	/** Number of distinct patterns. */
+	@Param({ "6" })
+	public int numPatterns;
+
+	/** Directory with the generated report. */
+	private File directory;
+
+	/** The generated report. */
+	private File[] files;
+
+	/** The previous report. */
+	private TodosReport previous;
+
+	/** The current report. */
+	private TodosReport current;
+
+	/**
+	 * Generate the reports.
+	 * 
+	 * @throws IOException
+	 *             if writing fails
+	 */
+	@Setup(Level.Trial)
+	public void setUp() throws IOException {
+		TodosReportGenerator generator = new TodosReportGenerator(
+				numComments, numPatterns, numComments / 10, 3.0, 5, 1);
+		List<TodosComment> previousComments = generator.generate();
+		List<TodosComment> currentComments = generator
+				.nextBuild(previousComments);
+
+		directory = TodosReportGenerator.createTempDirectory("todos-alloc");
+		files = TodosReportGenerator.writeXml(currentComments, directory, 1);
+		previous = new TodosReport(previousComments);
+		current = TodosParser.parseFiles(files);
+	}
+
+	/**
+	 * Delete the report.
+	 */
+	@TearDown(Level.Trial)
+	public void tearDown() {
+		TodosReportGenerator.deleteDirectory(directory);
+	}
+
+	/**
+	 * Parse the report.
+	 * 
+	 * @return the report
+	 */
+	@Benchmark
+	public TodosReport parse() {
+		return TodosParser.parseFiles(files);
+	}
+
+	/**
+	 * Diff two reports.
+	 * 
+	 * @return the report
+	 */
+	@Benchmark
+	public TodosReport diff() {
+		return current.diffReports(previous);
+	}
+
+	/**
+	 * Compute statistics of a report.
+	 * 
+	 * @return the statistics
+	 */
+	@Benchmark
+	public TodosReportStatistics statistics() {
+		return current.getStatistics();
+	}
+}
@@ -0,0 +1,99 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2026 TODOs Plugin contributors
+ * This file is part of TODOs Plugin (Jenkins CI).
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.jenkinsci.plugins.todos.benchmark;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.jenkinsci.plugins.todos.TodosChartBuilder;
+import org.jenkinsci.plugins.todos.TodosConstants;
+import org.jenkinsci.plugins.todos.model.TodosPatternStatistics;
+import org.jenkinsci.plugins.todos.model.TodosReportStatistics;
+import org.jenkinsci.plugins.todos.model.TodosTrendEntry;
+import org.jfree.chart.JFreeChart;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * Benchmark of building of the trend chart.
+ * 
+ * @author TODOs Plugin contributors
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class TodosChartBenchmark {
+	/** Number of builds in the trend. */
+	@Param({ "10", "1000" })
+	public int numBuilds;
+
+	/** Number of distinct patterns. */
+	@Param({ "3", "20" })
+	public int numPatterns;
+
+	/** The trend. */
+	private List<TodosTrendEntry> trend;
+
+	/**
+	 * Generate the trend.
+	 */
+	@Setup(Level.Trial)
+	public void setUp() {
+		Random random = new Random(1);
+		trend = new ArrayList<TodosTrendEntry>(numBuilds);
+
+		for (int build = 1; build <= numBuilds; ++build) {
+			List<TodosPatternStatistics> patterns = new ArrayList<TodosPatternStatistics>();
+
+			for (int pattern = 0; pattern < numPatterns; ++pattern) {
+				patterns.add(new TodosPatternStatistics(TodosReportGenerator
+						.getPattern(pattern), random.nextInt(1000), random
+						.nextInt(100)));
+			}
+
+			trend.add(new TodosTrendEntry(build, new TodosReportStatistics(
+					patterns)));
+		}
+	}
+
+	/**
+	 * Build the trend chart.
+	 * 
+	 * @return the chart
+	 */
+	@Benchmark
+	public JFreeChart buildChart() {
+		return TodosChartBuilder.buildChart(trend, TodosConstants.RESULTS_URL);
+	}
+}
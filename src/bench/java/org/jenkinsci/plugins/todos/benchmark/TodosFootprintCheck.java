@@ -0,0 +1,238 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2026 TODOs Plugin contributors
+ * This file is part of TODOs Plugin (Jenkins CI).
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.jenkinsci.plugins.todos.benchmark;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+
+import org.jenkinsci.plugins.todos.model.TodosComment;
+import org.jenkinsci.plugins.todos.model.TodosParser;
+import org.jenkinsci.plugins.todos.model.TodosReport;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.results.Result;
+import org.openjdk.jmh.results.RunResult;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.openjdk.jol.info.GraphLayout;
+
+/**
+ * Check of memory footprint and allocations of the report model against the
+ * budgets in footprint-budgets.properties. The process exits with a non-zero
+ * status if any budget is exceeded, so regressions fail the build.
+ * 
+ * All values are in bytes per comment: the retained heap of a report and the
+ * memory allocated by one operation.
+ * 
+ * @author TODOs Plugin contributors
+ */
+public class TodosFootprintCheck {
+	/** Resource with the budgets. */
+	private static final String BUDGETS = "/footprint-budgets.properties";
+
+	/** Number of comments in the measured reports. */
+	private static final int NUM_COMMENTS = 10000;
+
+	/** Number of distinct patterns in the measured reports. */
+	private static final int NUM_PATTERNS = 6;
+
+	/** Names of the normalized allocation rate in various JMH versions. */
+	private static final String[] ALLOC_METRICS = { "gc.alloc.rate.norm",
+			"\u00b7gc.alloc.rate.norm" };
+
+	/** The budgets. */
+	private final Properties budgets = new Properties();
+
+	/** Descriptions of the exceeded budgets. */
+	private final List<String> failures = new ArrayList<String>();
+
+	/**
+	 * Entry point.
+	 * 
+	 * @param args
+	 *            the arguments, not used
+	 * @throws Exception
+	 *             if something fails
+	 */
+	public static void main(String[] args) throws Exception {
+		TodosFootprintCheck check = new TodosFootprintCheck();
+		check.loadBudgets();
+		check.checkRetainedHeap();
+		check.checkAllocations();
+
+		if (!check.failures.isEmpty()) {
+			for (String failure : check.failures) {
+				System.err.println("Budget exceeded: " + failure);
+			}
+
+			System.exit(1);
+		}
+
+		System.out.println("All footprint budgets are met.");
+	}
+
+	/**
+	 * Load the budgets.
+	 * 
+	 * @throws IOException
+	 *             if loading fails
+	 */
+	private void loadBudgets() throws IOException {
+		InputStream stream = TodosFootprintCheck.class
+				.getResourceAsStream(BUDGETS);
+
+		if (stream == null) {
+			throw new IOException("Missing resource: " + BUDGETS);
+		}
+
+		try {
+			budgets.load(stream);
+		} finally {
+			stream.close();
+		}
+	}
+
+	/**
+	 * Measure the retained heap of a parsed report.
+	 * 
+	 * @throws IOException
+	 *             if writing of the report fails
+	 */
+	private void checkRetainedHeap() throws IOException {
+		TodosReportGenerator generator = new TodosReportGenerator(
+				NUM_COMMENTS, NUM_PATTERNS, NUM_COMMENTS / 10, 3.0, 5, 1);
+		List<TodosComment> previousComments = generator.generate();
+		List<TodosComment> currentComments = generator
+				.nextBuild(previousComments);
+
+		File directory = TodosReportGenerator
+				.createTempDirectory("todos-footprint");
+
+		try {
+			File previousFile = new File(directory, "previous.xml");
+			File currentFile = new File(directory, "current.xml");
+			TodosReportGenerator.writeXml(previousComments, previousFile);
+			TodosReportGenerator.writeXml(currentComments, currentFile);
+
+			TodosReport previous = TodosParser
+					.parseFiles(new File[] { previousFile });
+			TodosReport current = TodosParser
+					.parseFiles(new File[] { currentFile });
+
+			check("retained.report", GraphLayout.parseInstance(current)
+					.totalSize(), current.getCommentsCount());
+
+			TodosReport diff = current.diffReports(previous);
+			check("retained.diff", GraphLayout.parseInstance(diff)
+					.totalSize(), diff.getCommentsCount());
+		} finally {
+			TodosReportGenerator.deleteDirectory(directory);
+		}
+	}
+
+	/**
+	 * Measure allocations of the operations using JMH and its GC profiler.
+	 * 
+	 * @throws RunnerException
+	 *             if running of the benchmark fails
+	 */
+	private void checkAllocations() throws RunnerException {
+		Options options = new OptionsBuilder()
+				.include(TodosAllocationBenchmark.class.getName())
+				.param("numComments", String.valueOf(NUM_COMMENTS))
+				.param("numPatterns", String.valueOf(NUM_PATTERNS))
+				.addProfiler(GCProfiler.class).forks(1).warmupIterations(3)
+				.measurementIterations(3)
+				.jvmArgsAppend("-Djava.awt.headless=true").build();
+
+		Collection<RunResult> results = new Runner(options).run();
+
+		for (RunResult result : results) {
+			String label = result.getParams().getBenchmark();
+			String operation = label.substring(label.lastIndexOf('.') + 1);
+			Result<?> allocation = getAllocation(result.getSecondaryResults());
+
+			if (allocation == null) {
+				failures.add("alloc." + operation
+						+ ": the GC profiler didn't provide the allocation rate");
+				continue;
+			}
+
+			check("alloc." + operation, (long) allocation.getScore(),
+					NUM_COMMENTS);
+		}
+	}
+
+	/**
+	 * Find the normalized allocation rate in the profiler results.
+	 * 
+	 * @param results
+	 *            the secondary results of a benchmark, JMH declares the map
+	 *            with the raw type
+	 * @return the result or null if not found
+	 */
+	@SuppressWarnings("rawtypes")
+	private static Result<?> getAllocation(Map<String, Result> results) {
+		for (String name : ALLOC_METRICS) {
+			if (results.containsKey(name)) {
+				return results.get(name);
+			}
+		}
+
+		return null;
+	}
+
+	/**
+	 * Compare a measured value with its budget.
+	 * 
+	 * @param name
+	 *            name of the budget
+	 * @param bytes
+	 *            the measured number of bytes
+	 * @param numComments
+	 *            number of comments to normalize the value
+	 */
+	private void check(String name, long bytes, int numComments) {
+		String budget = budgets.getProperty(name);
+		long perComment = bytes / Math.max(1, numComments);
+
+		System.out.format("%-20s %8d B/comment (budget %s)%n", name,
+				perComment, budget);
+
+		if (budget == null) {
+			failures.add(name + ": no budget defined");
+		} else if (perComment > Long.parseLong(budget.trim())) {
+			failures.add(name + ": " + perComment + " B/comment > " + budget
+					+ " B/comment");
+		}
+	}
+}
@@ -0,0 +1,101 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2026 TODOs Plugin contributors
+ * This file is part of TODOs Plugin (Jenkins CI).
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.jenkinsci.plugins.todos.benchmark;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+import org.jenkinsci.plugins.todos.model.TodosParser;
+import org.jenkinsci.plugins.todos.model.TodosReport;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+/**
+ * Benchmark of parsing of XML reports.
+ * 
+ * @author TODOs Plugin contributors
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class TodosParserBenchmark {
+	/** Number of report files the comments are split to. */
+	private static final int NUM_REPORT_FILES = 10;
+
+	/** Number of comments in the report. */
+	@Param({ "1000", "100000" })
+	public int numComments;
+
+	/** Number of distinct patterns. */
+	@Param({ "3", "20" })
+	public int numPatterns;
+
+	/** Directory with the generated reports. */
+	private File directory;
+
+	/** The generated reports. */
+	private File[] files;
+
+	/**
+	 * Generate the reports.
+	 * 
+	 * @throws IOException
+	 *             if writing fails
+	 */
+	@Setup(Level.Trial)
+	public void setUp() throws IOException {
+		directory = TodosReportGenerator.createTempDirectory("todos-bench");
+		files = TodosReportGenerator.writeXml(new TodosReportGenerator(
+				numComments, numPatterns, numComments / 10, 1).generate(),
+				directory, NUM_REPORT_FILES);
+	}
+
+	/**
+	 * Delete the reports.
+	 */
+	@TearDown(Level.Trial)
+	public void tearDown() {
+		TodosReportGenerator.deleteDirectory(directory);
+	}
+
+	/**
+	 * Parse all reports.
+	 * 
+	 * @return the report
+	 */
+	@Benchmark
+	public TodosReport parseFiles() {
+		return TodosParser.parseFiles(files);
+	}
+}
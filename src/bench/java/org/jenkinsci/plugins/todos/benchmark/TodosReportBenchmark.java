@@ -0,0 +1,141 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2026 TODOs Plugin contributors
+ * This file is part of TODOs Plugin (Jenkins CI).
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.jenkinsci.plugins.todos.benchmark;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.jenkinsci.plugins.todos.TodosReportSummary;
+import org.jenkinsci.plugins.todos.model.TodosComment;
+import org.jenkinsci.plugins.todos.model.TodosReport;
+import org.jenkinsci.plugins.todos.model.TodosReportStatistics;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * Benchmark of operations with reports and their statistics.
+ * 
+ * @author TODOs Plugin contributors
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class TodosReportBenchmark {
+	/** Percentage of comments changed between the two reports. */
+	private static final int CHURN_PERCENT = 10;
+
+	/** Number of comments in the report. */
+	@Param({ "1000", "10000" })
+	public int numComments;
+
+	/** Number of distinct patterns. */
+	@Param({ "3", "20" })
+	public int numPatterns;
+
+	/** The previous report. */
+	private TodosReport previous;
+
+	/** The current report. */
+	private TodosReport current;
+
+	/** Statistics of the previous report. */
+	private TodosReportStatistics previousStatistics;
+
+	/** Statistics of the current report. */
+	private TodosReportStatistics currentStatistics;
+
+	/**
+	 * Generate the reports, the current one differs from the previous one in
+	 * a part of comments.
+	 */
+	@Setup(Level.Trial)
+	public void setUp() {
+		int numFiles = numComments / 10;
+		List<TodosComment> previousComments = new TodosReportGenerator(
+				numComments, numPatterns, numFiles, 1).generate();
+		List<TodosComment> newComments = new TodosReportGenerator(
+				numComments * CHURN_PERCENT / 100, numPatterns, numFiles, 2)
+				.generate();
+
+		List<TodosComment> currentComments = new ArrayList<TodosComment>(
+				previousComments.subList(newComments.size(),
+						previousComments.size()));
+		currentComments.addAll(newComments);
+
+		previous = new TodosReport(previousComments);
+		current = new TodosReport(currentComments);
+		previousStatistics = previous.getStatistics();
+		currentStatistics = current.getStatistics();
+	}
+
+	/**
+	 * Concatenate two reports.
+	 * 
+	 * @return the report
+	 */
+	@Benchmark
+	public TodosReport concatenate() {
+		return previous.concatenate(current);
+	}
+
+	/**
+	 * Diff two reports.
+	 * 
+	 * @return the report
+	 */
+	@Benchmark
+	public TodosReport diffReports() {
+		return current.diffReports(previous);
+	}
+
+	/**
+	 * Compute statistics of a report.
+	 * 
+	 * @return the statistics
+	 */
+	@Benchmark
+	public TodosReportStatistics getStatistics() {
+		return current.getStatistics();
+	}
+
+	/**
+	 * Render the summary details.
+	 * 
+	 * @return the summary details
+	 */
+	@Benchmark
+	public String createReportSummaryDetails() {
+		return TodosReportSummary.createReportSummaryDetails(
+				currentStatistics, previousStatistics);
+	}
+}
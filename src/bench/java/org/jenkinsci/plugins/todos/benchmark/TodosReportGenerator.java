@@ -0,0 +1,394 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2026 TODOs Plugin contributors
+ * This file is part of TODOs Plugin (Jenkins CI).
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.jenkinsci.plugins.todos.benchmark;
+
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import org.jenkinsci.plugins.todos.model.TodosComment;
+
+/**
+ * Generator of synthetic TODOs reports for benchmarks and load tests. The
+ * output is deterministic for the same parameters.
+ * 
+ * Files are selected with a configurable skew, a few files then contain most
+ * of the comments as in real projects. A history of builds can be generated
+ * with a configurable churn, a part of comments is solved, moved or added in
+ * each build.
+ * 
+ * @author TODOs Plugin contributors
+ */
+public class TodosReportGenerator {
+	/** Namespace of the XML reports. */
+	private static final String NAMESPACE = "http://todos.sourceforge.net";
+
+	/** Number of comments in the report. */
+	private final int numComments;
+
+	/** Number of distinct patterns. */
+	private final int numPatterns;
+
+	/** Number of distinct files. */
+	private final int numFiles;
+
+	/** Skew of the file distribution, 1 means uniform. */
+	private final double skew;
+
+	/** Percentage of comments changed between two builds. */
+	private final int churnPercent;
+
+	/** The random generator. */
+	private final Random random;
+
+	/** Counter of generated comments, makes the source codes unique. */
+	private int counter = 0;
+
+	/**
+	 * Constructor initializing members, uniform distribution of files and no
+	 * churn.
+	 * 
+	 * @param numComments
+	 *            number of comments in the report
+	 * @param numPatterns
+	 *            number of distinct patterns
+	 * @param numFiles
+	 *            number of distinct files
+	 * @param seed
+	 *            seed of the random generator
+	 */
+	public TodosReportGenerator(int numComments, int numPatterns,
+			int numFiles, long seed) {
+		this(numComments, numPatterns, numFiles, 1.0, 0, seed);
+	}
+
+	/**
+	 * Constructor initializing members.
+	 * 
+	 * @param numComments
+	 *            number of comments in the report
+	 * @param numPatterns
+	 *            number of distinct patterns
+	 * @param numFiles
+	 *            number of distinct files
+	 * @param skew
+	 *            skew of the file distribution, 1 means uniform, higher values
+	 *            move more comments to fewer files
+	 * @param churnPercent
+	 *            percentage of comments changed between two builds
+	 * @param seed
+	 *            seed of the random generator
+	 */
+	public TodosReportGenerator(int numComments, int numPatterns,
+			int numFiles, double skew, int churnPercent, long seed) {
+		this.numComments = numComments;
+		this.numPatterns = Math.max(1, numPatterns);
+		this.numFiles = Math.max(1, numFiles);
+		this.skew = Math.max(1.0, skew);
+		this.churnPercent = churnPercent;
+		this.random = new Random(seed);
+	}
+
+	/**
+	 * Generate the comments of the first build.
+	 * 
+	 * @return the comments
+	 */
+	public List<TodosComment> generate() {
+		List<TodosComment> comments = new ArrayList<TodosComment>(numComments);
+
+		for (int i = 0; i < numComments; ++i) {
+			comments.add(newComment());
+		}
+
+		return comments;
+	}
+
+	/**
+	 * Generate the comments of the next build. Each comment of the previous
+	 * build is solved or moved to another line with probability given by the
+	 * churn, the solved comments are replaced by new ones.
+	 * 
+	 * @param previous
+	 *            comments of the previous build
+	 * @return the comments
+	 */
+	public List<TodosComment> nextBuild(List<TodosComment> previous) {
+		List<TodosComment> comments = new ArrayList<TodosComment>(
+				previous.size());
+		int numSolved = 0;
+
+		for (TodosComment comment : previous) {
+			if (random.nextInt(100) < churnPercent) {
+				++numSolved;
+			} else if (random.nextInt(100) < churnPercent) {
+				comments.add(new TodosComment(comment.getPattern(), comment
+						.getFile(), Math.max(1, comment.getLine()
+						+ random.nextInt(21) - 10), comment.getSourceCode()));
+			} else {
+				comments.add(comment);
+			}
+		}
+
+		for (int i = 0; i < numSolved; ++i) {
+			comments.add(newComment());
+		}
+
+		return comments;
+	}
+
+	/**
+	 * Generate a new comment.
+	 * 
+	 * @return the comment
+	 */
+	private TodosComment newComment() {
+		// Power of uniform distribution, small indices are more probable
+		int file = (int) (numFiles * Math.pow(random.nextDouble(), skew));
+		int pattern = random.nextInt(numPatterns);
+
+		return new TodosComment(getPattern(pattern), getFile(file),
+				1 + random.nextInt(5000), getSourceCode(pattern, counter++));
+	}
+
+	/**
+	 * Get name of a pattern.
+	 * 
+	 * @param index
+	 *            index of the pattern
+	 * @return the name
+	 */
+	public static String getPattern(int index) {
+		switch (index) {
+		case 0:
+			return "TODO";
+		case 1:
+			return "FIXME";
+		case 2:
+			return "XXX";
+		default:
+			return "PATTERN" + index;
+		}
+	}
+
+	/**
+	 * Get path of a file.
+	 * 
+	 * @param index
+	 *            index of the file
+	 * @return the path
+	 */
+	public static String getFile(int index) {
+		return "module" + (index % 17) + "/src/main/java/package"
+				+ (index % 101) + "/File" + index + ".java";
+	}
+
+	/**
+	 * Get source code of a comment.
+	 * 
+	 * @param pattern
+	 *            index of the pattern
+	 * @param index
+	 *            index of the comment
+	 * @return the source code
+	 */
+	private static String getSourceCode(int pattern, int index) {
+		return "// " + getPattern(pattern) + ": synthetic comment number "
+				+ index + "\n\tint value = compute(" + index + ");";
+	}
+
+	/**
+	 * Write comments to a XML file valid against the TODOs schema.
+	 * 
+	 * @param comments
+	 *            the comments
+	 * @param file
+	 *            the output file
+	 * @throws IOException
+	 *             if writing fails
+	 */
+	public static void writeXml(List<TodosComment> comments, File file)
+			throws IOException {
+		Writer writer = new BufferedWriter(new OutputStreamWriter(
+				new FileOutputStream(file), "UTF-8"));
+
+		try {
+			writer.write("<?xml version=\"1.0\" encoding=\"UTF-8\"?>\n");
+			writer.write("<comments xmlns=\"" + NAMESPACE
+					+ "\" version=\"1.0\">\n");
+
+			for (TodosComment comment : comments) {
+				writer.write("\t<comment pattern=\"");
+				writer.write(escape(comment.getPattern()));
+				writer.write("\" file=\"");
+				writer.write(escape(comment.getFile()));
+				writer.write("\" line=\"");
+				writer.write(String.valueOf(comment.getLine()));
+				writer.write("\">");
+				writer.write(escape(comment.getSourceCode()));
+				writer.write("</comment>\n");
+			}
+
+			writer.write("</comments>\n");
+		} finally {
+			writer.close();
+		}
+	}
+
+	/**
+	 * Write comments to several XML files of similar size.
+	 * 
+	 * @param comments
+	 *            the comments
+	 * @param directory
+	 *            the output directory
+	 * @param numFiles
+	 *            number of the files
+	 * @return the files
+	 * @throws IOException
+	 *             if writing fails
+	 */
+	public static File[] writeXml(List<TodosComment> comments,
+			File directory, int numFiles) throws IOException {
+		File[] files = new File[numFiles];
+		int chunk = (comments.size() + numFiles - 1) / numFiles;
+
+		for (int i = 0; i < numFiles; ++i) {
+			int from = Math.min(comments.size(), i * chunk);
+			int to = Math.min(comments.size(), from + chunk);
+
+			files[i] = new File(directory, "todos" + i + ".xml");
+			writeXml(comments.subList(from, to), files[i]);
+		}
+
+		return files;
+	}
+
+	/**
+	 * Escape special XML characters.
+	 * 
+	 * @param text
+	 *            the text
+	 * @return the escaped text
+	 */
+	private static String escape(String text) {
+		return text.replace("&", "&amp;").replace("<", "&lt;")
+				.replace(">", "&gt;").replace("\"", "&quot;");
+	}
+
+	/**
+	 * Create a temporary directory.
+	 * 
+	 * @param prefix
+	 *            prefix of the name
+	 * @return the directory
+	 * @throws IOException
+	 *             if creating fails
+	 */
+	public static File createTempDirectory(String prefix) throws IOException {
+		File directory = File.createTempFile(prefix, "");
+
+		if (!directory.delete() || !directory.mkdir()) {
+			throw new IOException("Creating of directory failed: " + directory);
+		}
+
+		return directory;
+	}
+
+	/**
+	 * Delete a directory recursively.
+	 * 
+	 * @param directory
+	 *            the directory
+	 */
+	public static void deleteDirectory(File directory) {
+		File[] files = directory.listFiles();
+
+		if (files != null) {
+			for (File file : files) {
+				if (file.isDirectory()) {
+					deleteDirectory(file);
+				} else {
+					file.delete();
+				}
+			}
+		}
+
+		directory.delete();
+	}
+
+	/**
+	 * Write a history of builds to a directory, each build to its own
+	 * subdirectory.
+	 * 
+	 * Arguments: output directory, number of comments, number of patterns,
+	 * number of files, skew, churn in percent, number of builds and number
+	 * of report files per build.
+	 * 
+	 * @param args
+	 *            the arguments
+	 * @throws IOException
+	 *             if writing fails
+	 */
+	public static void main(String[] args) throws IOException {
+		if (args.length != 8) {
+			System.err.println("Usage: TodosReportGenerator OUTPUT_DIR"
+					+ " COMMENTS PATTERNS FILES SKEW CHURN_PERCENT"
+					+ " BUILDS REPORT_FILES");
+			System.exit(1);
+		}
+
+		File outputDir = new File(args[0]);
+		TodosReportGenerator generator = new TodosReportGenerator(
+				Integer.parseInt(args[1]), Integer.parseInt(args[2]),
+				Integer.parseInt(args[3]), Double.parseDouble(args[4]),
+				Integer.parseInt(args[5]), 1);
+		int numBuilds = Integer.parseInt(args[6]);
+		int numReportFiles = Integer.parseInt(args[7]);
+
+		List<TodosComment> comments = generator.generate();
+
+		for (int build = 1; build <= numBuilds; ++build) {
+			File buildDir = new File(outputDir, "build" + build);
+
+			if (!buildDir.isDirectory() && !buildDir.mkdirs()) {
+				throw new IOException("Creating of directory failed: "
+						+ buildDir);
+			}
+
+			writeXml(comments, buildDir, numReportFiles);
+			System.out.println("Build " + build + ": " + comments.size()
+					+ " comments written to " + buildDir);
+
+			comments = generator.nextBuild(comments);
+		}
+	}
+}
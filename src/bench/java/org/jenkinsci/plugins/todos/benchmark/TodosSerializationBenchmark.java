@@ -0,0 +1,191 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2026 TODOs Plugin contributors
+ * This file is part of TODOs Plugin (Jenkins CI).
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.jenkinsci.plugins.todos.benchmark;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.jenkinsci.plugins.todos.model.TodosComment;
+import org.jenkinsci.plugins.todos.model.TodosReport;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * Benchmark of the serialization of reports, e.g. during the transfer from a
+ * slave to the master. The compact form is compared with the default Java
+ * serialization of a list of comments, which was used before. The payload
+ * sizes are printed during the setup.
+ * 
+ * @author TODOs Plugin contributors
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class TodosSerializationBenchmark {
+	/** Number of comments in the report. */
+	@Param({ "10000", "100000" })
+	public int numComments;
+
+	/** Number of distinct patterns. */
+	@Param({ "6" })
+	public int numPatterns;
+
+	/** The report. */
+	private TodosReport report;
+
+	/** The comments with their own strings, as created by the XML parser. */
+	private ArrayList<TodosComment> legacyComments;
+
+	/** The serialized report. */
+	private byte[] compactData;
+
+	/** The serialized list of comments. */
+	private byte[] legacyData;
+
+	/**
+	 * Generate the report and serialize it.
+	 * 
+	 * @throws IOException
+	 *             if serialization fails
+	 */
+	@Setup(Level.Trial)
+	public void setUp() throws IOException {
+		List<TodosComment> comments = new TodosReportGenerator(numComments,
+				numPatterns, numComments / 10, 3.0, 5, 1).generate();
+
+		report = new TodosReport(comments);
+		legacyComments = new ArrayList<TodosComment>(comments.size());
+
+		for (TodosComment comment : comments) {
+			legacyComments.add(new TodosComment(new String(comment
+					.getPattern()), new String(comment.getFile()), comment
+					.getLine(), new String(comment.getSourceCode())));
+		}
+
+		compactData = serialize(report);
+		legacyData = serialize(legacyComments);
+
+		System.out.format("%nPayload size: compact %d B, legacy %d B%n",
+				compactData.length, legacyData.length);
+	}
+
+	/**
+	 * Serialize the report in the compact form.
+	 * 
+	 * @return the serialized data
+	 * @throws IOException
+	 *             if serialization fails
+	 */
+	@Benchmark
+	public byte[] compactEncode() throws IOException {
+		return serialize(report);
+	}
+
+	/**
+	 * Deserialize the report in the compact form.
+	 * 
+	 * @return the report
+	 * @throws Exception
+	 *             if deserialization fails
+	 */
+	@Benchmark
+	public Object compactDecode() throws Exception {
+		return deserialize(compactData);
+	}
+
+	/**
+	 * Serialize the comments using the default serialization.
+	 * 
+	 * @return the serialized data
+	 * @throws IOException
+	 *             if serialization fails
+	 */
+	@Benchmark
+	public byte[] legacyEncode() throws IOException {
+		return serialize(legacyComments);
+	}
+
+	/**
+	 * Deserialize the comments serialized using the default serialization.
+	 * 
+	 * @return the comments
+	 * @throws Exception
+	 *             if deserialization fails
+	 */
+	@Benchmark
+	public Object legacyDecode() throws Exception {
+		return deserialize(legacyData);
+	}
+
+	/**
+	 * Serialize an object.
+	 * 
+	 * @param object
+	 *            the object
+	 * @return the serialized data
+	 * @throws IOException
+	 *             if serialization fails
+	 */
+	private static byte[] serialize(Object object) throws IOException {
+		ByteArrayOutputStream data = new ByteArrayOutputStream();
+		ObjectOutputStream stream = new ObjectOutputStream(data);
+		stream.writeObject(object);
+		stream.close();
+		return data.toByteArray();
+	}
+
+	/**
+	 * Deserialize an object.
+	 * 
+	 * @param data
+	 *            the serialized data
+	 * @return the object
+	 * @throws Exception
+	 *             if deserialization fails
+	 */
+	private static Object deserialize(byte[] data) throws Exception {
+		ObjectInputStream stream = new ObjectInputStream(
+				new ByteArrayInputStream(data));
+
+		try {
+			return stream.readObject();
+		} finally {
+			stream.close();
+		}
+	}
+}
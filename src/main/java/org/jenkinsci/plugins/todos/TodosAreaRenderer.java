@@ -24,7 +24,6 @@
  */
 package org.jenkinsci.plugins.todos;
 
-import hudson.util.ChartUtil.NumberOnlyBuildLabel;
 import hudson.util.StackedAreaRenderer2;
 
 import org.jfree.data.category.CategoryDataset;
@@ -54,7 +53,7 @@ public class TodosAreaRenderer extends StackedAreaRenderer2 {
 
 	@Override
 	public String generateURL(CategoryDataset dataset, int row, int column) {
-		return getLabel(dataset, column).build.getNumber() + url;
+		return getLabel(dataset, column).getNumber() + url;
 	}
 
 	/**
@@ -66,7 +65,7 @@ public class TodosAreaRenderer extends StackedAreaRenderer2 {
 	 *            the column
 	 * @return the label of the column
 	 */
-	private NumberOnlyBuildLabel getLabel(CategoryDataset dataset, int column) {
-		return (NumberOnlyBuildLabel) dataset.getColumnKey(column);
+	private TodosBuildLabel getLabel(CategoryDataset dataset, int column) {
+		return (TodosBuildLabel) dataset.getColumnKey(column);
 	}
 }
@@ -27,26 +27,70 @@ package org.jenkinsci.plugins.todos;
 import hudson.model.Action;
 import hudson.model.AbstractBuild;
 
+import java.io.IOException;
 import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.logging.Level;
+import java.util.logging.Logger;
 
+import org.jenkinsci.plugins.todos.model.TodosDirectoryStatistics;
 import org.jenkinsci.plugins.todos.model.TodosReportStatistics;
+import org.jenkinsci.plugins.todos.model.TodosStatisticsDelta;
+import org.jvnet.localizer.LocaleProvider;
 import org.kohsuke.stapler.StaplerProxy;
+import org.kohsuke.stapler.export.Exported;
+import org.kohsuke.stapler.export.ExportedBean;
 
 /**
- * Build action for interaction with the user.
+ * Build action for interaction with the user. The statistics are exported to
+ * the remote API of the build, they never require the stored reports.
  * 
  * @author Michal Turek
  */
+@ExportedBean
 public class TodosBuildAction implements Action, Serializable, StaplerProxy {
 	/** Serial version UID. */
 	private static final long serialVersionUID = 0;
 
+	/** The logger. */
+	private static final Logger LOGGER = Logger
+			.getLogger(TodosBuildAction.class.getName());
+
 	/** The build that this object is associated to. */
 	private final AbstractBuild<?, ?> build;
 
 	/** Report statistics for this build. */
 	private final TodosReportStatistics statistics;
 
+	/** Per-directory statistics for this build, null in older builds. */
+	private final TodosDirectoryStatistics directoryStatistics;
+
+	/**
+	 * Descriptions of the exceeded limits of the reports, only a sample of
+	 * the comments is stored if not empty, null in older builds.
+	 */
+	private final List<String> truncations;
+
+	/**
+	 * Differences against the previous build, resolved on the first use after
+	 * all previous builds finished publishing.
+	 */
+	private TodosStatisticsDelta delta;
+
+	/** Flag whether the differences against the previous build are known. */
+	private boolean deltaResolved;
+
+	/** Flag whether the build is being deleted. */
+	private transient volatile boolean deleted;
+
+	/** Rendered summary and summary details per locale. */
+	private transient Map<Locale, String[]> summaryCache;
+
 	/**
 	 * Constructor.
 	 * 
@@ -57,8 +101,49 @@ public class TodosBuildAction implements Action, Serializable, StaplerProxy {
 	 */
 	public TodosBuildAction(AbstractBuild<?, ?> build,
 			TodosReportStatistics statistics) {
+		this(build, statistics, null);
+	}
+
+	/**
+	 * Constructor.
+	 * 
+	 * @param build
+	 *            the build that this object is associated to
+	 * @param statistics
+	 *            report statistics for this build
+	 * @param directoryStatistics
+	 *            per-directory statistics for this build
+	 */
+	public TodosBuildAction(AbstractBuild<?, ?> build,
+			TodosReportStatistics statistics,
+			TodosDirectoryStatistics directoryStatistics) {
+		this(build, statistics, directoryStatistics, null);
+	}
+
+	/**
+	 * Constructor.
+	 * 
+	 * @param build
+	 *            the build that this object is associated to
+	 * @param statistics
+	 *            report statistics for this build
+	 * @param directoryStatistics
+	 *            per-directory statistics for this build
+	 * @param truncations
+	 *            descriptions of the exceeded limits of the reports, may be
+	 *            null
+	 */
+	public TodosBuildAction(AbstractBuild<?, ?> build,
+			TodosReportStatistics statistics,
+			TodosDirectoryStatistics directoryStatistics,
+			List<String> truncations) {
 		this.build = build;
+		this.truncations = (truncations == null || truncations.isEmpty()) ? null
+				: new ArrayList<String>(truncations);
 		this.statistics = statistics;
+		this.directoryStatistics = directoryStatistics;
+		this.delta = null;
+		this.deltaResolved = false;
 	}
 
 	/**
@@ -103,12 +188,7 @@ public class TodosBuildAction implements Action, Serializable, StaplerProxy {
 	 * @return the summary or empty string
 	 */
 	public String getSummary() {
-		if (statistics == null) {
-			return "";
-		}
-
-		return TodosReportSummary.createReportSummary(statistics,
-				getPreviousStatistics());
+		return getCachedSummary()[0];
 	}
 
 	/**
@@ -117,12 +197,126 @@ public class TodosBuildAction implements Action, Serializable, StaplerProxy {
 	 * @return the summary details or empty string
 	 */
 	public String getSummaryDetails() {
-		if (statistics == null) {
-			return "";
+		return getCachedSummary()[1];
+	}
+
+	/**
+	 * Get the summary and summary details rendered for the current locale.
+	 * The texts are created only once per locale.
+	 * 
+	 * @return array with the summary and the summary details
+	 */
+	private String[] getCachedSummary() {
+		Locale locale = LocaleProvider.getLocale();
+		Map<Locale, String[]> cache;
+
+		if (locale == null) {
+			locale = Locale.getDefault();
+		}
+
+		synchronized (this) {
+			if (summaryCache == null) {
+				summaryCache = new ConcurrentHashMap<Locale, String[]>();
+			}
+
+			cache = summaryCache;
+		}
+
+		String[] summary = cache.get(locale);
+
+		if (summary == null) {
+			if (statistics == null) {
+				summary = new String[] { "", "" };
+				cache.put(locale, summary);
+			} else {
+				TodosStatisticsDelta delta = getDelta();
+
+				summary = new String[] {
+						TodosReportSummary.createReportSummary(statistics,
+								delta),
+						TodosReportSummary.createReportSummaryDetails(
+								statistics, delta) };
+
+				// Differences against a running build may still change
+				if (isDeltaResolved()) {
+					cache.put(locale, summary);
+				}
+			}
 		}
 
-		return TodosReportSummary.createReportSummaryDetails(statistics,
-				getPreviousStatistics());
+		return summary;
+	}
+
+	/**
+	 * Get differences against the previous build. The resolved differences
+	 * are stored with the build.
+	 * 
+	 * @return the differences or null if there is no previous build with
+	 *         statistics
+	 */
+	@Exported
+	public TodosStatisticsDelta getDelta() {
+		TodosStatisticsDelta result;
+
+		synchronized (this) {
+			if (deltaResolved) {
+				return delta;
+			}
+
+			result = TodosStatisticsDelta.compute(statistics,
+					getPreviousStatistics());
+
+			// A running previous build may still publish its results
+			if (build != null && TodosPrecomputation.isPreviousBuilding(build)) {
+				return result;
+			}
+
+			delta = result;
+			deltaResolved = true;
+		}
+
+		saveBuild();
+		return result;
+	}
+
+	/**
+	 * Forget the resolved differences, the previous build was deleted.
+	 */
+	void resetDelta() {
+		synchronized (this) {
+			delta = null;
+			deltaResolved = false;
+			summaryCache = null;
+		}
+
+		saveBuild();
+	}
+
+	/**
+	 * Store the build with this action. Errors are logged and ignored, the
+	 * differences can be always resolved again.
+	 */
+	private void saveBuild() {
+		if (build == null) {
+			return;
+		}
+
+		try {
+			build.save();
+		} catch (IOException e) {
+			LOGGER.log(Level.WARNING, "Storing of build failed: "
+					+ build.getFullDisplayName(), e);
+		}
+	}
+
+	/**
+	 * Check whether the differences against the previous build are final.
+	 * 
+	 * @return true if they are final, false if a previous build is still
+	 *         running
+	 */
+	synchronized boolean isDeltaResolved() {
+		return deltaResolved;
 	}
 
 	/**
@@ -130,10 +324,35 @@ public class TodosBuildAction implements Action, Serializable, StaplerProxy {
 	 * 
 	 * @return the statistics or null
 	 */
+	@Exported
 	public TodosReportStatistics getStatistics() {
 		return statistics;
 	}
 
+	/**
+	 * Get the per-directory statistics.
+	 * 
+	 * @return the root of the directory tree or null
+	 */
+	public TodosDirectoryStatistics getDirectoryStatistics() {
+		return directoryStatistics;
+	}
+
+	/**
+	 * Get descriptions of the exceeded limits of the reports.
+	 * 
+	 * @return unmodifiable list with the descriptions, empty if the comments
+	 *         are complete
+	 */
+	@Exported
+	public List<String> getTruncations() {
+		if (truncations == null) {
+			return Collections.emptyList();
+		}
+
+		return Collections.unmodifiableList(truncations);
+	}
+
 	/**
 	 * Get statistics of a previous build.
 	 * 
@@ -153,28 +372,67 @@ public class TodosBuildAction implements Action, Serializable, StaplerProxy {
 	 * Get the previous valid action.
 	 * 
 	 * @return the action or null
+	 * @see #findPreviousAction(AbstractBuild)
 	 */
 	TodosBuildAction getPreviousAction() {
 		if (build == null) {
 			return null;
 		}
 
+		return findPreviousAction(build);
+	}
+
+	/**
+	 * Find the action of the last previous build with TODOs results. The
+	 * builds being deleted are skipped. The walk ends at the last finished
+	 * build with results known by the job state, only the running builds are
+	 * checked if there is no such build.
+	 * 
+	 * @param build
+	 *            the current build, its action may not exist yet
+	 * @return the action or null
+	 */
+	static TodosBuildAction findPreviousAction(AbstractBuild<?, ?> build) {
+		AbstractBuild<?, ?> last = TodosJobState.get(build.getProject())
+				.getLastFinishedBuild(build.getProject());
 		AbstractBuild<?, ?> previousBuild = build.getPreviousBuild();
 
 		while (previousBuild != null) {
 			TodosBuildAction action = previousBuild
 					.getAction(TodosBuildAction.class);
 
-			if (action != null) {
+			if (action != null && !action.isDeleted()) {
 				return action;
 			}
 
+			// No finished build has results, don't walk the whole history
+			if (last == null && !previousBuild.isBuilding()) {
+				return null;
+			}
+
 			previousBuild = previousBuild.getPreviousBuild();
 		}
 
 		return null;
 	}
 
+	/**
+	 * Mark the build as being deleted, the following builds don't compare
+	 * against it anymore.
+	 */
+	void markDeleted() {
+		deleted = true;
+	}
+
+	/**
+	 * Check whether the build is being deleted.
+	 * 
+	 * @return true if the build is being deleted
+	 */
+	boolean isDeleted() {
+		return deleted;
+	}
+
 	/**
 	 * Get the associated build.
 	 * 
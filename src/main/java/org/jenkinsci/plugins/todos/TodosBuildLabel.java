@@ -0,0 +1,81 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2026 TODOs Plugin contributors
+ * This file is part of TODOs Plugin (Jenkins CI).
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.jenkinsci.plugins.todos;
+
+/**
+ * Label of a build in the trend chart. Unlike labels provided by Jenkins it
+ * needs only the build number, the build itself doesn't have to be loaded.
+ * 
+ * @author TODOs Plugin contributors
+ */
+public class TodosBuildLabel implements Comparable<TodosBuildLabel> {
+	/** The build number. */
+	private final int number;
+
+	/**
+	 * Constructor initializing members.
+	 * 
+	 * @param number
+	 *            the build number
+	 */
+	public TodosBuildLabel(int number) {
+		this.number = number;
+	}
+
+	/**
+	 * Get the build number.
+	 * 
+	 * @return the number
+	 */
+	public int getNumber() {
+		return number;
+	}
+
+	/**
+	 * Compare the labels according to the build numbers.
+	 * 
+	 * @see java.lang.Comparable#compareTo(java.lang.Object)
+	 */
+	public int compareTo(TodosBuildLabel other) {
+		return (number < other.number) ? -1 : ((number == other.number) ? 0
+				: 1);
+	}
+
+	@Override
+	public boolean equals(Object other) {
+		return other instanceof TodosBuildLabel
+				&& ((TodosBuildLabel) other).number == number;
+	}
+
+	@Override
+	public int hashCode() {
+		return number;
+	}
+
+	@Override
+	public String toString() {
+		return "#" + number;
+	}
+}
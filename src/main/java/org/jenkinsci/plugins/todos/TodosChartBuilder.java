@@ -24,18 +24,18 @@
  */
 package org.jenkinsci.plugins.todos;
 
-import hudson.util.ChartUtil.NumberOnlyBuildLabel;
 import hudson.util.DataSetBuilder;
 import hudson.util.ShiftedCategoryAxis;
 
 import java.awt.Color;
 import java.io.Serializable;
-import java.util.HashSet;
-import java.util.LinkedList;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Set;
 
-import org.jenkinsci.plugins.todos.model.TodosPatternStatistics;
+import org.jenkinsci.plugins.todos.model.TodosReportStatistics;
+import org.jenkinsci.plugins.todos.model.TodosTimings;
+import org.jenkinsci.plugins.todos.model.TodosTrendEntry;
 import org.jfree.chart.ChartFactory;
 import org.jfree.chart.JFreeChart;
 import org.jfree.chart.axis.CategoryAxis;
@@ -58,15 +58,19 @@ public class TodosChartBuilder implements Serializable {
 	/**
 	 * Build a trend chart from the provided data.
 	 * 
-	 * @param action
-	 *            the build action
+	 * @param trend
+	 *            statistics of the builds in the trend
+	 * @param urlName
+	 *            URL of the results relative to a build, used for links
 	 * @return the trend chart
 	 */
-	public static JFreeChart buildChart(TodosBuildAction action) {
+	public static JFreeChart buildChart(List<TodosTrendEntry> trend,
+			String urlName) {
+		long start = System.nanoTime();
 		String strComments = Messages.Todos_ReportSummary_Comments();
 
 		JFreeChart chart = ChartFactory.createStackedAreaChart(null, null,
-				strComments, buildDataset(action), PlotOrientation.VERTICAL,
+				strComments, buildDataset(trend), PlotOrientation.VERTICAL,
 				true, false, true);
 
 		chart.setBackgroundPaint(Color.white);
@@ -91,76 +95,42 @@ public class TodosChartBuilder implements Serializable {
 		// Crop extra space around the graph
 		plot.setInsets(new RectangleInsets(0, 0, 0, 5.0));
 
-		TodosAreaRenderer renderer = new TodosAreaRenderer(action.getUrlName());
+		TodosAreaRenderer renderer = new TodosAreaRenderer(urlName);
 		plot.setRenderer(renderer);
 
+		TodosMetrics.record(TodosTimings.BUILD_CHART, System.nanoTime()
+				- start, 0, 0, 0);
 		return chart;
 	}
 
 	/**
 	 * Build a data set that will be shown.
 	 * 
-	 * @param lastAction
-	 *            the last build action
+	 * @param trend
+	 *            statistics of the builds in the trend
 	 * @return the data set
 	 */
-	private static CategoryDataset buildDataset(TodosBuildAction lastAction) {
-		DataSetBuilder<String, NumberOnlyBuildLabel> builder = new DataSetBuilder<String, NumberOnlyBuildLabel>();
+	private static CategoryDataset buildDataset(List<TodosTrendEntry> trend) {
+		DataSetBuilder<String, TodosBuildLabel> builder = new DataSetBuilder<String, TodosBuildLabel>();
 
-		List<TodosBuildAction> allValidActions = new LinkedList<TodosBuildAction>();
-		Set<String> allPatterns = new HashSet<String>();
+		Set<String> allPatterns = new LinkedHashSet<String>();
 
-		getActionsAndPatterns(lastAction, allValidActions, allPatterns);
-
-		for (TodosBuildAction action : allValidActions) {
-			Set<String> remainingPatterns = new HashSet<String>(allPatterns);
-			NumberOnlyBuildLabel buildLabel = new NumberOnlyBuildLabel(
-					action.getBuild());
+		for (TodosTrendEntry entry : trend) {
+			allPatterns.addAll(entry.getStatistics().getPatterns());
+		}
 
-			for (TodosPatternStatistics statistics : action.getStatistics()
-					.getPatternStatistics()) {
-				builder.add(statistics.getNumOccurrences(),
-						statistics.getPattern(), buildLabel);
-				remainingPatterns.remove(statistics.getPattern());
-			}
+		for (TodosTrendEntry entry : trend) {
+			TodosReportStatistics statistics = entry.getStatistics();
+			TodosBuildLabel buildLabel = new TodosBuildLabel(
+					entry.getBuildNumber());
 
-			for (String pattern : remainingPatterns) {
-				builder.add(0, pattern, buildLabel);
+			// Zero is returned for patterns missing in this build
+			for (String pattern : allPatterns) {
+				builder.add(statistics.getPatternStatistics(pattern)
+						.getNumOccurrences(), pattern, buildLabel);
 			}
 		}
 
 		return builder.build();
 	}
-
-	/**
-	 * Get all valid actions and all patterns defined through all builds.
-	 * 
-	 * @param lastAction
-	 *            the last action
-	 * @param outAllValidActions
-	 *            all valid actions with statistics defined, output parameter
-	 * @param outAllPatterns
-	 *            all patterns defined through all builds
-	 */
-	private static void getActionsAndPatterns(TodosBuildAction lastAction,
-			List<TodosBuildAction> outAllValidActions,
-			Set<String> outAllPatterns) {
-		outAllValidActions.clear();
-		outAllPatterns.clear();
-
-		TodosBuildAction action = lastAction;
-
-		while (action != null) {
-			if (action.getStatistics() != null) {
-				for (TodosPatternStatistics statistics : action.getStatistics()
-						.getPatternStatistics()) {
-					outAllPatterns.add(statistics.getPattern());
-				}
-
-				outAllValidActions.add(action);
-			}
-
-			action = action.getPreviousAction();
-		}
-	}
 }
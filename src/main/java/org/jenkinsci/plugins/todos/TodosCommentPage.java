@@ -0,0 +1,149 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2026 TODOs Plugin contributors
+ * This file is part of TODOs Plugin (Jenkins CI).
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.jenkinsci.plugins.todos;
+
+import hudson.model.Api;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import org.jenkinsci.plugins.todos.model.TodosComment;
+import org.jenkinsci.plugins.todos.model.TodosCommentStore;
+import org.jenkinsci.plugins.todos.model.TodosReport;
+import org.kohsuke.stapler.export.Exported;
+import org.kohsuke.stapler.export.ExportedBean;
+
+/**
+ * Page of the comments of a report for the remote API. Only the comments of
+ * the page are created, they are taken by index from the comment store of
+ * the report.
+ * 
+ * @author TODOs Plugin contributors
+ */
+@ExportedBean
+public class TodosCommentPage {
+	/** Default number of comments of a page. */
+	public static final int DEFAULT_COUNT = 100;
+
+	/** Maximal number of comments of a page. */
+	public static final int MAX_COUNT = 1000;
+
+	/** Index of the first comment of the page. */
+	private final int start;
+
+	/** Total number of comments of the report. */
+	private final int total;
+
+	/** Flag whether the report is available. */
+	private final boolean ready;
+
+	/** The comments of the page. */
+	private final List<TodosComment> comments;
+
+	/**
+	 * Constructor.
+	 * 
+	 * @param report
+	 *            the report, null if it is not available yet
+	 * @param start
+	 *            index of the first comment of the page
+	 * @param count
+	 *            the requested number of comments, it is limited
+	 * @see #MAX_COUNT
+	 */
+	public TodosCommentPage(TodosReport report, int start, int count) {
+		this.start = Math.max(start, 0);
+		this.ready = (report != null);
+
+		if (report == null) {
+			this.total = 0;
+			this.comments = Collections.emptyList();
+			return;
+		}
+
+		TodosCommentStore store = report.getCommentStore();
+		int end = Math.min(store.size(),
+				this.start + Math.max(Math.min(count, MAX_COUNT), 0));
+
+		this.total = store.size();
+		this.comments = new ArrayList<TodosComment>(Math.max(
+				end - this.start, 0));
+
+		for (int i = this.start; i < end; ++i) {
+			comments.add(store.getComment(i));
+		}
+	}
+
+	/**
+	 * Get the remote API of the page.
+	 * 
+	 * @return the API
+	 */
+	public Api getApi() {
+		return new Api(this);
+	}
+
+	/**
+	 * Get index of the first comment of the page.
+	 * 
+	 * @return the index
+	 */
+	@Exported
+	public int getStart() {
+		return start;
+	}
+
+	/**
+	 * Get total number of comments of the report.
+	 * 
+	 * @return the number, zero if the report is not available yet
+	 */
+	@Exported
+	public int getTotal() {
+		return total;
+	}
+
+	/**
+	 * Check whether the report is available. The report with the diff is
+	 * computed in background after the build.
+	 * 
+	 * @return true if it is available, false if it is being computed
+	 */
+	@Exported
+	public boolean isReady() {
+		return ready;
+	}
+
+	/**
+	 * Get the comments of the page.
+	 * 
+	 * @return unmodifiable list of the comments
+	 */
+	@Exported
+	public List<TodosComment> getComments() {
+		return Collections.unmodifiableList(comments);
+	}
+}
@@ -45,6 +45,12 @@ public class TodosConstants {
 	/** Subdirectory of build results directory where source files are stored. */
 	public static final String BUILD_SUBDIR = "todos-plugin";
 
+	/** URL of the metrics endpoint. */
+	public static final String METRICS_URL = "todos-metrics";
+
+	/** URL of the summary of the jobs of a view. */
+	public static final String ROLLUP_URL = "todosRollup";
+
 	/** Results page URL. */
 	public static final String RESULTS_URL = "todosResult";
 
@@ -60,6 +66,12 @@ public class TodosConstants {
 	/** Chart height. */
 	public static final int CHART_HEIGHT = 200;
 
+	/** Maximal number of builds in the trend, a pixel of the chart per build. */
+	public static final int MAX_TREND_BUILDS = CHART_WIDTH;
+
 	/** Default pattern for file. */
 	public static final String DEFAULT_FILE_SEARCH_PATTERN = "**/todos.xml";
+
+	/** Default depth of the directory tree in per-directory statistics. */
+	public static final int DEFAULT_DIRECTORY_DEPTH = 3;
 }
@@ -29,6 +29,10 @@ import hudson.Extension;
 import hudson.model.AbstractProject;
 import hudson.tasks.BuildStepDescriptor;
 import hudson.tasks.Publisher;
+import net.sf.json.JSONObject;
+
+import org.jenkinsci.plugins.todos.model.TodosFlightRecorder;
+import org.kohsuke.stapler.StaplerRequest;
 
 /**
  * Plugin descriptor.
@@ -37,11 +41,16 @@ import hudson.tasks.Publisher;
  */
 @Extension
 public class TodosDescriptor extends BuildStepDescriptor<Publisher> {
+	/** Emit events of JDK Flight Recorder. */
+	private boolean flightRecorder = false;
+
 	/**
 	 * Constructor.
 	 */
 	public TodosDescriptor() {
 		super(TodosPublisher.class);
+		load();
+		TodosFlightRecorder.setEnabled(flightRecorder);
 	}
 
 	@SuppressWarnings("rawtypes")
@@ -55,4 +64,22 @@ public class TodosDescriptor extends BuildStepDescriptor<Publisher> {
 	public String getDisplayName() {
 		return Messages.Todos_Publisher_Name();
 	}
+
+	@Override
+	public boolean configure(StaplerRequest req, JSONObject json)
+			throws FormException {
+		flightRecorder = json.optBoolean("flightRecorder");
+		TodosFlightRecorder.setEnabled(flightRecorder);
+		save();
+		return true;
+	}
+
+	/**
+	 * Check whether events of JDK Flight Recorder are emitted.
+	 * 
+	 * @return true if the events are emitted, otherwise false
+	 */
+	public boolean isFlightRecorder() {
+		return flightRecorder;
+	}
 }
@@ -0,0 +1,212 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2026 TODOs Plugin contributors
+ * This file is part of TODOs Plugin (Jenkins CI).
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.jenkinsci.plugins.todos;
+
+import java.io.UnsupportedEncodingException;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+
+import javax.servlet.http.HttpServletResponse;
+
+import org.kohsuke.stapler.StaplerRequest;
+import org.kohsuke.stapler.StaplerResponse;
+
+/**
+ * Conditional GET support of the pages and images. A strong entity tag is
+ * computed from the values the response depends on and compared with the tag
+ * of the client before anything is loaded or rendered.
+ * 
+ * @author TODOs Plugin contributors
+ */
+public class TodosHttpCache {
+	/** Caching of a response that changes, it is always revalidated. */
+	public static final String REVALIDATE = "private, no-cache";
+
+	/** Caching of a response of a finished build that never changes. */
+	public static final String IMMUTABLE = "private, max-age=3600";
+
+	/** Algorithm of the digest of the entity tags. */
+	private static final String DIGEST_ALGORITHM = "MD5";
+
+	/** Separator of the values in the digest. */
+	private static final char SEPARATOR = '\u0000';
+
+	/**
+	 * Start of this instance. The responses may differ after a restart, the
+	 * plugin or the global settings may have been changed.
+	 */
+	private static final long STARTED = System.currentTimeMillis();
+
+	/** Hexadecimal digits. */
+	private static final char[] HEX = "0123456789abcdef".toCharArray();
+
+	/**
+	 * Private constructor, static methods only.
+	 */
+	private TodosHttpCache() {
+	}
+
+	/**
+	 * Compute a strong entity tag.
+	 * 
+	 * @param values
+	 *            the values the response depends on, null values are allowed
+	 * @return the quoted entity tag
+	 */
+	public static String getETag(Object... values) {
+		StringBuilder builder = new StringBuilder();
+		builder.append(STARTED);
+
+		for (Object value : values) {
+			builder.append(SEPARATOR).append(value);
+		}
+
+		byte[] digest;
+
+		try {
+			digest = MessageDigest.getInstance(DIGEST_ALGORITHM).digest(
+					builder.toString().getBytes("UTF-8"));
+		} catch (NoSuchAlgorithmException e) {
+			throw new IllegalStateException("Digest algorithm is not available: "
+					+ DIGEST_ALGORITHM, e);
+		} catch (UnsupportedEncodingException e) {
+			throw new IllegalStateException("UTF-8 is not supported", e);
+		}
+
+		char[] tag = new char[digest.length * 2 + 2];
+		tag[0] = '"';
+
+		for (int i = 0; i < digest.length; ++i) {
+			tag[2 * i + 1] = HEX[(digest[i] >> 4) & 0x0F];
+			tag[2 * i + 2] = HEX[digest[i] & 0x0F];
+		}
+
+		tag[tag.length - 1] = '"';
+		return new String(tag);
+	}
+
+	/**
+	 * Set the caching headers of a response and check whether the client
+	 * already has it. The response is answered with 304 Not Modified if it
+	 * does, the caller must not write anything to it then. If-None-Match takes
+	 * precedence over If-Modified-Since.
+	 * 
+	 * @param request
+	 *            Stapler request
+	 * @param response
+	 *            Stapler response
+	 * @param eTag
+	 *            the entity tag of the response
+	 * @param lastModified
+	 *            time of the last modification in milliseconds, zero if
+	 *            unknown
+	 * @param cacheControl
+	 *            value of the Cache-Control header
+	 * @return true if 304 Not Modified was answered, otherwise false
+	 */
+	public static boolean checkNotModified(StaplerRequest request,
+			StaplerResponse response, String eTag, long lastModified,
+			String cacheControl) {
+		response.setHeader("ETag", eTag);
+		response.setHeader("Cache-Control", cacheControl);
+
+		if (lastModified > 0) {
+			response.setDateHeader("Last-Modified", lastModified);
+		}
+
+		String method = request.getMethod();
+
+		if (!"GET".equals(method) && !"HEAD".equals(method)) {
+			return false;
+		}
+
+		String ifNoneMatch = request.getHeader("If-None-Match");
+		boolean notModified;
+
+		if (ifNoneMatch != null) {
+			notModified = matches(ifNoneMatch, eTag);
+		} else {
+			notModified = lastModified > 0
+					&& isNotModifiedSince(request, lastModified);
+		}
+
+		if (notModified) {
+			response.setStatus(HttpServletResponse.SC_NOT_MODIFIED);
+		}
+
+		return notModified;
+	}
+
+	/**
+	 * Check the If-Modified-Since header of a request. The header has one
+	 * second resolution.
+	 * 
+	 * @param request
+	 *            Stapler request
+	 * @param lastModified
+	 *            time of the last modification in milliseconds
+	 * @return true if the header is present and not older than the
+	 *         modification
+	 */
+	private static boolean isNotModifiedSince(StaplerRequest request,
+			long lastModified) {
+		long since;
+
+		try {
+			since = request.getDateHeader("If-Modified-Since");
+		} catch (IllegalArgumentException e) {
+			// Malformed date
+			return false;
+		}
+
+		return since >= 0 && lastModified / 1000 <= since / 1000;
+	}
+
+	/**
+	 * Check whether a value of the If-None-Match header matches an entity
+	 * tag. The weak comparison is used as the specification requires.
+	 * 
+	 * @param ifNoneMatch
+	 *            the header value, a list of entity tags or asterisk
+	 * @param eTag
+	 *            the entity tag of the response
+	 * @return true if the tag matches
+	 */
+	static boolean matches(String ifNoneMatch, String eTag) {
+		for (String candidate : ifNoneMatch.split(",")) {
+			String value = candidate.trim();
+
+			if (value.startsWith("W/")) {
+				value = value.substring(2);
+			}
+
+			if (value.equals("*") || value.equals(eTag)) {
+				return true;
+			}
+		}
+
+		return false;
+	}
+}
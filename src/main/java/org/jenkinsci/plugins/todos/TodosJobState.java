@@ -0,0 +1,492 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2026 TODOs Plugin contributors
+ * This file is part of TODOs Plugin (Jenkins CI).
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.jenkinsci.plugins.todos;
+
+import hudson.XmlFile;
+import hudson.model.AbstractBuild;
+import hudson.model.AbstractProject;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.WeakHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import org.jenkinsci.plugins.todos.model.TodosTrendEntry;
+
+/**
+ * Data of a job that are maintained incrementally when builds complete or are
+ * deleted and persisted in the job directory, so they don't have to be
+ * recomputed by walking the build history. Only the newest builds shown in
+ * the trend chart are kept. The class is thread safe.
+ * 
+ * @author TODOs Plugin contributors
+ * 
+ * @see TodosRunListener
+ */
+public class TodosJobState {
+	/** The logger. */
+	private static final Logger LOGGER = Logger.getLogger(TodosJobState.class
+			.getName());
+
+	/** Name of the file in the job directory where the state is stored. */
+	private static final String FILE_NAME = "todos-plugin.xml";
+
+	/** Value of the build number if it wasn't resolved yet. */
+	private static final int UNKNOWN = -1;
+
+	/** Value of the build number if there is no such build. */
+	private static final int NONE = 0;
+
+	/** Loaded states of the jobs. */
+	private static final Map<AbstractProject<?, ?>, TodosJobState> STATES = Collections
+			.synchronizedMap(new WeakHashMap<AbstractProject<?, ?>, TodosJobState>());
+
+	/**
+	 * The executor storing the states, changes of a job are stored in bulk
+	 * and never in the thread of the run listener.
+	 */
+	private static final ThreadPoolExecutor SAVER = new ThreadPoolExecutor(1,
+			1, 60, TimeUnit.SECONDS, new LinkedBlockingQueue<Runnable>(),
+			new ThreadFactory() {
+				public Thread newThread(Runnable runnable) {
+					Thread thread = new Thread(runnable, "TODOs state storing");
+					thread.setDaemon(true);
+					return thread;
+				}
+			});
+
+	static {
+		SAVER.allowCoreThreadTimeOut(true);
+	}
+
+	/** Number of the last finished build with TODOs results. */
+	private int lastBuildNumber = UNKNOWN;
+
+	/**
+	 * Statistics of the newest builds sorted by build number, null if
+	 * unknown.
+	 */
+	private List<TodosTrendEntry> trend = null;
+
+	/** Time of the last change of the trend in milliseconds, zero if unknown. */
+	private long modified = 0;
+
+	/**
+	 * Flag whether storing of the state is scheduled, the queue of the
+	 * executor contains each job at most once.
+	 */
+	private transient AtomicBoolean saveScheduled = new AtomicBoolean(false);
+
+	/**
+	 * Get state of a job, load it from the disk if it isn't loaded yet.
+	 * 
+	 * @param project
+	 *            the job
+	 * @return the state, never null
+	 */
+	public static TodosJobState get(AbstractProject<?, ?> project) {
+		synchronized (STATES) {
+			TodosJobState state = STATES.get(project);
+
+			if (state == null) {
+				state = load(project);
+				STATES.put(project, state);
+			}
+
+			return state;
+		}
+	}
+
+	/**
+	 * Check whether a job uses the plugin. Its state is never created
+	 * otherwise, the walk of its history would be useless.
+	 * 
+	 * @param project
+	 *            the job
+	 * @return true if the job publishes TODOs results or it has a stored
+	 *         state from the past
+	 */
+	public static boolean isUsed(AbstractProject<?, ?> project) {
+		return project.getPublishersList().get(TodosPublisher.class) != null
+				|| getFile(project).exists();
+	}
+
+	/**
+	 * Load state of a job from the disk.
+	 * 
+	 * @param project
+	 *            the job
+	 * @return the state, a new one if it isn't stored or it can't be read
+	 */
+	private static TodosJobState load(AbstractProject<?, ?> project) {
+		XmlFile file = getFile(project);
+
+		if (file.exists()) {
+			try {
+				return (TodosJobState) file.read();
+			} catch (IOException e) {
+				LOGGER.log(Level.WARNING, "Loading of TODOs state failed: "
+						+ file.getFile(), e);
+			} catch (ClassCastException e) {
+				LOGGER.log(Level.WARNING, "Loading of TODOs state failed: "
+						+ file.getFile(), e);
+			}
+		}
+
+		return new TodosJobState();
+	}
+
+	/**
+	 * Schedule storing of the state of a job. The changes made until the
+	 * storing starts are stored together.
+	 * 
+	 * @param project
+	 *            the job
+	 */
+	private void save(final AbstractProject<?, ?> project) {
+		if (!saveScheduled.compareAndSet(false, true)) {
+			return;
+		}
+
+		SAVER.execute(new Runnable() {
+			public void run() {
+				// Changes made from now on schedule the storing again
+				saveScheduled.set(false);
+				write(project);
+			}
+		});
+	}
+
+	/**
+	 * Store state of a job to the disk. A copy is made under the lock and
+	 * serialized outside of it, the readers are not blocked by the disk.
+	 * Errors are logged and ignored, the state can be always recomputed.
+	 * 
+	 * @param project
+	 *            the job
+	 */
+	private void write(AbstractProject<?, ?> project) {
+		TodosJobState copy = new TodosJobState();
+
+		synchronized (this) {
+			copy.lastBuildNumber = lastBuildNumber;
+			copy.trend = (trend == null) ? null
+					: new ArrayList<TodosTrendEntry>(trend);
+			copy.modified = modified;
+		}
+
+		XmlFile file = getFile(project);
+
+		try {
+			file.write(copy);
+		} catch (IOException e) {
+			LOGGER.log(Level.WARNING, "Storing of TODOs state failed: "
+					+ file.getFile(), e);
+		}
+	}
+
+	/**
+	 * Get the file in which the state of a job is stored.
+	 * 
+	 * @param project
+	 *            the job
+	 * @return the file
+	 */
+	private static XmlFile getFile(AbstractProject<?, ?> project) {
+		return new XmlFile(new File(project.getRootDir(), FILE_NAME));
+	}
+
+	/**
+	 * Get the last finished build with TODOs results.
+	 * 
+	 * @param project
+	 *            the job
+	 * @return the build or null if there is no such build
+	 */
+	public AbstractBuild<?, ?> getLastFinishedBuild(
+			AbstractProject<?, ?> project) {
+		int number;
+
+		synchronized (this) {
+			number = lastBuildNumber;
+		}
+
+		if (number == NONE) {
+			return null;
+		}
+
+		if (number != UNKNOWN) {
+			AbstractBuild<?, ?> build = project.getBuildByNumber(number);
+
+			if (build != null
+					&& build.getAction(TodosBuildAction.class) != null) {
+				if (!build.isBuilding()) {
+					return build;
+				}
+
+				// Completion of the build is being processed right now
+				return findLastFinishedBuild(build.getPreviousBuild());
+			}
+		}
+
+		// Not resolved yet or out of date, fall back to the walk
+		AbstractBuild<?, ?> build = findLastFinishedBuild(project
+				.getLastBuild());
+		setLastBuildNumber(project, build);
+		return build;
+	}
+
+	/**
+	 * A build with TODOs results was completed.
+	 * 
+	 * @param project
+	 *            the job
+	 * @param build
+	 *            the build
+	 */
+	void onCompleted(AbstractProject<?, ?> project, AbstractBuild<?, ?> build) {
+		synchronized (this) {
+			// Concurrent builds may complete in a different order
+			if (lastBuildNumber == UNKNOWN
+					|| lastBuildNumber < build.getNumber()) {
+				lastBuildNumber = build.getNumber();
+			}
+
+			if (trend != null) {
+				removeTrendEntry(build.getNumber());
+				addTrendEntry(build);
+			}
+
+			modified = System.currentTimeMillis();
+		}
+
+		save(project);
+	}
+
+	/**
+	 * A build with TODOs results was deleted.
+	 * 
+	 * @param project
+	 *            the job
+	 * @param build
+	 *            the build
+	 */
+	void onDeleted(AbstractProject<?, ?> project, AbstractBuild<?, ?> build) {
+		boolean last;
+
+		synchronized (this) {
+			last = (lastBuildNumber == build.getNumber());
+
+			if (trend != null) {
+				removeTrendEntry(build.getNumber());
+			}
+
+			modified = System.currentTimeMillis();
+		}
+
+		if (last) {
+			setLastBuildNumber(project,
+					findLastFinishedBuild(build.getPreviousBuild()));
+		} else {
+			save(project);
+		}
+	}
+
+	/**
+	 * Get time of the last change of the trend.
+	 * 
+	 * @return the time in milliseconds, zero if unknown
+	 */
+	public synchronized long getModified() {
+		return modified;
+	}
+
+	/**
+	 * Get statistics of the newest finished builds with TODOs results, at most
+	 * {@link TodosConstants#MAX_TREND_BUILDS}.
+	 * 
+	 * @param project
+	 *            the job
+	 * @return unmodifiable list of the statistics sorted by build number
+	 */
+	public List<TodosTrendEntry> getTrend(AbstractProject<?, ?> project) {
+		synchronized (this) {
+			if (trend != null) {
+				return Collections.unmodifiableList(trend);
+			}
+		}
+
+		// Not resolved yet, walk the newest part of the history once
+		List<TodosTrendEntry> entries = new ArrayList<TodosTrendEntry>();
+		AbstractBuild<?, ?> build = findLastFinishedBuild(project
+				.getLastBuild());
+
+		while (build != null
+				&& entries.size() < TodosConstants.MAX_TREND_BUILDS) {
+			TodosBuildAction action = build.getAction(TodosBuildAction.class);
+
+			if (action != null && action.getStatistics() != null) {
+				entries.add(new TodosTrendEntry(build.getNumber(), action
+						.getStatistics()));
+			}
+
+			build = build.getPreviousBuild();
+		}
+
+		Collections.reverse(entries);
+
+		synchronized (this) {
+			if (trend == null) {
+				trend = new CopyOnWriteArrayList<TodosTrendEntry>(entries);
+			}
+		}
+
+		save(project);
+
+		synchronized (this) {
+			return Collections.unmodifiableList(trend);
+		}
+	}
+
+	/**
+	 * Add statistics of a build to the trend, keep the order. The oldest
+	 * entries over the limit are removed.
+	 * 
+	 * @param build
+	 *            the build
+	 */
+	private void addTrendEntry(AbstractBuild<?, ?> build) {
+		TodosBuildAction action = build.getAction(TodosBuildAction.class);
+
+		if (action == null || action.getStatistics() == null) {
+			return;
+		}
+
+		int index = trend.size();
+
+		while (index > 0
+				&& trend.get(index - 1).getBuildNumber() > build.getNumber()) {
+			--index;
+		}
+
+		trend.add(index, new TodosTrendEntry(build.getNumber(), action
+				.getStatistics()));
+
+		while (trend.size() > TodosConstants.MAX_TREND_BUILDS) {
+			trend.remove(0);
+		}
+	}
+
+	/**
+	 * Remove statistics of a build from the trend.
+	 * 
+	 * @param buildNumber
+	 *            the build number
+	 */
+	private void removeTrendEntry(int buildNumber) {
+		for (TodosTrendEntry entry : trend) {
+			if (entry.getBuildNumber() == buildNumber) {
+				trend.remove(entry);
+				return;
+			}
+		}
+	}
+
+	/**
+	 * Convert the trend to a thread safe list after loading from the disk.
+	 * The trends stored by older versions are limited too.
+	 * 
+	 * @return this object
+	 */
+	private Object readResolve() {
+		if (trend != null) {
+			int size = trend.size();
+			trend = new CopyOnWriteArrayList<TodosTrendEntry>(trend.subList(
+					Math.max(0, size - TodosConstants.MAX_TREND_BUILDS), size));
+		}
+
+		saveScheduled = new AtomicBoolean(false);
+
+		return this;
+	}
+
+	/**
+	 * Update number of the last finished build and store the state.
+	 * 
+	 * @param project
+	 *            the job
+	 * @param build
+	 *            the last finished build with TODOs results or null
+	 */
+	private void setLastBuildNumber(AbstractProject<?, ?> project,
+			AbstractBuild<?, ?> build) {
+		synchronized (this) {
+			lastBuildNumber = (build == null) ? NONE : build.getNumber();
+		}
+
+		save(project);
+	}
+
+	/**
+	 * Walk the history and find the last finished build with TODOs results.
+	 * 
+	 * @param start
+	 *            the build to start with
+	 * @return the build or null if there is no such build
+	 */
+	private static AbstractBuild<?, ?> findLastFinishedBuild(
+			AbstractBuild<?, ?> start) {
+		AbstractBuild<?, ?> build = start;
+
+		while (build != null && !isFinishedWithResults(build)) {
+			build = build.getPreviousBuild();
+		}
+
+		return build;
+	}
+
+	/**
+	 * Check that a build is finished and contains TODOs results.
+	 * 
+	 * @param build
+	 *            the build, may be null
+	 * @return true if the build is finished and contains TODOs results
+	 */
+	private static boolean isFinishedWithResults(AbstractBuild<?, ?> build) {
+		return build != null && !build.isBuilding()
+				&& build.getAction(TodosBuildAction.class) != null;
+	}
+}
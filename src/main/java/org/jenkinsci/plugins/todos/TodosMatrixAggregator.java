@@ -0,0 +1,232 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2026 TODOs Plugin contributors
+ * This file is part of TODOs Plugin (Jenkins CI).
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.jenkinsci.plugins.todos;
+
+import hudson.Launcher;
+import hudson.matrix.MatrixAggregator;
+import hudson.matrix.MatrixBuild;
+import hudson.matrix.MatrixRun;
+import hudson.model.BuildListener;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadFactory;
+
+import org.jenkinsci.plugins.todos.model.TodosReport;
+import org.jenkinsci.plugins.todos.model.TodosReportMerger;
+import org.jenkinsci.plugins.todos.model.TodosTimings;
+
+/**
+ * Aggregator of the results of the configurations of a matrix build. The
+ * statistics of the configurations are merged from their build actions, the
+ * stored reports are loaded in parallel and merged into a compact report of
+ * the parent build, so its diff and trend are based on the merged data. The
+ * files of each configuration are placed to a top level directory named by
+ * the combination of its axes.
+ * 
+ * @author TODOs Plugin contributors
+ */
+public class TodosMatrixAggregator extends MatrixAggregator {
+	/** Maximal number of threads loading the reports. */
+	private static final int MAX_THREADS = 4;
+
+	/**
+	 * Constructor.
+	 * 
+	 * @param build
+	 *            the parent build
+	 * @param launcher
+	 *            the launcher
+	 * @param listener
+	 *            the listener
+	 */
+	public TodosMatrixAggregator(MatrixBuild build, Launcher launcher,
+			BuildListener listener) {
+		super(build, launcher, listener);
+	}
+
+	@Override
+	public boolean endBuild() throws InterruptedException, IOException {
+		PrintStream logger = listener.getLogger();
+		List<MatrixRun> runs = new ArrayList<MatrixRun>();
+
+		for (MatrixRun run : build.getRuns()) {
+			if (run != null && run.getAction(TodosBuildAction.class) != null) {
+				runs.add(run);
+			}
+		}
+
+		if (runs.isEmpty()) {
+			logger.format("%s %s: No configuration published TODOs results\n",
+					TodosConstants.PLUGIN_LOG_PREFIX, TodosConstants.WARNING);
+			return true;
+		}
+
+		long start = System.nanoTime();
+		TodosReportMerger merger = new TodosReportMerger();
+		List<String> truncations = new ArrayList<String>();
+		ExecutorService executor = createExecutor(runs.size());
+
+		try {
+			List<Future<TodosReport>> reports = new ArrayList<Future<TodosReport>>(
+					runs.size());
+
+			for (MatrixRun run : runs) {
+				reports.add(executor.submit(new ReportLoader(run.getRootDir())));
+			}
+
+			// Merged in order of the configurations, the result is stable
+			for (int i = 0; i < runs.size(); ++i) {
+				MatrixRun run = runs.get(i);
+				TodosBuildAction action = run
+						.getAction(TodosBuildAction.class);
+				String name = getName(run);
+
+				merger.addStatistics(name, action.getStatistics(),
+						action.getDirectoryStatistics());
+				merger.addReport(name, waitFor(reports.get(i)));
+
+				for (String truncation : action.getTruncations()) {
+					truncations.add(name + ": " + truncation);
+				}
+			}
+		} catch (IOException e) {
+			logger.format("%s %s: Aggregation of TODOs results failed\n",
+					TodosConstants.PLUGIN_LOG_PREFIX, TodosConstants.ERROR);
+			e.printStackTrace(logger);
+			return false;
+		} finally {
+			executor.shutdownNow();
+		}
+
+		TodosReport report = merger.getReport();
+		TodosPrecomputation.storeCompactReport(build.getRootDir(), report);
+		build.addAction(new TodosBuildAction(build, merger.getStatistics(),
+				merger.getDirectoryStatistics(), truncations));
+
+		TodosTimings timings = new TodosTimings();
+		timings.add(TodosTimings.AGGREGATE, System.nanoTime() - start,
+				report.getSourceFiles().size(), report.getCommentsCount(), 0);
+		TodosMetrics.record(timings);
+
+		logger.format("%s Results of %d configurations aggregated\n",
+				TodosConstants.PLUGIN_LOG_PREFIX, runs.size());
+
+		for (TodosTimings.Phase phase : timings.getPhases()) {
+			logger.format("%s Timing of %s\n",
+					TodosConstants.PLUGIN_LOG_PREFIX, phase);
+		}
+
+		return true;
+	}
+
+	/**
+	 * Get the name of the top level directory of a configuration.
+	 * 
+	 * @param run
+	 *            the build of the configuration
+	 * @return the combination of the axes
+	 */
+	private static String getName(MatrixRun run) {
+		return run.getParent().getCombination().toString();
+	}
+
+	/**
+	 * Create the executor loading the reports.
+	 * 
+	 * @param numRuns
+	 *            number of the configurations
+	 * @return the executor
+	 */
+	private static ExecutorService createExecutor(int numRuns) {
+		return Executors.newFixedThreadPool(Math.min(numRuns, MAX_THREADS),
+				new ThreadFactory() {
+					public Thread newThread(Runnable runnable) {
+						Thread thread = new Thread(runnable,
+								"TODOs matrix aggregation");
+						thread.setDaemon(true);
+						return thread;
+					}
+				});
+	}
+
+	/**
+	 * Wait for a loaded report.
+	 * 
+	 * @param future
+	 *            the result of the loading
+	 * @return the report
+	 * @throws IOException
+	 *             if the loading failed
+	 * @throws InterruptedException
+	 *             if waiting is interrupted
+	 */
+	private static TodosReport waitFor(Future<TodosReport> future)
+			throws IOException, InterruptedException {
+		try {
+			return future.get();
+		} catch (ExecutionException e) {
+			throw new IOException("Loading of TODOs report failed",
+					e.getCause());
+		}
+	}
+
+	/**
+	 * Task loading the report stored in a build.
+	 * 
+	 * @author TODOs Plugin contributors
+	 */
+	private static class ReportLoader implements Callable<TodosReport> {
+		/** The root directory where build results are stored. */
+		private final File rootDir;
+
+		/**
+		 * Constructor.
+		 * 
+		 * @param rootDir
+		 *            the root directory where build results are stored
+		 */
+		public ReportLoader(File rootDir) {
+			this.rootDir = rootDir;
+		}
+
+		/**
+		 * Load the report.
+		 * 
+		 * @see java.util.concurrent.Callable#call()
+		 */
+		public TodosReport call() {
+			return TodosPrecomputation.loadReport(rootDir);
+		}
+	}
+}
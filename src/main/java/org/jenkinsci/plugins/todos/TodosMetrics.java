@@ -0,0 +1,276 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2026 TODOs Plugin contributors
+ * This file is part of TODOs Plugin (Jenkins CI).
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.jenkinsci.plugins.todos;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+import org.jenkinsci.plugins.todos.model.TodosTimings;
+
+/**
+ * Aggregated metrics of the processing phases on the master since its start.
+ * Durations of each phase are counted in a histogram with fixed buckets. The
+ * class is thread safe.
+ * 
+ * @author TODOs Plugin contributors
+ * @see TodosMetricsAction
+ */
+public final class TodosMetrics {
+	/** Upper bounds of the histogram buckets in milliseconds. */
+	static final long[] BUCKETS_MS = { 1, 5, 10, 50, 100, 500, 1000, 5000,
+			10000, 60000 };
+
+	/** The histograms of the phases. */
+	private static final ConcurrentMap<String, Histogram> HISTOGRAMS = new ConcurrentHashMap<String, Histogram>();
+
+	/**
+	 * Private constructor, static methods only.
+	 */
+	private TodosMetrics() {
+	}
+
+	/**
+	 * Record a measurement of a phase.
+	 * 
+	 * @param phase
+	 *            name of the phase
+	 * @param startNanos
+	 *            start of the phase, value of System.nanoTime()
+	 */
+	public static void record(String phase, long startNanos) {
+		record(phase, System.nanoTime() - startNanos, 0, 0, 0);
+	}
+
+	/**
+	 * Record a measurement of a phase.
+	 * 
+	 * @param phase
+	 *            name of the phase
+	 * @param nanos
+	 *            elapsed time in nanoseconds
+	 * @param files
+	 *            number of processed files
+	 * @param comments
+	 *            number of processed comments
+	 * @param bytes
+	 *            number of processed bytes
+	 */
+	public static void record(String phase, long nanos, int files,
+			int comments, long bytes) {
+		getHistogram(phase).record(1, nanos, files, comments, bytes);
+	}
+
+	/**
+	 * Record all measurements of the phases of a build.
+	 * 
+	 * @param timings
+	 *            the measurements
+	 */
+	public static void record(TodosTimings timings) {
+		for (TodosTimings.Phase phase : timings.getPhases()) {
+			getHistogram(phase.getName()).record(phase.getCount(),
+					phase.getNanos(), phase.getFiles(), phase.getComments(),
+					phase.getBytes());
+		}
+	}
+
+	/**
+	 * Get the histograms of all phases.
+	 * 
+	 * @return the histograms
+	 */
+	public static List<Histogram> getHistograms() {
+		return new ArrayList<Histogram>(HISTOGRAMS.values());
+	}
+
+	/**
+	 * Get the histogram of a phase, create it if it doesn't exist yet.
+	 * 
+	 * @param phase
+	 *            name of the phase
+	 * @return the histogram
+	 */
+	private static Histogram getHistogram(String phase) {
+		Histogram histogram = HISTOGRAMS.get(phase);
+
+		if (histogram == null) {
+			Histogram created = new Histogram(phase);
+			histogram = HISTOGRAMS.putIfAbsent(phase, created);
+
+			if (histogram == null) {
+				histogram = created;
+			}
+		}
+
+		return histogram;
+	}
+
+	/**
+	 * Histogram of durations of a phase with the total sizes.
+	 * 
+	 * @author TODOs Plugin contributors
+	 */
+	public static class Histogram {
+		/** Name of the phase. */
+		private final String phase;
+
+		/** Number of measurements in each bucket, the last one is unbounded. */
+		private final AtomicLongArray buckets = new AtomicLongArray(
+				BUCKETS_MS.length + 1);
+
+		/** Number of measurements. */
+		private final AtomicLong count = new AtomicLong();
+
+		/** Total elapsed time in nanoseconds. */
+		private final AtomicLong nanos = new AtomicLong();
+
+		/** Total number of processed files. */
+		private final AtomicLong files = new AtomicLong();
+
+		/** Total number of processed comments. */
+		private final AtomicLong comments = new AtomicLong();
+
+		/** Total number of processed bytes. */
+		private final AtomicLong bytes = new AtomicLong();
+
+		/**
+		 * Constructor.
+		 * 
+		 * @param phase
+		 *            name of the phase
+		 */
+		Histogram(String phase) {
+			this.phase = phase;
+		}
+
+		/**
+		 * Record measurements. Repeated measurements are counted in the
+		 * bucket of their average.
+		 * 
+		 * @param measurements
+		 *            number of measurements
+		 * @param elapsed
+		 *            total elapsed time in nanoseconds
+		 * @param numFiles
+		 *            number of processed files
+		 * @param numComments
+		 *            number of processed comments
+		 * @param numBytes
+		 *            number of processed bytes
+		 */
+		void record(int measurements, long elapsed, int numFiles,
+				int numComments, long numBytes) {
+			if (measurements <= 0) {
+				return;
+			}
+
+			// Compared in nanoseconds, 1.9 ms doesn't belong to le="0.001"
+			long averageNanos = elapsed / measurements;
+			int bucket = 0;
+
+			while (bucket < BUCKETS_MS.length
+					&& averageNanos > BUCKETS_MS[bucket] * 1000000L) {
+				++bucket;
+			}
+
+			buckets.addAndGet(bucket, measurements);
+			count.addAndGet(measurements);
+			nanos.addAndGet(elapsed);
+			files.addAndGet(numFiles);
+			comments.addAndGet(numComments);
+			bytes.addAndGet(numBytes);
+		}
+
+		/**
+		 * Get name of the phase.
+		 * 
+		 * @return the name
+		 */
+		public String getPhase() {
+			return phase;
+		}
+
+		/**
+		 * Get number of measurements in a bucket.
+		 * 
+		 * @param bucket
+		 *            index of the bucket, the last one is unbounded
+		 * @return the number
+		 * @see TodosMetrics#BUCKETS_MS
+		 */
+		public long getBucket(int bucket) {
+			return buckets.get(bucket);
+		}
+
+		/**
+		 * Get number of measurements.
+		 * 
+		 * @return the number
+		 */
+		public long getCount() {
+			return count.get();
+		}
+
+		/**
+		 * Get total elapsed time.
+		 * 
+		 * @return the time in nanoseconds
+		 */
+		public long getNanos() {
+			return nanos.get();
+		}
+
+		/**
+		 * Get total number of processed files.
+		 * 
+		 * @return the number
+		 */
+		public long getFiles() {
+			return files.get();
+		}
+
+		/**
+		 * Get total number of processed comments.
+		 * 
+		 * @return the number
+		 */
+		public long getComments() {
+			return comments.get();
+		}
+
+		/**
+		 * Get total number of processed bytes.
+		 * 
+		 * @return the number
+		 */
+		public long getBytes() {
+			return bytes.get();
+		}
+	}
+}
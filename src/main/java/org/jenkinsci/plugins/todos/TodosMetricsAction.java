@@ -0,0 +1,147 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2026 TODOs Plugin contributors
+ * This file is part of TODOs Plugin (Jenkins CI).
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.jenkinsci.plugins.todos;
+
+import hudson.Extension;
+import hudson.model.Hudson;
+import hudson.model.RootAction;
+
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.util.Locale;
+
+import org.kohsuke.stapler.StaplerRequest;
+import org.kohsuke.stapler.StaplerResponse;
+
+/**
+ * Endpoint exposing the aggregated metrics of the processing phases in the
+ * Prometheus text format. Only administrators can access it.
+ * 
+ * @author TODOs Plugin contributors
+ * @see TodosMetrics
+ */
+@Extension
+public class TodosMetricsAction implements RootAction {
+	/**
+	 * The action is not displayed in the menu.
+	 * 
+	 * @see hudson.model.Action#getIconFileName()
+	 */
+	public String getIconFileName() {
+		return null;
+	}
+
+	/**
+	 * Get the display name.
+	 * 
+	 * @see hudson.model.Action#getDisplayName()
+	 */
+	public String getDisplayName() {
+		return TodosConstants.PLUGIN_NAME;
+	}
+
+	/**
+	 * Get the URL name.
+	 * 
+	 * @see hudson.model.Action#getUrlName()
+	 */
+	public String getUrlName() {
+		return TodosConstants.METRICS_URL;
+	}
+
+	/**
+	 * Write the metrics.
+	 * 
+	 * @param request
+	 *            Stapler request
+	 * @param response
+	 *            Stapler response
+	 * @throws IOException
+	 *             in case of an error
+	 */
+	public void doIndex(StaplerRequest request, StaplerResponse response)
+			throws IOException {
+		Hudson.getInstance().checkPermission(Hudson.ADMINISTER);
+
+		response.setContentType("text/plain; version=0.0.4; charset=UTF-8");
+		PrintWriter writer = response.getWriter();
+
+		// Prometheus requires \n line ends and a dot in numbers
+		writer.print("# HELP todos_phase_seconds Duration of processing phases of TODOs plugin.\n");
+		writer.print("# TYPE todos_phase_seconds histogram\n");
+
+		for (TodosMetrics.Histogram histogram : TodosMetrics.getHistograms()) {
+			String label = "phase=\"" + histogram.getPhase() + "\"";
+			long cumulative = 0;
+
+			for (int i = 0; i < TodosMetrics.BUCKETS_MS.length; ++i) {
+				cumulative += histogram.getBucket(i);
+				writer.format(Locale.ROOT,
+						"todos_phase_seconds_bucket{%s,le=\"%s\"} %d\n", label,
+						TodosMetrics.BUCKETS_MS[i] / 1000.0, cumulative);
+			}
+
+			writer.format(Locale.ROOT,
+					"todos_phase_seconds_bucket{%s,le=\"+Inf\"} %d\n", label,
+					histogram.getCount());
+			writer.format(Locale.ROOT, "todos_phase_seconds_sum{%s} %.6f\n",
+					label, histogram.getNanos() / 1e9);
+			writer.format(Locale.ROOT, "todos_phase_seconds_count{%s} %d\n",
+					label, histogram.getCount());
+		}
+
+		writeCounters(writer, "files", "Files processed by the phases.");
+		writeCounters(writer, "comments", "Comments processed by the phases.");
+		writeCounters(writer, "bytes", "Bytes processed by the phases.");
+		writer.flush();
+	}
+
+	/**
+	 * Write counters of processed items.
+	 * 
+	 * @param writer
+	 *            the output
+	 * @param type
+	 *            the type of the items
+	 * @param help
+	 *            description of the counters
+	 */
+	private static void writeCounters(PrintWriter writer, String type,
+			String help) {
+		String name = "todos_phase_" + type + "_total";
+
+		writer.format(Locale.ROOT, "# HELP %s %s\n", name, help);
+		writer.format(Locale.ROOT, "# TYPE %s counter\n", name);
+
+		for (TodosMetrics.Histogram histogram : TodosMetrics.getHistograms()) {
+			long value = type.equals("files") ? histogram.getFiles() : type
+					.equals("comments") ? histogram.getComments() : histogram
+					.getBytes();
+
+			writer.format(Locale.ROOT, "%s{phase=\"%s\"} %d\n", name,
+					histogram.getPhase(), value);
+		}
+	}
+}
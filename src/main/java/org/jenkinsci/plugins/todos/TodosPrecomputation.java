@@ -0,0 +1,551 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2026 TODOs Plugin contributors
+ * This file is part of TODOs Plugin (Jenkins CI).
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.jenkinsci.plugins.todos;
+
+import hudson.model.AbstractBuild;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.lang.ref.SoftReference;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+import org.jenkinsci.plugins.todos.model.TodosParser;
+import org.jenkinsci.plugins.todos.model.TodosReport;
+import org.jenkinsci.plugins.todos.model.TodosReportCodec;
+import org.jenkinsci.plugins.todos.model.TodosTimings;
+
+/**
+ * Background computation of the data derived from the stored reports, so the
+ * first user after a build doesn't have to wait for them. Each build is
+ * computed at most once at the same time and the results are stored in the
+ * build directory together with the number of the previous build they were
+ * computed against. They are computed again if that build is deleted.
+ * 
+ * @author TODOs Plugin contributors
+ */
+public class TodosPrecomputation {
+	/** The logger. */
+	private static final Logger LOGGER = Logger
+			.getLogger(TodosPrecomputation.class.getName());
+
+	/** Name of the file in the build directory where the diff is stored. */
+	private static final String DIFF_FILE_NAME = "todos-plugin-diff.ser";
+
+	/**
+	 * Name of the file in the directory with copies of the reports where a
+	 * compact report is stored instead of the copies. It contains either a
+	 * sample of the comments or the merged reports of child builds.
+	 */
+	private static final String COMPACT_FILE_NAME = "todos-report.bin";
+
+	/** Maximal number of threads computing the data. */
+	private static final int MAX_THREADS = 2;
+
+	/** Maximal number of builds waiting for the computation. */
+	private static final int MAX_QUEUE_SIZE = 64;
+
+	/** The executor, bounded in number of threads and waiting tasks. */
+	private static final ThreadPoolExecutor EXECUTOR = new ThreadPoolExecutor(
+			MAX_THREADS, MAX_THREADS, 60, TimeUnit.SECONDS,
+			new ArrayBlockingQueue<Runnable>(MAX_QUEUE_SIZE),
+			new ThreadFactory() {
+				public Thread newThread(Runnable runnable) {
+					Thread thread = new Thread(runnable, "TODOs precomputation");
+					thread.setDaemon(true);
+					return thread;
+				}
+			});
+
+	static {
+		EXECUTOR.allowCoreThreadTimeOut(true);
+	}
+
+	/** Builds being computed or waiting for the computation. */
+	private static final ConcurrentMap<String, Runnable> PENDING = new ConcurrentHashMap<String, Runnable>();
+
+	/** Number of the previous build if there is no such build. */
+	private static final int NO_BUILD = 0;
+
+	/** Maximal number of loaded diffs kept in memory. */
+	private static final int MAX_CACHED_DIFFS = 4;
+
+	/**
+	 * Recently loaded diffs in access order, softly referenced. The pages of
+	 * the comments of a build are requested one after another. The key
+	 * contains the number of the previous build, so the diffs against a
+	 * deleted build are never returned.
+	 */
+	private static final Map<String, SoftReference<TodosReport>> LOADED = Collections
+			.synchronizedMap(new LinkedHashMap<String, SoftReference<TodosReport>>(
+					MAX_CACHED_DIFFS * 2, 0.75f, true) {
+				/** Serial version UID. */
+				private static final long serialVersionUID = 0L;
+
+				@Override
+				protected boolean removeEldestEntry(
+						Map.Entry<String, SoftReference<TodosReport>> eldest) {
+					return size() > MAX_CACHED_DIFFS;
+				}
+			});
+
+	/**
+	 * Private constructor, static methods only.
+	 */
+	private TodosPrecomputation() {
+	}
+
+	/**
+	 * Schedule the computation of a build. Nothing is done if the data are
+	 * already computed or their computation is already scheduled. Nothing is
+	 * scheduled if the queue is full, the next request tries again.
+	 * 
+	 * @param build
+	 *            the build
+	 */
+	public static void schedule(final AbstractBuild<?, ?> build) {
+		final String key = getKey(build);
+
+		// Scheduled again when the previous build completes
+		if (getDiffFile(build).exists() || isPreviousBuilding(build)) {
+			return;
+		}
+
+		Runnable task = new Runnable() {
+			public void run() {
+				try {
+					AbstractBuild<?, ?> previousBuild = getPreviousReportBuild(
+							build);
+					storeReportDiff(build, getNumber(previousBuild),
+							computeReportDiff(build, previousBuild));
+				} catch (IOException e) {
+					LOGGER.log(Level.WARNING,
+							"Computation of TODOs diff failed: " + key, e);
+				} finally {
+					PENDING.remove(key);
+				}
+			}
+		};
+
+		if (PENDING.putIfAbsent(key, task) != null) {
+			return;
+		}
+
+		try {
+			EXECUTOR.execute(task);
+		} catch (RejectedExecutionException e) {
+			// The queue is full, never compute in the thread of a request
+			PENDING.remove(key);
+		}
+	}
+
+	/**
+	 * Check whether the computation of a build is scheduled or running.
+	 * 
+	 * @param build
+	 *            the build
+	 * @return true if the computation is not finished yet
+	 */
+	public static boolean isComputing(AbstractBuild<?, ?> build) {
+		return PENDING.containsKey(getKey(build));
+	}
+
+	/**
+	 * Load the precomputed diff between the report of a build and the report
+	 * of the previous build. The recently loaded diffs are kept in memory. A
+	 * diff computed against a build that was deleted since then is deleted.
+	 * 
+	 * @param build
+	 *            the build
+	 * @return the report containing the diff or null if it wasn't computed
+	 *         yet
+	 */
+	public static TodosReport loadReportDiff(AbstractBuild<?, ?> build) {
+		int previousNumber = getNumber(getPreviousReportBuild(build));
+		String key = getKey(build) + "#" + previousNumber;
+		SoftReference<TodosReport> cached = LOADED.get(key);
+		TodosReport report = (cached == null) ? null : cached.get();
+
+		if (report != null) {
+			return report;
+		}
+
+		File file = getDiffFile(build);
+
+		if (!file.exists()) {
+			return null;
+		}
+
+		ObjectInputStream stream = null;
+
+		try {
+			stream = new ObjectInputStream(new GZIPInputStream(
+					new BufferedInputStream(new FileInputStream(file))));
+
+			if (stream.readInt() == previousNumber) {
+				report = (TodosReport) stream.readObject();
+				LOADED.put(key, new SoftReference<TodosReport>(report));
+				return report;
+			}
+		} catch (IOException e) {
+			LOGGER.log(Level.WARNING, "Loading of TODOs diff failed: " + file,
+					e);
+		} catch (ClassNotFoundException e) {
+			LOGGER.log(Level.WARNING, "Loading of TODOs diff failed: " + file,
+					e);
+		} finally {
+			closeQuietly(stream);
+		}
+
+		// Corrupted, incompatible or out of date file, compute it again
+		if (!file.delete()) {
+			LOGGER.log(Level.WARNING, "Deleting of TODOs diff failed: " + file);
+		}
+
+		return null;
+	}
+
+	/**
+	 * Compute diff between the report of a build and the report of the
+	 * previous build.
+	 * 
+	 * @param build
+	 *            the build
+	 * @param previousBuild
+	 *            the previous build with a report or null
+	 * @return the report containing the diff
+	 */
+	static TodosReport computeReportDiff(AbstractBuild<?, ?> build,
+			AbstractBuild<?, ?> previousBuild) {
+		long start = System.nanoTime();
+		TodosReport current = loadReport(build);
+		TodosReport previous = (previousBuild == null) ? null
+				: loadReport(previousBuild);
+		TodosMetrics.record(TodosTimings.LOAD_REPORT, System.nanoTime()
+				- start, current.getSourceFiles().size(), current
+				.getCommentStore().size(), 0);
+
+		if (previous != null
+				&& (isSampled(build) || isSampled(previousBuild))) {
+			// Compare the same sample, the comments not selected in one of
+			// the reports would be new or solved otherwise
+			int level = 0;
+
+			if (isSampled(build)) {
+				level = current.getSampleLevel();
+			}
+
+			if (isSampled(previousBuild)) {
+				level = Math.max(level, previous.getSampleLevel());
+			}
+
+			current = current.selectSample(level);
+			previous = previous.selectSample(level);
+		}
+
+		start = System.nanoTime();
+		TodosReport diff = current.diffReports(previous);
+		TodosMetrics.record(TodosTimings.DIFF_REPORTS, System.nanoTime()
+				- start, 0, diff.getCommentStore().size(), 0);
+		return diff;
+	}
+
+	/**
+	 * Store the diff to the build directory. The file is written under a
+	 * temporary name and renamed, so readers never see a partial file.
+	 * 
+	 * @param build
+	 *            the build
+	 * @param previousNumber
+	 *            number of the previous build the diff was computed against
+	 * @param report
+	 *            the report containing the diff
+	 * @throws IOException
+	 *             if something fails
+	 */
+	private static void storeReportDiff(AbstractBuild<?, ?> build,
+			int previousNumber, TodosReport report) throws IOException {
+		File file = getDiffFile(build);
+		File tmpFile = new File(file.getPath() + ".tmp");
+		ObjectOutputStream stream = null;
+
+		try {
+			stream = new ObjectOutputStream(new GZIPOutputStream(
+					new BufferedOutputStream(new FileOutputStream(tmpFile))));
+			stream.writeInt(previousNumber);
+			stream.writeObject(report);
+		} finally {
+			closeQuietly(stream);
+		}
+
+		if (!tmpFile.renameTo(file)) {
+			throw new IOException("Renaming of file failed: " + tmpFile);
+		}
+	}
+
+	/**
+	 * Load the report stored in a build.
+	 * 
+	 * @param build
+	 *            the build
+	 * @return the report, empty report if not available
+	 */
+	static TodosReport loadReport(AbstractBuild<?, ?> build) {
+		return loadReport(build.getRootDir());
+	}
+
+	/**
+	 * Load the report stored in a build directory.
+	 * 
+	 * @param rootDir
+	 *            the root directory where build results are stored
+	 * @return the report, empty report if not available
+	 */
+	static TodosReport loadReport(File rootDir) {
+		File destDir = new File(rootDir, TodosConstants.BUILD_SUBDIR);
+
+		if (!destDir.exists()) {
+			return new TodosReport();
+		}
+
+		File compactFile = new File(destDir, COMPACT_FILE_NAME);
+
+		if (compactFile.exists()) {
+			return loadCompactReport(compactFile);
+		}
+
+		return TodosParser.parseFiles(destDir.listFiles());
+	}
+
+	/**
+	 * Load a compact report.
+	 * 
+	 * @param file
+	 *            the file with the report
+	 * @return the report, empty report if it can't be read
+	 */
+	private static TodosReport loadCompactReport(File file) {
+		DataInputStream stream = null;
+
+		try {
+			stream = new DataInputStream(new GZIPInputStream(
+					new BufferedInputStream(new FileInputStream(file))));
+			return TodosReportCodec.read(stream);
+		} catch (IOException e) {
+			LOGGER.log(Level.WARNING, "Loading of TODOs report failed: "
+					+ file, e);
+			return new TodosReport();
+		} finally {
+			closeQuietly(stream);
+		}
+	}
+
+	/**
+	 * Store a compact report that replaces the copies of the reports.
+	 * 
+	 * @param rootDir
+	 *            the root directory where build results are stored
+	 * @param report
+	 *            the report with a sample of the comments or with the merged
+	 *            reports of child builds
+	 * @throws IOException
+	 *             if something fails
+	 */
+	static void storeCompactReport(File rootDir, TodosReport report)
+			throws IOException {
+		File destDir = new File(rootDir, TodosConstants.BUILD_SUBDIR);
+
+		if (!destDir.exists() && !destDir.mkdirs()) {
+			throw new IOException("Creating of directory failed: " + destDir);
+		}
+
+		DataOutputStream stream = null;
+
+		try {
+			stream = new DataOutputStream(new GZIPOutputStream(
+					new BufferedOutputStream(new FileOutputStream(new File(
+							destDir, COMPACT_FILE_NAME)))));
+			TodosReportCodec.write(report, stream);
+		} finally {
+			closeQuietly(stream);
+		}
+	}
+
+	/**
+	 * Get the previous build with a stored report. The builds being deleted
+	 * are skipped.
+	 * 
+	 * @param build
+	 *            the current build
+	 * @return the build or null if there is no previous report
+	 */
+	static AbstractBuild<?, ?> getPreviousReportBuild(
+			AbstractBuild<?, ?> build) {
+		AbstractBuild<?, ?> previousBuild = build.getPreviousBuild();
+
+		while (previousBuild != null) {
+			File destDir = new File(previousBuild.getRootDir(),
+					TodosConstants.BUILD_SUBDIR);
+
+			if (!isDeleted(previousBuild) && destDir.exists()) {
+				return previousBuild;
+			}
+
+			previousBuild = previousBuild.getPreviousBuild();
+		}
+
+		return null;
+	}
+
+	/**
+	 * Check whether only a sample of the comments is stored in a build.
+	 * 
+	 * @param build
+	 *            the build, may be null
+	 * @return true if the comments are sampled
+	 */
+	static boolean isSampled(AbstractBuild<?, ?> build) {
+		if (build == null) {
+			return false;
+		}
+
+		TodosBuildAction action = build.getAction(TodosBuildAction.class);
+		return action != null && !action.getTruncations().isEmpty();
+	}
+
+	/**
+	 * Check whether a build is being deleted. It is still linked from the
+	 * other builds until its files are removed.
+	 * 
+	 * @param build
+	 *            the build
+	 * @return true if the build is being deleted
+	 */
+	static boolean isDeleted(AbstractBuild<?, ?> build) {
+		TodosBuildAction action = build.getAction(TodosBuildAction.class);
+		return action != null && action.isDeleted();
+	}
+
+	/**
+	 * Get number of a build.
+	 * 
+	 * @param build
+	 *            the build, may be null
+	 * @return the number or {@link #NO_BUILD}
+	 */
+	private static int getNumber(AbstractBuild<?, ?> build) {
+		return (build == null) ? NO_BUILD : build.getNumber();
+	}
+
+	/**
+	 * Check whether a previous build that didn't publish its TODOs results
+	 * yet is still running. Data derived from the previous results are not
+	 * final until it finishes.
+	 * 
+	 * @param build
+	 *            the current build
+	 * @return true if such build exists, otherwise false
+	 */
+	static boolean isPreviousBuilding(AbstractBuild<?, ?> build) {
+		AbstractBuild<?, ?> previousBuild = build.getPreviousBuild();
+
+		while (previousBuild != null) {
+			// The action is added after the report files are stored
+			if (previousBuild.getAction(TodosBuildAction.class) != null
+					&& !isDeleted(previousBuild)) {
+				return false;
+			}
+
+			if (previousBuild.isBuilding()) {
+				return true;
+			}
+
+			previousBuild = previousBuild.getPreviousBuild();
+		}
+
+		return false;
+	}
+
+	/**
+	 * Get the file where the diff of a build is stored.
+	 * 
+	 * @param build
+	 *            the build
+	 * @return the file
+	 */
+	private static File getDiffFile(AbstractBuild<?, ?> build) {
+		return new File(build.getRootDir(), DIFF_FILE_NAME);
+	}
+
+	/**
+	 * Get a key identifying a build.
+	 * 
+	 * @param build
+	 *            the build
+	 * @return the key
+	 */
+	private static String getKey(AbstractBuild<?, ?> build) {
+		return build.getRootDir().getAbsolutePath();
+	}
+
+	/**
+	 * Close a stream and ignore all errors.
+	 * 
+	 * @param stream
+	 *            the stream, may be null
+	 */
+	private static void closeQuietly(Closeable stream) {
+		if (stream == null) {
+			return;
+		}
+
+		try {
+			stream.close();
+		} catch (IOException e) {
+			// Silently ignore, nothing to do
+		}
+	}
+}
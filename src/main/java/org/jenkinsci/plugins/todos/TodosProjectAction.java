@@ -31,7 +31,10 @@ import hudson.util.ChartUtil;
 
 import java.io.IOException;
 import java.io.Serializable;
+import java.util.List;
 
+import org.jenkinsci.plugins.todos.model.TodosFlightRecorder;
+import org.jenkinsci.plugins.todos.model.TodosTrendEntry;
 import org.kohsuke.stapler.StaplerRequest;
 import org.kohsuke.stapler.StaplerResponse;
 
@@ -114,15 +117,7 @@ public class TodosProjectAction implements Action, Serializable {
 	 * @return the last finished build or null if there is no such build
 	 */
 	public AbstractBuild<?, ?> getLastFinishedBuild() {
-		AbstractBuild<?, ?> lastBuild = project.getLastBuild();
-
-		while (lastBuild != null
-				&& (lastBuild.isBuilding() || lastBuild
-						.getAction(TodosBuildAction.class) == null)) {
-			lastBuild = lastBuild.getPreviousBuild();
-		}
-
-		return lastBuild;
+		return TodosJobState.get(project).getLastFinishedBuild(project);
 	}
 
 	/**
@@ -140,25 +135,46 @@ public class TodosProjectAction implements Action, Serializable {
 
 		TodosBuildAction action = build.getAction(TodosBuildAction.class);
 
-		int numResults = 0;
-
-		while (action != null) {
-			if (action.getStatistics() != null) {
-				++numResults;
-
-				if (numResults > 1) {
-					return true;
-				}
-			}
+		// The differences exist only if a previous result exists
+		return action != null && action.getStatistics() != null
+				&& action.getDelta() != null;
+	}
 
-			action = action.getPreviousAction();
+	/**
+	 * Check whether the client already has the current trend chart. The tag
+	 * is computed from the trend, nothing is rendered for it.
+	 * 
+	 * @param request
+	 *            Stapler request
+	 * @param response
+	 *            Stapler response
+	 * @param trend
+	 *            the trend
+	 * @param kind
+	 *            the kind of the response, image or map
+	 * @return true if 304 Not Modified was answered, otherwise false
+	 */
+	private boolean checkTrendNotModified(StaplerRequest request,
+			StaplerResponse response, List<TodosTrendEntry> trend, String kind) {
+		long modified = TodosJobState.get(project).getModified();
+		int hash = 0;
+
+		for (TodosTrendEntry entry : trend) {
+			hash = 31 * hash + entry.getBuildNumber();
+			hash = 31 * hash + entry.getStatistics().getNumComments();
 		}
 
-		return false;
+		String eTag = TodosHttpCache.getETag(project.getFullName(), kind,
+				request.getLocale(), Long.valueOf(modified),
+				Integer.valueOf(trend.size()), Integer.valueOf(hash));
+
+		return TodosHttpCache.checkNotModified(request, response, eTag,
+				modified, TodosHttpCache.REVALIDATE);
 	}
 
 	/**
-	 * Display the trend map.
+	 * Display the trend map, 304 Not Modified is answered if the client
+	 * already has it.
 	 * 
 	 * @param request
 	 *            Stapler request
@@ -169,26 +185,27 @@ public class TodosProjectAction implements Action, Serializable {
 	 */
 	public void doTrendMap(StaplerRequest request, StaplerResponse response)
 			throws IOException {
-		AbstractBuild<?, ?> lastBuild = this.getLastFinishedBuild();
+		List<TodosTrendEntry> trend = TodosJobState.get(project).getTrend(
+				project);
 
-		if (lastBuild == null) {
-			return;
-		}
-
-		TodosBuildAction lastAction = lastBuild
-				.getAction(TodosBuildAction.class);
-
-		if (lastAction == null) {
+		if (trend.isEmpty()
+				|| checkTrendNotModified(request, response, trend, "map")) {
 			return;
 		}
 
+		TodosFlightRecorder.Event event = TodosFlightRecorder.CHART.begin();
 		ChartUtil.generateClickableMap(request, response,
-				TodosChartBuilder.buildChart(lastAction),
+				TodosChartBuilder.buildChart(trend, getUrlName()),
 				TodosConstants.CHART_WIDTH, TodosConstants.CHART_HEIGHT);
+
+		if (event != null) {
+			event.commit(project.getFullName(), Integer.valueOf(trend.size()));
+		}
 	}
 
 	/**
-	 * Display the trend graph.
+	 * Display the trend graph, 304 Not Modified is answered if the client
+	 * already has it.
 	 * 
 	 * @param request
 	 *            Stapler request
@@ -199,21 +216,21 @@ public class TodosProjectAction implements Action, Serializable {
 	 */
 	public void doTrend(StaplerRequest request, StaplerResponse response)
 			throws IOException {
-		AbstractBuild<?, ?> lastBuild = this.getLastFinishedBuild();
+		List<TodosTrendEntry> trend = TodosJobState.get(project).getTrend(
+				project);
 
-		if (lastBuild == null) {
-			return;
-		}
-
-		TodosBuildAction lastAction = lastBuild
-				.getAction(TodosBuildAction.class);
-
-		if (lastAction == null) {
+		if (trend.isEmpty()
+				|| checkTrendNotModified(request, response, trend, "image")) {
 			return;
 		}
 
+		TodosFlightRecorder.Event event = TodosFlightRecorder.CHART.begin();
 		ChartUtil.generateGraph(request, response,
-				TodosChartBuilder.buildChart(lastAction),
+				TodosChartBuilder.buildChart(trend, getUrlName()),
 				TodosConstants.CHART_WIDTH, TodosConstants.CHART_HEIGHT);
+
+		if (event != null) {
+			event.commit(project.getFullName(), Integer.valueOf(trend.size()));
+		}
 	}
 }
@@ -26,49 +26,119 @@ package org.jenkinsci.plugins.todos;
 
 import hudson.FilePath;
 import hudson.Launcher;
+import hudson.matrix.MatrixAggregatable;
+import hudson.matrix.MatrixAggregator;
+import hudson.matrix.MatrixBuild;
 import hudson.model.Action;
 import hudson.model.BuildListener;
 import hudson.model.Result;
 import hudson.model.AbstractBuild;
 import hudson.model.AbstractProject;
-import hudson.remoting.VirtualChannel;
+import hudson.remoting.FastPipedInputStream;
+import hudson.remoting.FastPipedOutputStream;
+import hudson.remoting.RemoteOutputStream;
 import hudson.tasks.BuildStepMonitor;
 import hudson.tasks.Recorder;
 
 import java.io.File;
-import java.io.FileOutputStream;
 import java.io.IOException;
 import java.io.PrintStream;
 import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
 
-import org.jenkinsci.plugins.todos.model.TodosParser;
-import org.jenkinsci.plugins.todos.model.TodosReport;
+import org.jenkinsci.plugins.todos.model.TodosArchiveReceiver;
+import org.jenkinsci.plugins.todos.model.TodosLimits;
+import org.jenkinsci.plugins.todos.model.TodosQualityGate;
 import org.jenkinsci.plugins.todos.model.TodosReport.SlaveFile;
+import org.jenkinsci.plugins.todos.model.TodosReportReceiver;
+import org.jenkinsci.plugins.todos.model.TodosReportStatistics;
+import org.jenkinsci.plugins.todos.model.TodosStreamConsumer;
+import org.jenkinsci.plugins.todos.model.TodosStreamingParser;
+import org.jenkinsci.plugins.todos.model.TodosTimings;
 import org.kohsuke.stapler.DataBoundConstructor;
 
 /**
- * Jenkins publisher for TODOs plugin.
+ * Jenkins publisher for TODOs plugin. The results of the configurations of a
+ * matrix build are merged into the parent build.
  * 
  * @author Michal Turek
  */
-public class TodosPublisher extends Recorder implements Serializable {
+public class TodosPublisher extends Recorder implements Serializable,
+		MatrixAggregatable {
 	/** Serial version UID. */
 	private static final long serialVersionUID = 0;
 
 	/** Actual pattern for searching files. */
 	private final String pattern;
 
+	/** Depth of the directory tree in per-directory statistics. */
+	private final int directoryDepth;
+
+	/** Thresholds of the numbers of comments, null in older configurations. */
+	private final List<TodosThreshold> thresholds;
+
+	/** Maximal number of report files, zero or negative for no limit. */
+	private final int maxFiles;
+
+	/** Maximal size of a report file, zero or negative for no limit. */
+	private final long maxBytesPerFile;
+
+	/** Maximal number of stored comments, zero or negative for no limit. */
+	private final int maxComments;
+
+	/** Store a sample of the comments instead of failing on a limit. */
+	private final boolean sampleOnLimit;
+
+	/**
+	 * Constructor with the default settings: the default depth of the
+	 * directory tree, no thresholds and no limits of the reports.
+	 * 
+	 * @param pattern
+	 *            actual pattern for searching files
+	 */
+	public TodosPublisher(String pattern) {
+		this(pattern, TodosConstants.DEFAULT_DIRECTORY_DEPTH, null, 0, 0, 0,
+				false);
+	}
+
 	/**
 	 * Constructor.
 	 * 
 	 * @param pattern
 	 *            actual pattern for searching files
+	 * @param directoryDepth
+	 *            depth of the directory tree in per-directory statistics
+	 * @param thresholds
+	 *            thresholds of the numbers of comments, may be null
+	 * @param maxFiles
+	 *            maximal number of report files, zero or negative for no
+	 *            limit
+	 * @param maxBytesPerFile
+	 *            maximal size of a report file, zero or negative for no limit
+	 * @param maxComments
+	 *            maximal number of stored comments, zero or negative for no
+	 *            limit
+	 * @param sampleOnLimit
+	 *            store a sample of the comments instead of failing when a
+	 *            limit is exceeded
 	 */
 	@DataBoundConstructor
-	public TodosPublisher(String pattern) {
+	public TodosPublisher(String pattern, int directoryDepth,
+			List<TodosThreshold> thresholds, int maxFiles,
+			long maxBytesPerFile, int maxComments, boolean sampleOnLimit) {
 		super();
 		this.pattern = pattern;
+		this.directoryDepth = directoryDepth;
+		this.thresholds = (thresholds == null) ? null
+				: new ArrayList<TodosThreshold>(thresholds);
+		this.maxFiles = maxFiles;
+		this.maxBytesPerFile = maxBytesPerFile;
+		this.maxComments = maxComments;
+		this.sampleOnLimit = sampleOnLimit;
 	}
 
 	@Override
@@ -99,11 +169,27 @@ public class TodosPublisher extends Recorder implements Serializable {
 			return true;
 		}
 
-		TodosReport report = null;
+		TodosReportReceiver receiver = null;
+		TodosTimings timings = new TodosTimings();
+		TodosQualityGate qualityGate = createQualityGate(build);
 
 		try {
-			FilePath workspace = build.getWorkspace();
-			report = workspace.act(new TodosParser(getRealPattern()));
+			receiver = receiveReports(build.getWorkspace(), getRealPattern(),
+					getRealDirectoryDepth(), build.getRootDir(), qualityGate,
+					getLimits(), timings);
+		} catch (TodosLimits.ExceededException e) {
+			logger.format("%s %s: %s\n", TodosConstants.PLUGIN_LOG_PREFIX,
+					TodosConstants.ERROR, e.getMessage());
+			logger.format("%s Processing of report files aborted\n",
+					TodosConstants.PLUGIN_LOG_PREFIX);
+			return false;
+		} catch (TodosQualityGate.ViolationException e) {
+			logger.format("%s %s: %s\n", TodosConstants.PLUGIN_LOG_PREFIX,
+					TodosConstants.ERROR, e.getMessage());
+			logger.format("%s Processing of report files aborted\n",
+					TodosConstants.PLUGIN_LOG_PREFIX);
+			build.setResult(Result.FAILURE);
+			return true;
 		} catch (IOException e) {
 			logger.format("%s %s: Processing of report files failed\n",
 					TodosConstants.PLUGIN_LOG_PREFIX, TodosConstants.ERROR);
@@ -116,86 +202,289 @@ public class TodosPublisher extends Recorder implements Serializable {
 			return false;
 		}
 
-		if (report.getSourceFiles().size() == 0) {
+		if (receiver.getSourceFiles().size() == 0) {
 			logger.format("%s %s: No file is matching the input pattern: %s\n",
 					TodosConstants.PLUGIN_LOG_PREFIX, TodosConstants.WARNING,
 					getRealPattern());
 		}
 
-		build.addAction(new TodosBuildAction(build, report.getStatistics()));
+		build.addAction(new TodosBuildAction(build, receiver.getStatistics(),
+				receiver.getDirectoryStatistics(), receiver.getTruncations()));
 
-		try {
-			copyFilesToBuildDirectory(report.getSourceFiles(),
-					build.getRootDir(), launcher.getChannel());
-		} catch (IOException e) {
-			logger.format("%s %s: Results storing failed\n",
-					TodosConstants.PLUGIN_LOG_PREFIX, TodosConstants.ERROR);
-			e.printStackTrace(logger);
-			return false;
-		} catch (InterruptedException e) {
-			logger.format("%s %s: Results storing interrupted\n",
-					TodosConstants.PLUGIN_LOG_PREFIX, TodosConstants.ERROR);
-			e.printStackTrace(logger);
-			return false;
+		for (String truncation : receiver.getTruncations()) {
+			logger.format(
+					"%s %s: %s, statistics are exact, only a sample of comments is stored\n",
+					TodosConstants.PLUGIN_LOG_PREFIX, TodosConstants.WARNING,
+					truncation);
 		}
 
-		for (SlaveFile file : report.getSourceFiles()) {
+		for (SlaveFile file : receiver.getSourceFiles()) {
 			logger.format("%s Report successfully processed: %s\n",
 					TodosConstants.PLUGIN_LOG_PREFIX, file.getAbsolutePath());
 		}
 
+		for (String file : receiver.getStaleFiles()) {
+			logger.format("%s %s: Stale copy of a report replaced: %s\n",
+					TodosConstants.PLUGIN_LOG_PREFIX, TodosConstants.WARNING,
+					file);
+		}
+
+		for (TodosQualityGate.Limit limit : qualityGate.getViolations()) {
+			logger.format("%s %s: Threshold exceeded, %s\n",
+					TodosConstants.PLUGIN_LOG_PREFIX, TodosConstants.WARNING,
+					limit);
+			build.setResult(Result.UNSTABLE);
+		}
+
+		timings.addAll(receiver.getTimings());
+		TodosMetrics.record(timings);
+
+		for (TodosTimings.Phase phase : timings.getPhases()) {
+			logger.format("%s Timing of %s\n",
+					TodosConstants.PLUGIN_LOG_PREFIX, phase);
+		}
+
+		// Prepare the results page in background
+		TodosPrecomputation.schedule(build);
 		return true;
 	}
 
 	/**
-	 * Copy files to a build results directory. The copy of a file will be
-	 * stored in plugin's subdirectory and a hashcode of its absolute path will
-	 * be used in its name prefix to distinguish files with the same names from
-	 * different directories.
+	 * Create the aggregator of the results of the configurations.
+	 * 
+	 * @see hudson.matrix.MatrixAggregatable#createAggregator(MatrixBuild,
+	 *      Launcher, BuildListener)
+	 */
+	public MatrixAggregator createAggregator(MatrixBuild build,
+			Launcher launcher, BuildListener listener) {
+		return new TodosMatrixAggregator(build, launcher, listener);
+	}
+
+	/**
+	 * Parse the report files in the workspace and copy them to the build
+	 * results directory. The slave reads each file only once, it streams
+	 * batches of parsed comments together with the content of the file
+	 * through a pipe and they are consumed while the slave continues with the
+	 * remaining files.
 	 * 
-	 * @param sourceFiles
-	 *            the files to copy
+	 * @param workspace
+	 *            the workspace
+	 * @param pattern
+	 *            pattern for searching the report files
+	 * @param directoryDepth
+	 *            depth of the directory tree in per-directory statistics
 	 * @param rootDir
 	 *            the root directory where build results are stored
-	 * @param channel
-	 *            the communication channel
+	 * @param qualityGate
+	 *            the limits evaluated while the comments are received, may be
+	 *            null
+	 * @param limits
+	 *            limits of the reports, a sample of the comments is stored
+	 *            instead of the copies when they are exceeded, may be null
+	 * @param timings
+	 *            output parameter for the timings of the slave part and of
+	 *            the transfer
+	 * @return the consumer of the comments
 	 * @throws IOException
-	 *             if something fails
+	 *             if parsing or the transfer fails or a hard limit of the
+	 *             quality gate is exceeded, the copied files are removed
 	 * @throws InterruptedException
-	 *             if something fails
+	 *             if the processing is interrupted
 	 * 
 	 * @see TodosConstants#BUILD_SUBDIR
 	 */
-	private void copyFilesToBuildDirectory(List<SlaveFile> sourceFiles,
-			File rootDir, VirtualChannel channel) throws IOException,
-			InterruptedException {
+	static TodosReportReceiver receiveReports(FilePath workspace,
+			String pattern, int directoryDepth, File rootDir,
+			TodosQualityGate qualityGate, TodosLimits limits,
+			TodosTimings timings) throws IOException, InterruptedException {
 		File destDir = new File(rootDir, TodosConstants.BUILD_SUBDIR);
+		TodosReportReceiver receiver = new TodosReportReceiver(directoryDepth,
+				new TodosArchiveReceiver(destDir), qualityGate, limits);
+
+		FastPipedInputStream input = new FastPipedInputStream();
+		FastPipedOutputStream output = new FastPipedOutputStream(input);
+
+		long start = System.nanoTime();
+		Future<TodosTimings> future = workspace
+				.actAsync(new TodosStreamingParser(pattern, true,
+						new RemoteOutputStream(output), limits));
+
+		TodosTimings slaveTimings = null;
+		boolean success = false;
+
+		try {
+			slaveTimings = consume(input, future, receiver);
+
+			if (!receiver.getTruncations().isEmpty()) {
+				// The copies are incomplete, the sample replaces them
+				deleteCopies(destDir);
+				TodosPrecomputation.storeCompactReport(rootDir,
+						receiver.getSample());
+			}
+
+			success = true;
+		} finally {
+			if (!success) {
+				// Incomplete copies must not be used as the previous report
+				deleteCopies(destDir);
+			}
+		}
+
+		timings.add(TodosTimings.TRANSFER, System.nanoTime() - start,
+				receiver.getSourceFiles().size(),
+				receiver.getCommentsCount(), 0);
+		timings.addAll(slaveTimings);
+		return receiver;
+	}
+
+	/**
+	 * Remove the copies of the report files.
+	 * 
+	 * @param destDir
+	 *            the directory with the copies
+	 */
+	private static void deleteCopies(File destDir) {
+		File[] files = destDir.listFiles();
+
+		if (files == null) {
+			return;
+		}
+
+		for (File file : files) {
+			file.delete();
+		}
+
+		destDir.delete();
+	}
+
+	/**
+	 * Create the quality gate from the thresholds. The relative limits are
+	 * computed from the statistics of the previous build, its report is not
+	 * loaded.
+	 * 
+	 * @param build
+	 *            the current build
+	 * @return the quality gate
+	 */
+	private TodosQualityGate createQualityGate(AbstractBuild<?, ?> build) {
+		TodosQualityGate qualityGate = new TodosQualityGate();
+
+		if (getThresholds().isEmpty()) {
+			return qualityGate;
+		}
+
+		TodosReportStatistics previous = getPreviousStatistics(build);
 
-		if (!destDir.exists() && !destDir.mkdir()) {
-			throw new IOException(
-					"Creating directory for copy of workspace files failed: "
-							+ destDir.getAbsolutePath());
+		for (TodosThreshold threshold : getThresholds()) {
+			threshold.addLimits(qualityGate, previous);
 		}
 
-		for (SlaveFile sourceFile : sourceFiles) {
-			File masterFile = new File(destDir, Integer.toHexString(sourceFile
-					.hashCode()) + "_" + sourceFile.getName());
+		return qualityGate;
+	}
+
+	/**
+	 * Get statistics of the last previous build with TODOs results.
+	 * 
+	 * @param build
+	 *            the current build
+	 * @return the statistics or null if there is no such build
+	 * @see TodosBuildAction#findPreviousAction(AbstractBuild)
+	 */
+	private static TodosReportStatistics getPreviousStatistics(
+			AbstractBuild<?, ?> build) {
+		TodosBuildAction action = TodosBuildAction.findPreviousAction(build);
+		return (action == null) ? null : action.getStatistics();
+	}
+
+	/**
+	 * Consume a stream written by a slave.
+	 * 
+	 * @param input
+	 *            the master side of the pipe
+	 * @param future
+	 *            the result of the slave part
+	 * @param consumer
+	 *            the consumer of the stream
+	 * @return the result of the slave part
+	 * @throws IOException
+	 *             if the slave part or the consumer fails
+	 * @throws InterruptedException
+	 *             if the processing is interrupted
+	 */
+	private static <T> T consume(FastPipedInputStream input,
+			Future<T> future, TodosStreamConsumer consumer)
+			throws IOException, InterruptedException {
+		try {
+			consumer.receive(input);
+		} catch (TodosQualityGate.ViolationException e) {
+			// Unblock the slave, it fails on the closed stream
+			input.close();
+
+			try {
+				waitForSlave(future);
+			} catch (IOException ignored) {
+				// Expected, the violation is the cause
+			}
+
+			throw e;
+		} catch (IOException e) {
+			// Unblock the slave, its failure describes the problem better
+			input.close();
+			waitForSlave(future);
+			throw e;
+		} catch (RuntimeException e) {
+			// Unblock the slave, e.g. after an invalid record
+			input.close();
+
+			try {
+				waitForSlave(future);
+			} catch (IOException ignored) {
+				// Expected, the slave fails on the closed stream
+			}
 
-			if (!masterFile.exists()) {
-				FileOutputStream outputStream = new FileOutputStream(masterFile);
-				new FilePath(channel, sourceFile.getAbsolutePath())
-						.copyTo(outputStream);
+			throw e;
+		}
+
+		input.close();
+		return waitForSlave(future);
+	}
+
+	/**
+	 * Wait for the end of the slave part of the processing.
+	 * 
+	 * @param future
+	 *            the result of the slave part
+	 * @return the result
+	 * @throws IOException
+	 *             if the slave part failed
+	 * @throws InterruptedException
+	 *             if waiting is interrupted
+	 */
+	private static <T> T waitForSlave(Future<T> future) throws IOException,
+			InterruptedException {
+		try {
+			return future.get();
+		} catch (ExecutionException e) {
+			if (e.getCause() instanceof IOException) {
+				throw (IOException) e.getCause();
 			}
+
+			throw new IOException("Processing of report files failed",
+					e.getCause());
 		}
 	}
 
 	/**
-	 * Get the monitor service.
+	 * Get the monitor service. The publisher doesn't depend on the previous
+	 * builds, the data derived from them are resolved lazily, so concurrent
+	 * builds can publish at the same time.
 	 * 
 	 * @see hudson.tasks.BuildStep#getRequiredMonitorService()
+	 * @see TodosBuildAction#getDelta()
+	 * @see TodosPrecomputation#isPreviousBuilding(AbstractBuild)
 	 */
 	public BuildStepMonitor getRequiredMonitorService() {
-		return BuildStepMonitor.BUILD;
+		return BuildStepMonitor.NONE;
 	}
 
 	/**
@@ -221,4 +510,89 @@ public class TodosPublisher extends Recorder implements Serializable {
 	public String getPattern() {
 		return pattern;
 	}
+
+	/**
+	 * Get the real depth of the directory tree entered by the user in the job
+	 * configuration.
+	 * 
+	 * @return the depth from the user or default depth if no positive value
+	 *         is entered
+	 * @see TodosConstants#DEFAULT_DIRECTORY_DEPTH
+	 */
+	private int getRealDirectoryDepth() {
+		if (directoryDepth <= 0) {
+			return TodosConstants.DEFAULT_DIRECTORY_DEPTH;
+		} else {
+			return directoryDepth;
+		}
+	}
+
+	/**
+	 * Get the depth of the directory tree.
+	 * 
+	 * @return the depth, zero or negative value means the default
+	 */
+	public int getDirectoryDepth() {
+		return directoryDepth;
+	}
+
+	/**
+	 * Get the limits of the reports.
+	 * 
+	 * @return the limits
+	 */
+	private TodosLimits getLimits() {
+		return new TodosLimits(maxFiles, maxBytesPerFile, maxComments,
+				sampleOnLimit);
+	}
+
+	/**
+	 * Get the maximal number of report files.
+	 * 
+	 * @return the number, zero or negative for no limit
+	 */
+	public int getMaxFiles() {
+		return maxFiles;
+	}
+
+	/**
+	 * Get the maximal size of a report file.
+	 * 
+	 * @return the size in bytes, zero or negative for no limit
+	 */
+	public long getMaxBytesPerFile() {
+		return maxBytesPerFile;
+	}
+
+	/**
+	 * Get the maximal number of stored comments.
+	 * 
+	 * @return the number, zero or negative for no limit
+	 */
+	public int getMaxComments() {
+		return maxComments;
+	}
+
+	/**
+	 * Check whether a sample of the comments is stored instead of failing
+	 * when a limit is exceeded.
+	 * 
+	 * @return true to store a sample, false to fail
+	 */
+	public boolean isSampleOnLimit() {
+		return sampleOnLimit;
+	}
+
+	/**
+	 * Get the thresholds of the numbers of comments.
+	 * 
+	 * @return unmodifiable list with the thresholds
+	 */
+	public List<TodosThreshold> getThresholds() {
+		if (thresholds == null) {
+			return Collections.emptyList();
+		}
+
+		return Collections.unmodifiableList(thresholds);
+	}
 }
@@ -25,11 +25,11 @@
 package org.jenkinsci.plugins.todos;
 
 import java.io.Serializable;
-import java.util.HashSet;
-import java.util.Set;
 
 import org.jenkinsci.plugins.todos.model.TodosPatternStatistics;
 import org.jenkinsci.plugins.todos.model.TodosReportStatistics;
+import org.jenkinsci.plugins.todos.model.TodosStatisticsDelta;
+import org.jenkinsci.plugins.todos.model.TodosStatisticsDelta.PatternDelta;
 
 /**
  * Display the report summary and top-level details.
@@ -51,17 +51,31 @@ public class TodosReportSummary implements Serializable {
 	 */
 	public static String createReportSummary(TodosReportStatistics current,
 			TodosReportStatistics previous) {
+		return createReportSummary(current,
+				TodosStatisticsDelta.compute(current, previous));
+	}
+
+	/**
+	 * Generate the report summary.
+	 * 
+	 * @param current
+	 *            current report statistics
+	 * @param delta
+	 *            differences against the previous report statistics, may be
+	 *            null
+	 * @return a string with the summary
+	 */
+	public static String createReportSummary(TodosReportStatistics current,
+			TodosStatisticsDelta delta) {
 		StringBuilder builder = new StringBuilder();
 
 		if (current != null) {
 			String commentsDiff = "";
 			String filesDiff = "";
 
-			if (previous != null) {
-				commentsDiff = getDifference(current.getNumComments(),
-						previous.getNumComments());
-				filesDiff = getDifference(current.getNumFiles(),
-						previous.getNumFiles());
+			if (delta != null) {
+				commentsDiff = formatDifference(delta.getNumCommentsDelta());
+				filesDiff = formatDifference(delta.getNumFilesDelta());
 			}
 
 			builder.append(Messages.comments_in_files(current.getNumComments(),
@@ -86,42 +100,69 @@ public class TodosReportSummary implements Serializable {
 	 */
 	public static String createReportSummaryDetails(
 			TodosReportStatistics current, TodosReportStatistics previous) {
+		return createReportSummaryDetails(current,
+				TodosStatisticsDelta.compute(current, previous));
+	}
+
+	/**
+	 * Build summary details.
+	 * 
+	 * @param current
+	 *            current report statistics
+	 * @param delta
+	 *            differences against the previous report statistics, may be
+	 *            null
+	 * @return a string with the summary details
+	 */
+	public static String createReportSummaryDetails(
+			TodosReportStatistics current, TodosStatisticsDelta delta) {
 		StringBuilder builder = new StringBuilder();
 
-		if (current != null) {
-			for (String pattern : getAllPatterns(current, previous)) {
-				String commentsDiff = "";
-				String filesDiff = "";
-
-				TodosPatternStatistics currentPatternstatistics = current
-						.getPatternStatistics(pattern);
-
-				if (previous != null) {
-					TodosPatternStatistics previousPatternstatistics = previous
-							.getPatternStatistics(pattern);
-
-					commentsDiff = getDifference(
-							currentPatternstatistics.getNumOccurrences(),
-							previousPatternstatistics.getNumOccurrences());
-					filesDiff = getDifference(
-							currentPatternstatistics.getNumFiles(),
-							previousPatternstatistics.getNumFiles());
-				}
-
-				builder.append("<li><pre style=\"display: inline;\">");
-				builder.append(currentPatternstatistics.getPatternHtml());
-				builder.append("</pre>: ");
-				builder.append(Messages.comments_in_files(
-						currentPatternstatistics.getNumOccurrences(),
-						commentsDiff, currentPatternstatistics.getNumFiles(),
-						filesDiff));
-				builder.append(".</li>");
+		if (current == null) {
+			return builder.toString();
+		}
+
+		if (delta == null) {
+			for (TodosPatternStatistics statistics : current
+					.getPatternStatistics()) {
+				appendPatternDetails(builder, statistics, "", "");
+			}
+		} else {
+			for (PatternDelta patternDelta : delta.getPatternDeltas()) {
+				appendPatternDetails(builder,
+						current.getPatternStatistics(patternDelta.getPattern()),
+						formatDifference(patternDelta.getNumOccurrencesDelta()),
+						formatDifference(patternDelta.getNumFilesDelta()));
 			}
 		}
 
 		return builder.toString();
 	}
 
+	/**
+	 * Append summary details of one pattern.
+	 * 
+	 * @param builder
+	 *            the output
+	 * @param statistics
+	 *            current statistics of the pattern
+	 * @param commentsDiff
+	 *            formatted difference in number of comments
+	 * @param filesDiff
+	 *            formatted difference in number of files
+	 */
+	private static void appendPatternDetails(StringBuilder builder,
+			TodosPatternStatistics statistics, String commentsDiff,
+			String filesDiff) {
+		builder.append("<li><pre style=\"display: inline;\">");
+		builder.append(statistics.getPatternHtml());
+		builder.append("</pre>: ");
+		builder.append(Messages.comments_in_files(
+				statistics.getNumOccurrences(), commentsDiff,
+				statistics.getNumFiles(), filesDiff));
+		builder.append(".</li>");
+	}
+
 	/**
 	 * Get the formatted difference of two integers.
 	 * 
@@ -129,10 +170,22 @@ public class TodosReportSummary implements Serializable {
 	 *            current value
 	 * @param previous
 	 *            previous value
+	 * @return the difference in parentheses or empty string if there is no
+	 *         difference
 	 */
-	private static String getDifference(int current, int previous) {
-		int difference = current - previous;
+	static String getDifference(int current, int previous) {
+		return formatDifference(current - previous);
+	}
 
+	/**
+	 * Get the formatted difference.
+	 * 
+	 * @param difference
+	 *            the difference
+	 * @return the difference in parentheses or empty string if there is no
+	 *         difference
+	 */
+	private static String formatDifference(int difference) {
 		if (difference == 0) {
 			return "";
 		}
@@ -141,34 +194,4 @@ public class TodosReportSummary implements Serializable {
 		return ((difference > 0) ? " (+" : " (") + String.valueOf(difference)
 				+ ")";
 	}
-
-	/**
-	 * Get all patterns that are defined in both data sets.
-	 * 
-	 * @param current
-	 *            the current statistics
-	 * @param previous
-	 *            the previous statistics
-	 * @return the patterns
-	 */
-	private static Set<String> getAllPatterns(TodosReportStatistics current,
-			TodosReportStatistics previous) {
-		Set<String> patterns = new HashSet<String>();
-
-		if (current != null) {
-			for (TodosPatternStatistics statistics : current
-					.getPatternStatistics()) {
-				patterns.add(statistics.getPattern());
-			}
-		}
-
-		if (previous != null) {
-			for (TodosPatternStatistics statistics : previous
-					.getPatternStatistics()) {
-				patterns.add(statistics.getPattern());
-			}
-		}
-
-		return patterns;
-	}
 }
@@ -25,17 +25,39 @@
 package org.jenkinsci.plugins.todos;
 
 import hudson.model.AbstractBuild;
+import hudson.model.Api;
+import hudson.model.Hudson;
 
-import java.io.File;
+import java.io.IOException;
+import java.util.Collections;
+import java.util.List;
 
-import org.jenkinsci.plugins.todos.model.TodosParser;
+import javax.servlet.ServletException;
+import javax.servlet.http.HttpServletResponse;
+
+import org.jenkinsci.plugins.todos.model.TodosDirectoryStatistics;
+import org.jenkinsci.plugins.todos.model.TodosFlightRecorder;
 import org.jenkinsci.plugins.todos.model.TodosReport;
+import org.jenkinsci.plugins.todos.model.TodosReportExporter;
+import org.jenkinsci.plugins.todos.model.TodosReportStatistics;
+import org.jenkinsci.plugins.todos.model.TodosStatisticsDelta;
+import org.jenkinsci.plugins.todos.model.TodosTimings;
+import org.kohsuke.stapler.Stapler;
+import org.kohsuke.stapler.StaplerRequest;
+import org.kohsuke.stapler.StaplerResponse;
+import org.kohsuke.stapler.export.Exported;
+import org.kohsuke.stapler.export.ExportedBean;
 
 /**
- * Result object, that is responsible for processing web requests.
+ * Result object, that is responsible for processing web requests. Its remote
+ * API contains only the statistics, the comments are paginated in a separate
+ * API, so the stored reports are never loaded for the statistics.
  * 
  * @author Michal Turek
+ * 
+ * @see TodosCommentPage
  */
+@ExportedBean
 public class TodosResult {
 	/** The build of this report. */
 	private final AbstractBuild<?, ?> build;
@@ -60,56 +82,452 @@ public class TodosResult {
 	}
 
 	/**
-	 * Get diff between current and previous reports.
+	 * Display the results page. 304 Not Modified is answered without any
+	 * rendering if the client already has the page. The page shows a progress
+	 * until the diff is loaded, it is never tagged nor cached in that state.
 	 * 
-	 * @return the report containing the diff
+	 * @param request
+	 *            Stapler request
+	 * @param response
+	 *            Stapler response
+	 * @throws IOException
+	 *             in case of an error
+	 * @throws ServletException
+	 *             in case of an error
 	 */
-	public TodosReport getReportDiff() {
-		return getCurrentReport().diffReports(getPreviousReport());
+	public void doIndex(StaplerRequest request, StaplerResponse response)
+			throws IOException, ServletException {
+		// Only the complete page is tagged, the loaded diff stays cached
+		if (getAction() != null && isReportDiffReady()
+				&& TodosPrecomputation.loadReportDiff(build) != null) {
+			// The page contains the menu and the header of the user
+			String eTag = getETag("index", request.getLocale() + "/"
+					+ Hudson.getAuthentication().getName());
+
+			if (TodosHttpCache.checkNotModified(request, response, eTag,
+					getLastModified(), TodosHttpCache.REVALIDATE)) {
+				return;
+			}
+		}
+
+		request.getView(this, "index.jelly").forward(request, response);
+	}
+
+	/**
+	 * Compute the entity tag of a response of this result. The report of a
+	 * finished build never changes, only the previous build the differences
+	 * are computed against may be deleted.
+	 * 
+	 * @param kind
+	 *            the kind of the response
+	 * @param variant
+	 *            other values the response depends on
+	 * @return the entity tag
+	 */
+	private String getETag(String kind, Object variant) {
+		TodosBuildAction previous = getAction().getPreviousAction();
+		AbstractBuild<?, ?> previousBuild = (previous == null) ? null
+				: previous.getBuild();
+
+		return TodosHttpCache.getETag(build.getExternalizableId(),
+				Long.valueOf(build.getTimeInMillis()),
+				(previousBuild == null) ? null : Integer.valueOf(previousBuild
+						.getNumber()), kind, variant);
+	}
+
+	/**
+	 * Get the time the results were finished.
+	 * 
+	 * @return the end of the build in milliseconds, zero while it is building
+	 */
+	private long getLastModified() {
+		if (build.isBuilding()) {
+			return 0;
+		}
+
+		return build.getTimeInMillis() + build.getDuration();
+	}
+
+	/**
+	 * Get the remote API of the results.
+	 * 
+	 * @return the API
+	 */
+	public Api getApi() {
+		return new Api(this);
+	}
+
+	/**
+	 * Get the statistics of this build.
+	 * 
+	 * @return the statistics or null
+	 */
+	@Exported
+	public TodosReportStatistics getStatistics() {
+		TodosBuildAction action = getAction();
+		return (action == null) ? null : action.getStatistics();
+	}
+
+	/**
+	 * Get differences against the previous build.
+	 * 
+	 * @return the differences or null
+	 */
+	@Exported
+	public TodosStatisticsDelta getDelta() {
+		TodosBuildAction action = getAction();
+		return (action == null) ? null : action.getDelta();
+	}
+
+	/**
+	 * Get a page of the comments with their diff statuses. The page is
+	 * selected by request parameters start and count.
+	 * 
+	 * @return the page, it is not ready until the diff is computed
+	 */
+	public TodosCommentPage getComments() {
+		StaplerRequest request = Stapler.getCurrentRequest();
+		int start = getIntParameter(request, "start", 0);
+		int count = getIntParameter(request, "count",
+				TodosCommentPage.DEFAULT_COUNT);
+
+		if (build == null) {
+			return new TodosCommentPage(new TodosReport(), start, count);
+		}
+
+		TodosReport report = TodosPrecomputation.loadReportDiff(build);
+
+		if (report == null) {
+			TodosPrecomputation.schedule(build);
+		}
+
+		return new TodosCommentPage(report, start, count);
+	}
+
+	/**
+	 * Get an integer parameter of a request.
+	 * 
+	 * @param request
+	 *            the request, may be null
+	 * @param name
+	 *            name of the parameter
+	 * @param defaultValue
+	 *            the value if the parameter is missing or invalid
+	 * @return the value
+	 */
+	private static int getIntParameter(StaplerRequest request, String name,
+			int defaultValue) {
+		String value = (request == null) ? null : request.getParameter(name);
+
+		if (value == null) {
+			return defaultValue;
+		}
+
+		try {
+			return Integer.parseInt(value);
+		} catch (NumberFormatException e) {
+			return defaultValue;
+		}
 	}
 
 	/**
-	 * Get the current report.
+	 * Get diff between current and previous reports. The diff is computed in
+	 * background, an empty report is returned until it is available.
 	 * 
-	 * @return the report
+	 * @return the report containing the diff
+	 * @see #isReportDiffReady()
 	 */
-	private TodosReport getCurrentReport() {
+	public TodosReport getReportDiff() {
 		if (build == null) {
 			return new TodosReport();
 		}
 
-		File destDir = new File(build.getRootDir(), TodosConstants.BUILD_SUBDIR);
+		TodosFlightRecorder.Event event = TodosFlightRecorder.RESULTS_PAGE
+				.begin();
+		long start = System.nanoTime();
+		TodosReport report = TodosPrecomputation.loadReportDiff(build);
 
-		if (!destDir.exists()) {
+		if (report == null) {
+			TodosPrecomputation.schedule(build);
 			return new TodosReport();
 		}
 
-		return TodosParser.parseFiles(destDir.listFiles());
+		TodosMetrics.record(TodosTimings.REPORT_DIFF, System.nanoTime()
+				- start, 0, report.getCommentStore().size(), 0);
+
+		if (event != null) {
+			event.commit(build.getFullDisplayName(),
+					Integer.valueOf(report.getCommentStore().size()));
+		}
+
+		return report;
 	}
 
 	/**
-	 * Get the previous valid report.
+	 * Check whether the diff between current and previous reports is
+	 * available. Its computation is scheduled if it isn't, it waits for
+	 * running previous builds. The diff is loaded to be sure, a corrupted or
+	 * out of date file is computed again. The diff is never computed in the
+	 * calling thread, the page is refreshed until it is available.
 	 * 
-	 * @return the report, empty report or null
+	 * @return true if the diff is available, false if it is being computed
 	 */
-	private TodosReport getPreviousReport() {
+	public boolean isReportDiffReady() {
 		if (build == null) {
-			return new TodosReport();
+			return true;
+		}
+
+		if (TodosPrecomputation.isComputing(build)
+				|| TodosPrecomputation.isPreviousBuilding(build)) {
+			return false;
+		}
+
+		if (TodosPrecomputation.loadReportDiff(build) != null) {
+			return true;
+		}
+
+		TodosPrecomputation.schedule(build);
+		return false;
+	}
+
+	/**
+	 * Export the report as CSV.
+	 * 
+	 * @param request
+	 *            Stapler request, parameter diff=true includes the diff
+	 *            statuses of the comments
+	 * @param response
+	 *            Stapler response
+	 * @throws IOException
+	 *             in case of an error
+	 * @see #export(StaplerRequest, StaplerResponse, TodosReportExporter.Format)
+	 */
+	public void doCsv(StaplerRequest request, StaplerResponse response)
+			throws IOException {
+		export(request, response, TodosReportExporter.Format.CSV);
+	}
+
+	/**
+	 * Export the report as JSON.
+	 * 
+	 * @param request
+	 *            Stapler request, parameter diff=true includes the diff
+	 *            statuses of the comments
+	 * @param response
+	 *            Stapler response
+	 * @throws IOException
+	 *             in case of an error
+	 * @see #export(StaplerRequest, StaplerResponse, TodosReportExporter.Format)
+	 */
+	public void doJson(StaplerRequest request, StaplerResponse response)
+			throws IOException {
+		export(request, response, TodosReportExporter.Format.JSON);
+	}
+
+	/**
+	 * Export the report. The comments are encoded directly to the output
+	 * stream of the response. The diff is computed in background, the
+	 * response is 503 with Retry-After header until it is available. The
+	 * export of a finished build may be cached by the client.
+	 * 
+	 * @param request
+	 *            Stapler request
+	 * @param response
+	 *            Stapler response
+	 * @param format
+	 *            the format of the export
+	 * @throws IOException
+	 *             in case of an error
+	 */
+	private void export(StaplerRequest request, StaplerResponse response,
+			TodosReportExporter.Format format) throws IOException {
+		if (getAction() == null) {
+			response.sendError(HttpServletResponse.SC_NOT_FOUND);
+			return;
 		}
 
-		AbstractBuild<?, ?> previousBuild = build.getPreviousBuild();
+		boolean withStatus = Boolean.parseBoolean(request
+				.getParameter("diff"));
+
+		TodosReport report = null;
 
-		while (previousBuild != null) {
-			File destDir = new File(previousBuild.getRootDir(),
-					TodosConstants.BUILD_SUBDIR);
+		// Loaded before the tag is set, the diff of the tag must exist
+		if (withStatus) {
+			report = isReportDiffReady() ? TodosPrecomputation
+					.loadReportDiff(build) : null;
 
-			if (destDir.exists()) {
-				return TodosParser.parseFiles(destDir.listFiles());
+			if (report == null) {
+				sendRetryLater(response);
+				return;
 			}
+		}
+
+		String cacheControl = build.isBuilding() ? TodosHttpCache.REVALIDATE
+				: TodosHttpCache.IMMUTABLE;
+
+		if (TodosHttpCache.checkNotModified(request, response,
+				getETag(format.name(), Boolean.valueOf(withStatus)),
+				getLastModified(), cacheControl)) {
+			return;
+		}
+
+		if (report == null) {
+			report = TodosPrecomputation.loadReport(build);
+		}
+
+		long start = System.nanoTime();
+		response.setContentType(format.getContentType());
+		TodosReportExporter.write(report, format, withStatus,
+				response.getOutputStream());
+		TodosMetrics.record(TodosTimings.EXPORT, System.nanoTime() - start,
+				0, report.getCommentStore().size(), 0);
+	}
+
+	/**
+	 * Answer that the diff is not available yet.
+	 * 
+	 * @param response
+	 *            Stapler response
+	 * @throws IOException
+	 *             in case of an error
+	 */
+	private static void sendRetryLater(StaplerResponse response)
+			throws IOException {
+		response.setHeader("Cache-Control", TodosHttpCache.REVALIDATE);
+		response.setHeader("Retry-After", "5");
+		response.sendError(HttpServletResponse.SC_SERVICE_UNAVAILABLE);
+	}
+
+	/**
+	 * Get descriptions of the exceeded limits of the reports.
+	 * 
+	 * @return the descriptions, empty if all comments are stored
+	 */
+	@Exported
+	public List<String> getTruncations() {
+		TodosBuildAction action = getAction();
+
+		if (action == null) {
+			return Collections.emptyList();
+		}
+
+		return action.getTruncations();
+	}
+
+	/**
+	 * Check whether the diff compares samples of the comments, the current or
+	 * the previous build stores only a sample.
+	 * 
+	 * @return true if the diff contains only the comments of the sample
+	 */
+	public boolean isReportDiffSampled() {
+		if (build == null) {
+			return false;
+		}
+
+		return TodosPrecomputation.isSampled(build)
+				|| TodosPrecomputation.isSampled(TodosPrecomputation
+						.getPreviousReportBuild(build));
+	}
+
+	/**
+	 * Get a directory from the per-directory statistics of this build.
+	 * 
+	 * @param path
+	 *            the path of the directory, null or empty for the root
+	 * @return the directory statistics or null if not available
+	 */
+	public TodosDirectoryStatistics getDirectoryStatistics(String path) {
+		TodosDirectoryStatistics root = getDirectoryStatistics(getAction());
+
+		if (root == null) {
+			return null;
+		}
+
+		return root.find(path);
+	}
+
+	/**
+	 * Get the formatted difference in number of comments of a directory
+	 * between this and the previous build.
+	 * 
+	 * @param directory
+	 *            the directory in this build
+	 * @return the difference in parentheses or empty string
+	 */
+	public String getCommentsDifference(TodosDirectoryStatistics directory) {
+		TodosDirectoryStatistics previous = getPreviousDirectory(directory);
+
+		return TodosReportSummary.getDifference(directory.getNumComments(),
+				(previous == null) ? 0 : previous.getNumComments());
+	}
+
+	/**
+	 * Get the formatted difference in number of files of a directory between
+	 * this and the previous build.
+	 * 
+	 * @param directory
+	 *            the directory in this build
+	 * @return the difference in parentheses or empty string
+	 */
+	public String getFilesDifference(TodosDirectoryStatistics directory) {
+		TodosDirectoryStatistics previous = getPreviousDirectory(directory);
 
-			previousBuild = previousBuild.getPreviousBuild();
+		return TodosReportSummary.getDifference(directory.getNumFiles(),
+				(previous == null) ? 0 : previous.getNumFiles());
+	}
+
+	/**
+	 * Get the same directory in the previous build.
+	 * 
+	 * @param directory
+	 *            the directory in this build
+	 * @return the directory or null if not available
+	 */
+	private TodosDirectoryStatistics getPreviousDirectory(
+			TodosDirectoryStatistics directory) {
+		TodosBuildAction action = getAction();
+
+		if (action == null) {
+			return null;
+		}
+
+		TodosDirectoryStatistics root = getDirectoryStatistics(action
+				.getPreviousAction());
+
+		if (root == null) {
+			return null;
+		}
+
+		return root.find(directory.getPath());
+	}
+
+	/**
+	 * Get the per-directory statistics of an action.
+	 * 
+	 * @param action
+	 *            the action, may be null
+	 * @return the root of the directory tree or null
+	 */
+	private static TodosDirectoryStatistics getDirectoryStatistics(
+			TodosBuildAction action) {
+		if (action == null) {
+			return null;
+		}
+
+		return action.getDirectoryStatistics();
+	}
+
+	/**
+	 * Get the build action of this report.
+	 * 
+	 * @return the action or null
+	 */
+	private TodosBuildAction getAction() {
+		if (build == null) {
+			return null;
 		}
 
-		return null;
+		return build.getAction(TodosBuildAction.class);
 	}
 }
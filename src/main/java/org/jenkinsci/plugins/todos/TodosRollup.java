@@ -0,0 +1,652 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2026 TODOs Plugin contributors
+ * This file is part of TODOs Plugin (Jenkins CI).
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.jenkinsci.plugins.todos;
+
+import hudson.XmlFile;
+import hudson.model.AbstractBuild;
+import hudson.model.AbstractProject;
+import hudson.model.Hudson;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TimeZone;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import org.jenkinsci.plugins.todos.model.TodosReportMerger;
+import org.jenkinsci.plugins.todos.model.TodosReportStatistics;
+
+/**
+ * Rollup of the latest statistics of all jobs, it is used to summarize many
+ * jobs at once, for example all jobs of a view. Each job has an entry with
+ * the statistics of its last build with TODOs results, with the number of
+ * comments per day in a short window and with the numbers of comments of the
+ * last builds. The entries are updated when builds complete or are deleted
+ * and persisted in a single file, so the builds of the jobs don't have to be
+ * loaded. The class is thread safe.
+ * 
+ * @author TODOs Plugin contributors
+ * 
+ * @see TodosRunListener
+ * @see TodosItemListener
+ */
+public class TodosRollup {
+	/** The logger. */
+	private static final Logger LOGGER = Logger.getLogger(TodosRollup.class
+			.getName());
+
+	/** Name of the file in the root directory where the rollup is stored. */
+	private static final String FILE_NAME = "todos-plugin-rollup.xml";
+
+	/** Number of days in the trend. */
+	public static final int DAYS = 30;
+
+	/** Number of the last builds in the series of each job. */
+	public static final int BUILDS = 20;
+
+	/** Length of a day in milliseconds. */
+	private static final long DAY_MILLIS = 24L * 60 * 60 * 1000;
+
+	/** The loaded rollup. */
+	private static TodosRollup instance = null;
+
+	/**
+	 * The executor storing the rollup, changes are stored in bulk. The queue
+	 * contains at most one task thanks to {@link #SAVE_SCHEDULED}, it is
+	 * unbounded so a task is never rejected.
+	 */
+	private static final ThreadPoolExecutor SAVER = new ThreadPoolExecutor(1,
+			1, 60, TimeUnit.SECONDS, new LinkedBlockingQueue<Runnable>(),
+			new ThreadFactory() {
+				public Thread newThread(Runnable runnable) {
+					Thread thread = new Thread(runnable, "TODOs rollup storing");
+					thread.setDaemon(true);
+					return thread;
+				}
+			});
+
+	static {
+		SAVER.allowCoreThreadTimeOut(true);
+	}
+
+	/** Flag whether storing of the rollup is scheduled. */
+	private static final AtomicBoolean SAVE_SCHEDULED = new AtomicBoolean(
+			false);
+
+	/** Entries of the jobs by full name. */
+	private final Map<String, Entry> jobs = new HashMap<String, Entry>();
+
+	/** Version of the data, incremented on each change. */
+	private transient long version = 0;
+
+	/**
+	 * Get the rollup, load it from the disk if it isn't loaded yet.
+	 * 
+	 * @return the rollup, never null
+	 */
+	public static synchronized TodosRollup get() {
+		if (instance == null) {
+			instance = load();
+		}
+
+		return instance;
+	}
+
+	/**
+	 * Load the rollup from the disk.
+	 * 
+	 * @return the rollup, a new one if it isn't stored or it can't be read
+	 */
+	private static TodosRollup load() {
+		XmlFile file = getFile();
+
+		if (file.exists()) {
+			try {
+				return (TodosRollup) file.read();
+			} catch (IOException e) {
+				LOGGER.log(Level.WARNING, "Loading of TODOs rollup failed: "
+						+ file.getFile(), e);
+			} catch (ClassCastException e) {
+				LOGGER.log(Level.WARNING, "Loading of TODOs rollup failed: "
+						+ file.getFile(), e);
+			}
+		}
+
+		return new TodosRollup();
+	}
+
+	/**
+	 * Schedule storing of the rollup. The changes made until the storing
+	 * starts are stored together, so resolving of many jobs at once doesn't
+	 * write the file for each of them.
+	 */
+	private void save() {
+		if (!SAVE_SCHEDULED.compareAndSet(false, true)) {
+			return;
+		}
+
+		SAVER.execute(new Runnable() {
+			public void run() {
+				// Changes made from now on schedule the storing again
+				SAVE_SCHEDULED.set(false);
+				write();
+			}
+		});
+	}
+
+	/**
+	 * Store the rollup to the disk. A copy is made under the lock and
+	 * serialized outside of it, the readers and the run listener are not
+	 * blocked by the disk. Errors are logged and ignored, the rollup can be
+	 * always recomputed.
+	 */
+	private void write() {
+		TodosRollup copy = new TodosRollup();
+
+		synchronized (this) {
+			for (Map.Entry<String, Entry> job : jobs.entrySet()) {
+				copy.jobs.put(job.getKey(), job.getValue().copy());
+			}
+		}
+
+		XmlFile file = getFile();
+
+		try {
+			file.write(copy);
+		} catch (IOException e) {
+			LOGGER.log(Level.WARNING, "Storing of TODOs rollup failed: "
+					+ file.getFile(), e);
+		}
+	}
+
+	/**
+	 * Get the file in which the rollup is stored.
+	 * 
+	 * @return the file
+	 */
+	private static XmlFile getFile() {
+		return new XmlFile(new File(Hudson.getInstance().getRootDir(),
+				FILE_NAME));
+	}
+
+	/**
+	 * Get the version of the data. It changes whenever an entry changes, the
+	 * summaries computed from the same version are equal.
+	 * 
+	 * @return the version
+	 */
+	public synchronized long getVersion() {
+		return version;
+	}
+
+	/**
+	 * Summarize the latest statistics of jobs. Jobs whose entry is not known
+	 * yet are resolved once from their history.
+	 * 
+	 * @param projects
+	 *            the jobs
+	 * @return the summary
+	 */
+	public Summary summarize(Collection<AbstractProject<?, ?>> projects) {
+		int today = getDay(System.currentTimeMillis());
+		TodosReportMerger merger = new TodosReportMerger();
+		int[] trend = new int[DAYS];
+		int numJobs = 0;
+
+		for (AbstractProject<?, ?> project : projects) {
+			Entry entry = getEntry(project);
+
+			if (entry.statistics == null) {
+				continue;
+			}
+
+			merger.addStatistics(project.getFullName(), entry.statistics,
+					null);
+			entry.addTrend(trend, today);
+			++numJobs;
+		}
+
+		return new Summary(numJobs, merger.getStatistics(), trend);
+	}
+
+	/**
+	 * Get the numbers of comments of the last builds of a job. The job is
+	 * resolved once from its history if its entry is not known yet.
+	 * 
+	 * @param project
+	 *            the job
+	 * @return the numbers of comments, the last one belongs to the last
+	 *         build, empty if the job has no TODOs results
+	 */
+	public int[] getBuildTrend(AbstractProject<?, ?> project) {
+		return getEntry(project).getBuildTrend();
+	}
+
+	/**
+	 * Get a copy of the entry of a job, resolve it from the history if it
+	 * isn't known.
+	 * 
+	 * @param project
+	 *            the job
+	 * @return the copy
+	 */
+	private Entry getEntry(AbstractProject<?, ?> project) {
+		synchronized (this) {
+			Entry entry = jobs.get(project.getFullName());
+
+			if (entry != null) {
+				return entry.copy();
+			}
+		}
+
+		return resolveEntry(project);
+	}
+
+	/**
+	 * Resolve the entry of a job from its history and store it. The builds in
+	 * the window of the trend are loaded without the lock.
+	 * 
+	 * @param project
+	 *            the job
+	 * @return copy of the entry, its statistics are null if the job has no
+	 *         TODOs results
+	 */
+	private Entry resolveEntry(AbstractProject<?, ?> project) {
+		Entry entry = loadEntry(project);
+
+		synchronized (this) {
+			if (!jobs.containsKey(project.getFullName())) {
+				jobs.put(project.getFullName(), entry);
+				++version;
+			}
+
+			entry = jobs.get(project.getFullName()).copy();
+		}
+
+		save();
+		return entry;
+	}
+
+	/**
+	 * Create the entry of a job from its history. The builds in the window
+	 * of the trend and the last builds of the series are loaded.
+	 * 
+	 * @param project
+	 *            the job
+	 * @return the entry, its statistics are null if the job has no TODOs
+	 *         results
+	 */
+	private static Entry loadEntry(AbstractProject<?, ?> project) {
+		Entry entry = new Entry();
+
+		// Don't touch state of jobs that don't use the plugin
+		if (!TodosJobState.isUsed(project)) {
+			return entry;
+		}
+
+		AbstractBuild<?, ?> build = TodosJobState.get(project)
+				.getLastFinishedBuild(project);
+
+		if (build == null) {
+			return entry;
+		}
+
+		int firstDay = getDay(build.getTimeInMillis()) - DAYS + 1;
+		List<AbstractBuild<?, ?>> builds = new ArrayList<AbstractBuild<?, ?>>();
+
+		// From the last build back to the first one before the window
+		while (build != null) {
+			if (!build.isBuilding()
+					&& build.getAction(TodosBuildAction.class) != null) {
+				builds.add(build);
+
+				if (getDay(build.getTimeInMillis()) < firstDay
+						&& builds.size() >= BUILDS) {
+					break;
+				}
+			}
+
+			build = build.getPreviousBuild();
+		}
+
+		for (int i = builds.size() - 1; i >= 0; --i) {
+			entry.update(builds.get(i));
+		}
+
+		return entry;
+	}
+
+	/**
+	 * A build with TODOs results was completed.
+	 * 
+	 * @param project
+	 *            the job
+	 * @param build
+	 *            the build
+	 */
+	void onCompleted(AbstractProject<?, ?> project, AbstractBuild<?, ?> build) {
+		synchronized (this) {
+			Entry entry = jobs.get(project.getFullName());
+
+			if (entry == null) {
+				// Resolved from the history on the first use
+				return;
+			}
+
+			// Concurrent builds may complete in a different order
+			if (entry.buildNumber > build.getNumber()) {
+				return;
+			}
+
+			entry.update(build);
+			++version;
+		}
+
+		save();
+	}
+
+	/**
+	 * A build with TODOs results was deleted.
+	 * 
+	 * @param project
+	 *            the job
+	 * @param build
+	 *            the build
+	 */
+	void onDeleted(AbstractProject<?, ?> project, AbstractBuild<?, ?> build) {
+		synchronized (this) {
+			Entry entry = jobs.get(project.getFullName());
+
+			// Only the last build matters, the trend keeps the older values
+			if (entry == null || entry.buildNumber != build.getNumber()) {
+				return;
+			}
+
+			// Resolved again on the next use
+			jobs.remove(project.getFullName());
+			++version;
+		}
+
+		save();
+	}
+
+	/**
+	 * A job was renamed.
+	 * 
+	 * @param oldFullName
+	 *            the old full name of the job
+	 * @param newFullName
+	 *            the new full name of the job
+	 */
+	void onRenamed(String oldFullName, String newFullName) {
+		synchronized (this) {
+			Entry entry = jobs.remove(oldFullName);
+
+			if (entry == null) {
+				return;
+			}
+
+			jobs.put(newFullName, entry);
+			++version;
+		}
+
+		save();
+	}
+
+	/**
+	 * A job was deleted.
+	 * 
+	 * @param fullName
+	 *            the full name of the job
+	 */
+	void onDeleted(String fullName) {
+		synchronized (this) {
+			if (jobs.remove(fullName) == null) {
+				return;
+			}
+
+			++version;
+		}
+
+		save();
+	}
+
+	/**
+	 * Get the day of a time in the local time zone.
+	 * 
+	 * @param millis
+	 *            the time in milliseconds since the epoch
+	 * @return the number of days since the epoch
+	 */
+	static int getDay(long millis) {
+		return (int) ((millis + TimeZone.getDefault().getOffset(millis)) / DAY_MILLIS);
+	}
+
+	/**
+	 * Entry of a job.
+	 * 
+	 * @author TODOs Plugin contributors
+	 */
+	static class Entry {
+		/** Number of the last build, zero if there is no such build. */
+		private int buildNumber = 0;
+
+		/** Statistics of the last build, null if there is no such build. */
+		private TodosReportStatistics statistics = null;
+
+		/** The day of the last value in the daily values. */
+		private int lastDay = 0;
+
+		/** Number of comments per day, the last value belongs to lastDay. */
+		private int[] daily = new int[DAYS];
+
+		/**
+		 * Numbers of comments of the last builds, the last value belongs to
+		 * the last build, null in older rollups.
+		 */
+		private int[] builds = new int[0];
+
+		/**
+		 * Update the entry by a newer build.
+		 * 
+		 * @param build
+		 *            the build with TODOs results
+		 */
+		void update(AbstractBuild<?, ?> build) {
+			TodosBuildAction action = build.getAction(TodosBuildAction.class);
+
+			if (action == null || action.getStatistics() == null) {
+				return;
+			}
+
+			update(build.getNumber(), getDay(build.getTimeInMillis()),
+					action.getStatistics());
+		}
+
+		/**
+		 * Update the entry by statistics of a newer build.
+		 * 
+		 * @param number
+		 *            number of the build
+		 * @param day
+		 *            the day of the build
+		 * @param buildStatistics
+		 *            statistics of the build
+		 */
+		void update(int number, int day, TodosReportStatistics buildStatistics) {
+			int numComments = buildStatistics.getNumComments();
+
+			if (statistics == null) {
+				// The first value, valid for the whole window
+				Arrays.fill(daily, numComments);
+				lastDay = day;
+			} else if (day > lastDay) {
+				// The days without builds keep the last value
+				int shift = Math.min(day - lastDay, DAYS);
+				int last = daily[DAYS - 1];
+
+				System.arraycopy(daily, shift, daily, 0, DAYS - shift);
+				Arrays.fill(daily, DAYS - shift, DAYS, last);
+				lastDay = day;
+			}
+
+			// Builds with older timestamps than the previous one only
+			// update the current day
+			daily[DAYS - 1] = numComments;
+
+			int[] previous = getBuildTrend();
+			int length = Math.min(previous.length + 1, BUILDS);
+			builds = new int[length];
+			System.arraycopy(previous, previous.length - length + 1, builds,
+					0, length - 1);
+			builds[length - 1] = numComments;
+
+			buildNumber = number;
+			statistics = buildStatistics;
+		}
+
+		/**
+		 * Add the daily values of the window ending today to a trend.
+		 * 
+		 * @param trend
+		 *            the trend, its last value belongs to today
+		 * @param today
+		 *            the current day
+		 */
+		void addTrend(int[] trend, int today) {
+			for (int i = 0; i < DAYS; ++i) {
+				int day = today - DAYS + 1 + i;
+				int index = day - lastDay + DAYS - 1;
+
+				if (index >= DAYS) {
+					trend[i] += daily[DAYS - 1];
+				} else if (index >= 0) {
+					trend[i] += daily[index];
+				}
+			}
+		}
+
+		/**
+		 * Get the numbers of comments of the last builds.
+		 * 
+		 * @return the numbers, the last one belongs to the last build
+		 */
+		int[] getBuildTrend() {
+			if (builds == null) {
+				// Older rollup, only the last build is known
+				return (statistics == null) ? new int[0]
+						: new int[] { statistics.getNumComments() };
+			}
+
+			return builds;
+		}
+
+		/**
+		 * Create a copy that can be used without the lock.
+		 * 
+		 * @return the copy
+		 */
+		Entry copy() {
+			Entry copy = new Entry();
+			copy.buildNumber = buildNumber;
+			copy.statistics = statistics;
+			copy.lastDay = lastDay;
+			copy.daily = daily.clone();
+			copy.builds = getBuildTrend().clone();
+			return copy;
+		}
+	}
+
+	/**
+	 * Summary of the latest statistics of several jobs.
+	 * 
+	 * @author TODOs Plugin contributors
+	 */
+	public static class Summary {
+		/** Number of jobs with TODOs results. */
+		private final int numJobs;
+
+		/** Sum of the statistics of the jobs. */
+		private final TodosReportStatistics statistics;
+
+		/** Sum of the numbers of comments per day, the last one is today. */
+		private final int[] trend;
+
+		/**
+		 * Constructor.
+		 * 
+		 * @param numJobs
+		 *            number of jobs with TODOs results
+		 * @param statistics
+		 *            sum of the statistics of the jobs
+		 * @param trend
+		 *            sum of the numbers of comments per day
+		 */
+		public Summary(int numJobs, TodosReportStatistics statistics,
+				int[] trend) {
+			this.numJobs = numJobs;
+			this.statistics = statistics;
+			this.trend = trend.clone();
+		}
+
+		/**
+		 * Get number of jobs with TODOs results.
+		 * 
+		 * @return the number of jobs
+		 */
+		public int getNumJobs() {
+			return numJobs;
+		}
+
+		/**
+		 * Get sum of the statistics of the jobs.
+		 * 
+		 * @return the statistics
+		 */
+		public TodosReportStatistics getStatistics() {
+			return statistics;
+		}
+
+		/**
+		 * Get sum of the numbers of comments per day.
+		 * 
+		 * @return copy of the values, the last one is today
+		 */
+		public int[] getTrend() {
+			return trend.clone();
+		}
+	}
+}
@@ -0,0 +1,103 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2026 TODOs Plugin contributors
+ * This file is part of TODOs Plugin (Jenkins CI).
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.jenkinsci.plugins.todos;
+
+import hudson.Extension;
+import hudson.model.TaskListener;
+import hudson.model.AbstractBuild;
+import hudson.model.listeners.RunListener;
+
+/**
+ * Listener that keeps the data of jobs up to date.
+ * 
+ * @author TODOs Plugin contributors
+ * 
+ * @see TodosJobState
+ * @see TodosRollup
+ */
+@SuppressWarnings("rawtypes")
+@Extension
+public class TodosRunListener extends RunListener<AbstractBuild> {
+	/**
+	 * Constructor.
+	 */
+	public TodosRunListener() {
+		super(AbstractBuild.class);
+	}
+
+	@Override
+	public void onCompleted(AbstractBuild build, TaskListener listener) {
+		// Don't touch state of jobs that don't use the plugin
+		TodosBuildAction action = build.getAction(TodosBuildAction.class);
+
+		if (action != null) {
+			// Resolve the data that waited for previous builds
+			action.getDelta();
+			TodosPrecomputation.schedule(build);
+
+			TodosJobState.get(build.getProject()).onCompleted(
+					build.getProject(), build);
+			TodosRollup.get().onCompleted(build.getProject(), build);
+		}
+	}
+
+	@Override
+	public void onDeleted(AbstractBuild build) {
+		TodosBuildAction action = build.getAction(TodosBuildAction.class);
+
+		if (action != null) {
+			// The build is unlinked from the history after the listeners
+			action.markDeleted();
+
+			resetNextDelta(build);
+
+			TodosJobState.get(build.getProject()).onDeleted(
+					build.getProject(), build);
+			TodosRollup.get().onDeleted(build.getProject(), build);
+		}
+	}
+
+	/**
+	 * Forget the differences of the next build with TODOs results, they were
+	 * resolved against the deleted build.
+	 * 
+	 * @param build
+	 *            the deleted build
+	 */
+	private static void resetNextDelta(AbstractBuild<?, ?> build) {
+		AbstractBuild<?, ?> next = build.getNextBuild();
+
+		while (next != null) {
+			TodosBuildAction action = next.getAction(TodosBuildAction.class);
+
+			if (action != null) {
+				action.resetDelta();
+				return;
+			}
+
+			next = next.getNextBuild();
+		}
+	}
+}
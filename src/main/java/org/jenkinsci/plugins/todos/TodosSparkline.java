@@ -0,0 +1,124 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2026 TODOs Plugin contributors
+ * This file is part of TODOs Plugin (Jenkins CI).
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.jenkinsci.plugins.todos;
+
+/**
+ * Renderer of small inline SVG line charts. The values are scaled between
+ * their minimum and maximum, the last value is highlighted. Rendering is a
+ * single pass over the values without any chart library, so it is cheap
+ * enough to be done for each job of a page.
+ * 
+ * @author TODOs Plugin contributors
+ */
+public class TodosSparkline {
+	/** Color of the line. */
+	private static final String LINE_COLOR = "#3465A4";
+
+	/** Color of the last value. */
+	private static final String POINT_COLOR = "#CC0000";
+
+	/** Space around the line in pixels, the last point fits in it. */
+	private static final int PADDING = 2;
+
+	/**
+	 * Private constructor, static methods only.
+	 */
+	private TodosSparkline() {
+	}
+
+	/**
+	 * Render values as an inline SVG image.
+	 * 
+	 * @param values
+	 *            the values, the last one is highlighted
+	 * @param width
+	 *            width of the image in pixels
+	 * @param height
+	 *            height of the image in pixels
+	 * @return the SVG element, empty string if there are no values
+	 */
+	public static String toSvg(int[] values, int width, int height) {
+		if (values.length == 0) {
+			return "";
+		}
+
+		int min = values[0];
+		int max = values[0];
+
+		for (int value : values) {
+			min = Math.min(min, value);
+			max = Math.max(max, value);
+		}
+
+		double innerWidth = width - 2 * PADDING;
+		double innerHeight = height - 2 * PADDING;
+		double stepX = (values.length > 1) ? innerWidth / (values.length - 1)
+				: 0;
+		double scaleY = (max > min) ? innerHeight / (max - min) : 0;
+
+		StringBuilder builder = new StringBuilder(64 + values.length * 12);
+		builder.append("<svg xmlns=\"http://www.w3.org/2000/svg\" width=\"")
+				.append(width).append("\" height=\"").append(height)
+				.append("\"><polyline fill=\"none\" stroke=\"")
+				.append(LINE_COLOR).append("\" points=\"");
+
+		double x = 0;
+		double y = 0;
+
+		for (int i = 0; i < values.length; ++i) {
+			x = PADDING + i * stepX;
+			y = (max > min) ? PADDING + (max - values[i]) * scaleY
+					: height / 2.0;
+
+			if (i > 0) {
+				builder.append(' ');
+			}
+
+			appendCoordinate(builder, x).append(',');
+			appendCoordinate(builder, y);
+		}
+
+		builder.append("\"/><circle r=\"").append(PADDING)
+				.append("\" fill=\"").append(POINT_COLOR).append("\" cx=\"");
+		appendCoordinate(builder, x).append("\" cy=\"");
+		appendCoordinate(builder, y).append("\"/></svg>");
+		return builder.toString();
+	}
+
+	/**
+	 * Append a coordinate rounded to one decimal place.
+	 * 
+	 * @param builder
+	 *            the output
+	 * @param value
+	 *            the coordinate
+	 * @return the output
+	 */
+	private static StringBuilder appendCoordinate(StringBuilder builder,
+			double value) {
+		long tenths = Math.round(value * 10);
+		return builder.append(tenths / 10).append('.').append(tenths % 10);
+	}
+}
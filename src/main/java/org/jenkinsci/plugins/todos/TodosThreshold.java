@@ -0,0 +1,228 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2026 TODOs Plugin contributors
+ * This file is part of TODOs Plugin (Jenkins CI).
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.jenkinsci.plugins.todos;
+
+import java.io.Serializable;
+
+import org.jenkinsci.plugins.todos.model.TodosQualityGate;
+import org.jenkinsci.plugins.todos.model.TodosReportStatistics;
+import org.kohsuke.stapler.DataBoundConstructor;
+
+/**
+ * Threshold of the number of comments of a pattern that marks the build
+ * unstable or failed when it is exceeded.
+ * 
+ * @author TODOs Plugin contributors
+ */
+public class TodosThreshold implements Serializable {
+	/** Serial version UID. */
+	private static final long serialVersionUID = 0;
+
+	/** The pattern, empty for all comments. */
+	private final String pattern;
+
+	/** Maximal number of comments, null if not set. */
+	private final Integer maxComments;
+
+	/**
+	 * Maximal net increase against the previous build, null if not set. The
+	 * solved comments offset the new ones.
+	 */
+	private final Integer maxNetIncrease;
+
+	/** Replaced by {@link #maxNetIncrease}, read from old configurations. */
+	@Deprecated
+	private transient Integer maxNewComments;
+
+	/** Maximal increase in percents of the previous build, null if not set. */
+	private final Integer maxGrowthPercent;
+
+	/** Fail the build instead of marking it unstable. */
+	private final boolean failBuild;
+
+	/**
+	 * Constructor.
+	 * 
+	 * @param pattern
+	 *            the pattern, empty for all comments
+	 * @param maxComments
+	 *            maximal number of comments, null if not set
+	 * @param maxNetIncrease
+	 *            maximal net increase of the number of comments against the
+	 *            previous build, null if not set
+	 * @param maxGrowthPercent
+	 *            maximal increase of the number of comments in percents of
+	 *            the previous build, null if not set
+	 * @param failBuild
+	 *            fail the build instead of marking it unstable
+	 */
+	@DataBoundConstructor
+	public TodosThreshold(String pattern, Integer maxComments,
+			Integer maxNetIncrease, Integer maxGrowthPercent, boolean failBuild) {
+		this.pattern = pattern;
+		this.maxComments = maxComments;
+		this.maxNetIncrease = maxNetIncrease;
+		this.maxGrowthPercent = maxGrowthPercent;
+		this.failBuild = failBuild;
+	}
+
+	/**
+	 * Convert the option of an old configuration.
+	 * 
+	 * @return this object or its converted copy
+	 */
+	@SuppressWarnings("deprecation")
+	private Object readResolve() {
+		if (maxNetIncrease == null && maxNewComments != null) {
+			return new TodosThreshold(pattern, maxComments, maxNewComments,
+					maxGrowthPercent, failBuild);
+		}
+
+		return this;
+	}
+
+	/**
+	 * Add the limits defined by this threshold to a quality gate. The
+	 * relative limits are skipped if there is no previous build. They are
+	 * evaluated against the total numbers of comments, so the limits are
+	 * saturated instead of overflowing.
+	 * 
+	 * @param qualityGate
+	 *            the quality gate
+	 * @param previous
+	 *            statistics of the previous build, may be null
+	 */
+	void addLimits(TodosQualityGate qualityGate, TodosReportStatistics previous) {
+		String realPattern = getRealPattern();
+
+		if (maxComments != null) {
+			qualityGate.addLimit(realPattern, maxComments.intValue(),
+					failBuild, "Maximal number of comments");
+		}
+
+		if (previous == null) {
+			return;
+		}
+
+		int previousCount = getCount(previous, realPattern);
+
+		if (maxNetIncrease != null) {
+			long limit = (long) previousCount + maxNetIncrease.intValue();
+
+			qualityGate.addLimit(realPattern,
+					(int) Math.min(limit, Integer.MAX_VALUE), failBuild,
+					String.format("Maximal net increase by %d comments",
+							maxNetIncrease));
+		}
+
+		if (maxGrowthPercent != null) {
+			long limit = previousCount + (long) previousCount
+					* maxGrowthPercent.intValue() / 100;
+
+			qualityGate.addLimit(realPattern,
+					(int) Math.min(limit, Integer.MAX_VALUE), failBuild,
+					String.format("Maximal increase by %d%%",
+							maxGrowthPercent));
+		}
+	}
+
+	/**
+	 * Get number of comments of a pattern in statistics.
+	 * 
+	 * @param statistics
+	 *            the statistics
+	 * @param pattern
+	 *            the pattern, null for all comments
+	 * @return the number
+	 */
+	private static int getCount(TodosReportStatistics statistics,
+			String pattern) {
+		if (pattern == null) {
+			return statistics.getNumComments();
+		}
+
+		return statistics.getPatternStatistics(pattern).getNumOccurrences();
+	}
+
+	/**
+	 * Get the pattern used in the evaluation.
+	 * 
+	 * @return the pattern or null for all comments
+	 */
+	private String getRealPattern() {
+		if (pattern == null || pattern.trim().isEmpty()) {
+			return null;
+		} else {
+			return pattern.trim();
+		}
+	}
+
+	/**
+	 * Get the pattern.
+	 * 
+	 * @return the pattern, empty for all comments
+	 */
+	public String getPattern() {
+		return pattern;
+	}
+
+	/**
+	 * Get the maximal number of comments.
+	 * 
+	 * @return the number or null if not set
+	 */
+	public Integer getMaxComments() {
+		return maxComments;
+	}
+
+	/**
+	 * Get the maximal net increase of the number of comments against the
+	 * previous build.
+	 * 
+	 * @return the number or null if not set
+	 */
+	public Integer getMaxNetIncrease() {
+		return maxNetIncrease;
+	}
+
+	/**
+	 * Get the maximal increase of the number of comments in percents of the
+	 * previous build.
+	 * 
+	 * @return the percents or null if not set
+	 */
+	public Integer getMaxGrowthPercent() {
+		return maxGrowthPercent;
+	}
+
+	/**
+	 * Check whether the build fails instead of being marked unstable.
+	 * 
+	 * @return true to fail the build, false to mark it unstable
+	 */
+	public boolean isFailBuild() {
+		return failBuild;
+	}
+}
@@ -0,0 +1,134 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2026 TODOs Plugin contributors
+ * This file is part of TODOs Plugin (Jenkins CI).
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.jenkinsci.plugins.todos;
+
+import hudson.Extension;
+import hudson.model.AbstractProject;
+import hudson.model.Job;
+import hudson.views.ListViewColumn;
+import hudson.views.ListViewColumnDescriptor;
+
+import org.kohsuke.stapler.DataBoundConstructor;
+
+/**
+ * List view column showing the trend of the number of comments in the last
+ * builds of a job and the current number. The trend is read from the rollup
+ * and rendered as an inline SVG image, the builds are not loaded.
+ * 
+ * @author TODOs Plugin contributors
+ * 
+ * @see TodosRollup#getBuildTrend(AbstractProject)
+ */
+public class TodosTrendColumn extends ListViewColumn {
+	/** Width of the trend image. */
+	private static final int WIDTH = 60;
+
+	/** Height of the trend image. */
+	private static final int HEIGHT = 16;
+
+	/**
+	 * Constructor.
+	 */
+	@DataBoundConstructor
+	public TodosTrendColumn() {
+		super();
+	}
+
+	/**
+	 * Get the numbers of comments of the last builds of a job.
+	 * 
+	 * @param job
+	 *            the job
+	 * @return the numbers, empty if the job has no TODOs results
+	 */
+	private static int[] getBuildTrend(Job<?, ?> job) {
+		if (!(job instanceof AbstractProject)) {
+			return new int[0];
+		}
+
+		return TodosRollup.get().getBuildTrend((AbstractProject<?, ?>) job);
+	}
+
+	/**
+	 * Get the trend of a job.
+	 * 
+	 * @param job
+	 *            the job
+	 * @return the inline SVG image, empty string if the job has no TODOs
+	 *         results
+	 */
+	public String getTrendSvg(Job<?, ?> job) {
+		return TodosSparkline.toSvg(getBuildTrend(job), WIDTH, HEIGHT);
+	}
+
+	/**
+	 * Get the number of comments in the last build of a job.
+	 * 
+	 * @param job
+	 *            the job
+	 * @return the number or null if the job has no TODOs results
+	 */
+	public Integer getNumComments(Job<?, ?> job) {
+		int[] trend = getBuildTrend(job);
+
+		if (trend.length == 0) {
+			return null;
+		}
+
+		return Integer.valueOf(trend[trend.length - 1]);
+	}
+
+	/**
+	 * Get the URL of the results relative to a job.
+	 * 
+	 * @return the URL
+	 */
+	public String getResultsUrl() {
+		return TodosConstants.RESULTS_URL;
+	}
+
+	/**
+	 * Descriptor of the column.
+	 * 
+	 * @author TODOs Plugin contributors
+	 */
+	@Extension
+	public static class DescriptorImpl extends ListViewColumnDescriptor {
+		@Override
+		public String getDisplayName() {
+			return Messages.Todos_TrendColumn_Name();
+		}
+
+		/**
+		 * The column is not added to the new views.
+		 * 
+		 * @see hudson.views.ListViewColumnDescriptor#shownByDefault()
+		 */
+		@Override
+		public boolean shownByDefault() {
+			return false;
+		}
+	}
+}
@@ -0,0 +1,163 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2026 TODOs Plugin contributors
+ * This file is part of TODOs Plugin (Jenkins CI).
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.jenkinsci.plugins.todos;
+
+import hudson.model.Action;
+import hudson.model.AbstractProject;
+import hudson.model.TopLevelItem;
+import hudson.model.View;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * View action showing the summary of the latest TODOs results of all jobs of
+ * the view. The summary is computed from the rollup that is updated when
+ * builds complete, it is cached until the rollup changes.
+ * 
+ * @author TODOs Plugin contributors
+ * 
+ * @see TodosRollup
+ */
+public class TodosViewAction implements Action {
+	/**
+	 * Maximal age of the cached summary in milliseconds. Only the jobs of the
+	 * view may change without a change of the rollup.
+	 */
+	private static final long MAX_CACHE_AGE = 60 * 1000;
+
+	/** Width of the trend image. */
+	private static final int TREND_WIDTH = TodosConstants.CHART_WIDTH;
+
+	/** Height of the trend image. */
+	private static final int TREND_HEIGHT = 60;
+
+	/** The associated view. */
+	private final View view;
+
+	/** The cached summary, null if not computed yet. */
+	private TodosRollup.Summary summary = null;
+
+	/** Version of the rollup used for the cached summary. */
+	private long summaryVersion = 0;
+
+	/** Time when the cached summary was computed. */
+	private long summaryTime = 0;
+
+	/**
+	 * Constructor.
+	 * 
+	 * @param view
+	 *            the associated view
+	 */
+	public TodosViewAction(View view) {
+		this.view = view;
+	}
+
+	/**
+	 * Get the icon.
+	 * 
+	 * @see hudson.model.Action#getIconFileName()
+	 */
+	public String getIconFileName() {
+		return TodosConstants.ICON_24PX;
+	}
+
+	/**
+	 * Get the display name.
+	 * 
+	 * @see hudson.model.Action#getDisplayName()
+	 */
+	public String getDisplayName() {
+		return TodosConstants.PLUGIN_NAME;
+	}
+
+	/**
+	 * Get the URL of the summary.
+	 * 
+	 * @see hudson.model.Action#getUrlName()
+	 */
+	public String getUrlName() {
+		return TodosConstants.ROLLUP_URL;
+	}
+
+	/**
+	 * Get the associated view.
+	 * 
+	 * @return the view
+	 */
+	public View getView() {
+		return view;
+	}
+
+	/**
+	 * Get the summary of the latest results of the jobs of the view.
+	 * 
+	 * @return the summary
+	 */
+	public synchronized TodosRollup.Summary getSummary() {
+		TodosRollup rollup = TodosRollup.get();
+		long version = rollup.getVersion();
+		long now = System.currentTimeMillis();
+
+		if (summary != null && summaryVersion == version
+				&& now - summaryTime < MAX_CACHE_AGE) {
+			return summary;
+		}
+
+		List<AbstractProject<?, ?>> projects = new ArrayList<AbstractProject<?, ?>>();
+
+		for (TopLevelItem item : view.getItems()) {
+			if (item instanceof AbstractProject) {
+				projects.add((AbstractProject<?, ?>) item);
+			}
+		}
+
+		summary = rollup.summarize(projects);
+		// Resolving of unknown jobs changes the version
+		summaryVersion = rollup.getVersion();
+		summaryTime = now;
+		return summary;
+	}
+
+	/**
+	 * Get the trend of the number of comments in the last days.
+	 * 
+	 * @return the inline SVG image
+	 */
+	public String getTrendSvg() {
+		return TodosSparkline.toSvg(getSummary().getTrend(), TREND_WIDTH,
+				TREND_HEIGHT);
+	}
+
+	/**
+	 * Get the number of days in the trend.
+	 * 
+	 * @return the number of days
+	 */
+	public int getTrendDays() {
+		return TodosRollup.DAYS;
+	}
+}
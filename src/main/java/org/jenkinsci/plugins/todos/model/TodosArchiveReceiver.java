@@ -0,0 +1,397 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2026 TODOs Plugin contributors
+ * This file is part of TODOs Plugin (Jenkins CI).
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.jenkinsci.plugins.todos.model;
+
+import java.io.BufferedInputStream;
+import java.io.DataInputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.security.MessageDigest;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Consumer of the records streamed by {@link TodosFileArchiver}. The files are
+ * stored to a directory, each one is written to a temporary file first and it
+ * replaces the destination file only if its checksum matches. An existing
+ * destination file with a different content, e.g. a stale copy from an
+ * earlier run, is replaced and reported. The class is not thread safe.
+ * 
+ * @author TODOs Plugin contributors
+ */
+public class TodosArchiveReceiver implements TodosStreamConsumer {
+	/** Suffix of the temporary files. */
+	private static final String TMP_SUFFIX = ".tmp";
+
+	/** Maximal length of a checksum. */
+	private static final int MAX_CHECKSUM_LENGTH = 64;
+
+	/** The destination directory. */
+	private final File destDir;
+
+	/** Buffer for the data records. */
+	private final byte[] buffer = new byte[TodosFileArchiver.CHUNK_SIZE];
+
+	/** Names of the stored files. */
+	private final List<String> copiedFiles = new ArrayList<String>();
+
+	/** Names of the stored files that replaced a different content. */
+	private final List<String> staleFiles = new ArrayList<String>();
+
+	/** Absolute path of the file being received on the slave. */
+	private String sourcePath = null;
+
+	/** The destination of the file being received. */
+	private File destFile = null;
+
+	/** The temporary file with the file being received. */
+	private File tmpFile = null;
+
+	/** The output to the temporary file. */
+	private OutputStream tmpOutput = null;
+
+	/** Elapsed time of writing of the current file in nanoseconds. */
+	private long copyNanos = 0;
+
+	/** Number of received bytes of the current file. */
+	private long copyBytes = 0;
+
+	/** Timings of writing of the files. */
+	private final TodosTimings timings = new TodosTimings();
+
+	/** Digest of the content of the file being received. */
+	private MessageDigest digest = null;
+
+	/**
+	 * Constructor initializing members.
+	 * 
+	 * @param destDir
+	 *            the destination directory, it is created if it doesn't exist
+	 */
+	public TodosArchiveReceiver(File destDir) {
+		this.destDir = destDir;
+	}
+
+	/**
+	 * Get name of the copy of a file. A hash code of the absolute path is used
+	 * in its prefix to distinguish files with the same names from different
+	 * directories.
+	 * 
+	 * @param name
+	 *            the file name
+	 * @param absolutePath
+	 *            the absolute path to the file
+	 * @return the name of the copy
+	 */
+	public static String getCopyName(String name, String absolutePath) {
+		return Integer.toHexString(absolutePath.hashCode()) + "_" + name;
+	}
+
+	/**
+	 * Consume all records from a stream.
+	 * 
+	 * @see TodosStreamConsumer#receive(InputStream)
+	 */
+	public void receive(InputStream stream) throws IOException {
+		DataInputStream input = new DataInputStream(new BufferedInputStream(
+				stream, TodosFileArchiver.CHUNK_SIZE));
+
+		try {
+			while (true) {
+				int type = input.read();
+
+				if (type == TodosFileArchiver.RECORD_END) {
+					return;
+				} else if (type == -1) {
+					throw new IOException("Unexpected end of the file archive");
+				} else if (!receiveRecord(type, input)) {
+					throw new IOException("Invalid record in the file archive: "
+							+ type);
+				}
+			}
+		} finally {
+			abort();
+		}
+	}
+
+	/**
+	 * Consume a record related to a file.
+	 * 
+	 * @param type
+	 *            type of the record
+	 * @param input
+	 *            the input positioned after the type
+	 * @return true if the record was consumed, false if its type is unknown
+	 * @throws IOException
+	 *             if reading or writing fails or the checksum doesn't match
+	 */
+	boolean receiveRecord(int type, DataInputStream input) throws IOException {
+		switch (type) {
+		case TodosFileArchiver.RECORD_FILE_START:
+			String name = TodosReportCodec.readString(input);
+			String absolutePath = TodosReportCodec.readString(input);
+			startFile(name, absolutePath);
+			return true;
+
+		case TodosFileArchiver.RECORD_FILE_DATA:
+			int length = TodosReportCodec.readVarInt(input);
+
+			if (length < 0 || length > buffer.length) {
+				throw new IOException("Invalid length of file data: " + length);
+			}
+
+			input.readFully(buffer, 0, length);
+			writeData(buffer, length);
+			return true;
+
+		case TodosFileArchiver.RECORD_FILE_END:
+			int checksumLength = TodosReportCodec.readVarInt(input);
+
+			if (checksumLength < 0 || checksumLength > MAX_CHECKSUM_LENGTH) {
+				throw new IOException("Invalid length of checksum: "
+						+ checksumLength);
+			}
+
+			byte[] checksum = new byte[checksumLength];
+			input.readFully(checksum);
+			finishFile(checksum);
+			return true;
+
+		default:
+			return false;
+		}
+	}
+
+	/**
+	 * Start receiving of a file.
+	 * 
+	 * @param name
+	 *            the file name
+	 * @param absolutePath
+	 *            the absolute path to the file on the slave
+	 * @throws IOException
+	 *             if the temporary file can't be created
+	 */
+	private void startFile(String name, String absolutePath)
+			throws IOException {
+		if (tmpOutput != null) {
+			throw new IOException("Previous file was not finished: "
+					+ sourcePath);
+		}
+
+		if (!destDir.exists() && !destDir.mkdirs()) {
+			throw new IOException(
+					"Creating directory for copy of workspace files failed: "
+							+ destDir.getAbsolutePath());
+		}
+
+		sourcePath = absolutePath;
+		destFile = new File(destDir, getCopyName(name, absolutePath));
+		tmpFile = new File(destDir, destFile.getName() + TMP_SUFFIX);
+		tmpOutput = new FileOutputStream(tmpFile);
+		digest = TodosFileArchiver.createDigest();
+		copyNanos = 0;
+		copyBytes = 0;
+	}
+
+	/**
+	 * Receive a part of the content of the current file.
+	 * 
+	 * @param data
+	 *            the data
+	 * @param length
+	 *            length of the data
+	 * @throws IOException
+	 *             if writing fails
+	 */
+	private void writeData(byte[] data, int length) throws IOException {
+		if (tmpOutput == null) {
+			throw new IOException("File data outside of a file");
+		}
+
+		long start = System.nanoTime();
+		tmpOutput.write(data, 0, length);
+		digest.update(data, 0, length);
+		copyNanos += System.nanoTime() - start;
+		copyBytes += length;
+	}
+
+	/**
+	 * Finish receiving of the current file.
+	 * 
+	 * @param checksum
+	 *            the checksum of the content computed on the slave
+	 * @throws IOException
+	 *             if writing fails or the checksum doesn't match
+	 */
+	private void finishFile(byte[] checksum) throws IOException {
+		if (tmpOutput == null) {
+			throw new IOException("End of a file that was not started");
+		}
+
+		long start = System.nanoTime();
+
+		try {
+			storeFile(checksum);
+		} finally {
+			timings.add(TodosTimings.COPY, copyNanos + System.nanoTime()
+					- start, 1, 0, copyBytes);
+		}
+	}
+
+	/**
+	 * Verify the current file and move it to its final location.
+	 * 
+	 * @param checksum
+	 *            the checksum of the content computed on the slave
+	 * @throws IOException
+	 *             if writing fails or the checksum doesn't match
+	 */
+	private void storeFile(byte[] checksum) throws IOException {
+		tmpOutput.close();
+		tmpOutput = null;
+
+		byte[] received = digest.digest();
+
+		if (!MessageDigest.isEqual(received, checksum)) {
+			throw new IOException("Checksum of the copy doesn't match: "
+					+ sourcePath);
+		}
+
+		if (destFile.exists()) {
+			if (MessageDigest.isEqual(received, computeChecksum(destFile))) {
+				// Identical copy is already present
+				deleteFile(tmpFile);
+				copiedFiles.add(destFile.getName());
+				tmpFile = null;
+				return;
+			}
+
+			staleFiles.add(destFile.getName());
+			deleteFile(destFile);
+		}
+
+		if (!tmpFile.renameTo(destFile)) {
+			throw new IOException("Renaming of the copy failed: "
+					+ tmpFile.getAbsolutePath());
+		}
+
+		copiedFiles.add(destFile.getName());
+		tmpFile = null;
+	}
+
+	/**
+	 * Remove the partially received file, if any.
+	 */
+	void abort() {
+		if (tmpOutput != null) {
+			try {
+				tmpOutput.close();
+			} catch (IOException e) {
+				// Ignore, the file is deleted anyway
+			}
+
+			tmpOutput = null;
+		}
+
+		if (tmpFile != null) {
+			tmpFile.delete();
+			tmpFile = null;
+		}
+	}
+
+	/**
+	 * Compute checksum of a file.
+	 * 
+	 * @param file
+	 *            the file
+	 * @return the checksum
+	 * @throws IOException
+	 *             if reading fails
+	 */
+	private byte[] computeChecksum(File file) throws IOException {
+		MessageDigest fileDigest = TodosFileArchiver.createDigest();
+		InputStream input = new FileInputStream(file);
+
+		try {
+			int length;
+
+			while ((length = input.read(buffer)) >= 0) {
+				fileDigest.update(buffer, 0, length);
+			}
+		} finally {
+			input.close();
+		}
+
+		return fileDigest.digest();
+	}
+
+	/**
+	 * Delete a file.
+	 * 
+	 * @param file
+	 *            the file
+	 * @throws IOException
+	 *             if deleting fails
+	 */
+	private static void deleteFile(File file) throws IOException {
+		if (!file.delete()) {
+			throw new IOException("Deleting of a file failed: "
+					+ file.getAbsolutePath());
+		}
+	}
+
+	/**
+	 * Get names of the stored files.
+	 * 
+	 * @return unmodifiable list with the names
+	 */
+	public List<String> getCopiedFiles() {
+		return Collections.unmodifiableList(copiedFiles);
+	}
+
+	/**
+	 * Get names of the stored files that replaced a different content.
+	 * 
+	 * @return unmodifiable list with the names
+	 */
+	public List<String> getStaleFiles() {
+		return Collections.unmodifiableList(staleFiles);
+	}
+
+	/**
+	 * Get timings of writing of the files.
+	 * 
+	 * @return the timings
+	 */
+	public TodosTimings getTimings() {
+		return timings;
+	}
+}
@@ -31,12 +31,15 @@ import javax.xml.bind.annotation.XmlAttribute;
 import javax.xml.bind.annotation.XmlValue;
 
 import org.jenkinsci.plugins.todos.HtmlUtils;
+import org.kohsuke.stapler.export.Exported;
+import org.kohsuke.stapler.export.ExportedBean;
 
 /**
  * Single comment that was found.
  * 
  * @author Michal Turek
  */
+@ExportedBean
 public class TodosComment implements Serializable {
 	/** Serial version UID. */
 	private static final long serialVersionUID = 0;
@@ -54,7 +57,7 @@ public class TodosComment implements Serializable {
 	private final int line;
 
 	/** The status of a diff. Optional, may be null. */
-	private transient final TodosDiffStatus diffStatus;
+	private final TodosDiffStatus diffStatus;
 
 	/**
 	 * Source code with the matching line and optionally several lines after it.
@@ -75,11 +78,30 @@ public class TodosComment implements Serializable {
 	 *            the matching line and optionally several lines after it
 	 */
 	public TodosComment(String pattern, String file, int line, String sourceCode) {
+		this(pattern, file, line, sourceCode, TodosDiffStatus.UNCHANGED);
+	}
+
+	/**
+	 * Constructor initializing all members.
+	 * 
+	 * @param pattern
+	 *            the pattern using which this comment was found
+	 * @param file
+	 *            the input file where the comment was found
+	 * @param line
+	 *            the position in the file, line number
+	 * @param sourceCode
+	 *            the matching line and optionally several lines after it
+	 * @param diffStatus
+	 *            the status of a diff
+	 */
+	TodosComment(String pattern, String file, int line, String sourceCode,
+			TodosDiffStatus diffStatus) {
 		this.pattern = pattern;
 		this.file = file;
 		this.line = line;
 		this.sourceCode = sourceCode;
-		this.diffStatus = TodosDiffStatus.UNCHANGED;
+		this.diffStatus = diffStatus;
 	}
 
 	/**
@@ -111,6 +133,7 @@ public class TodosComment implements Serializable {
 	 * 
 	 * @return the pattern
 	 */
+	@Exported
 	public String getPattern() {
 		return pattern;
 	}
@@ -129,6 +152,7 @@ public class TodosComment implements Serializable {
 	 * 
 	 * @return the path
 	 */
+	@Exported
 	public String getFile() {
 		return file;
 	}
@@ -158,6 +182,7 @@ public class TodosComment implements Serializable {
 	 * 
 	 * @return the line
 	 */
+	@Exported
 	public int getLine() {
 		return line;
 	}
@@ -168,6 +193,7 @@ public class TodosComment implements Serializable {
 	 * 
 	 * @return the source code
 	 */
+	@Exported
 	public String getSourceCode() {
 		return sourceCode;
 	}
@@ -187,6 +213,7 @@ public class TodosComment implements Serializable {
 	 * 
 	 * @return the status
 	 */
+	@Exported
 	public TodosDiffStatus getDiffStatus() {
 		return diffStatus;
 	}
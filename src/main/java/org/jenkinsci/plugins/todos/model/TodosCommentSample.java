@@ -0,0 +1,204 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2026 TODOs Plugin contributors
+ * This file is part of TODOs Plugin (Jenkins CI).
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.jenkinsci.plugins.todos.model;
+
+/**
+ * Deterministic sample of comments with a bounded size. A comment is selected
+ * by a hash of its content, so the selection doesn't depend on the order of
+ * the comments and unchanged comments are selected in consecutive builds too,
+ * which keeps their diff meaningful. When the sample is full, the selection is
+ * halved until it fits. The comments with the same hash can't be halved, the
+ * first ones are kept instead. The class is not thread safe.
+ * 
+ * @author TODOs Plugin contributors
+ */
+public class TodosCommentSample {
+	/** Maximal number of comments in the sample. */
+	private final int maxComments;
+
+	/** The selected comments. */
+	private TodosCommentStore store;
+
+	/** Number of low bits of the hash that must be zero to select a comment. */
+	private int level = 0;
+
+	/**
+	 * Constructor.
+	 * 
+	 * @param maxComments
+	 *            maximal number of comments in the sample
+	 */
+	public TodosCommentSample(int maxComments) {
+		this.maxComments = maxComments;
+		this.store = new TodosCommentStore();
+	}
+
+	/**
+	 * Add comments to the sample.
+	 * 
+	 * @param comments
+	 *            the comments
+	 */
+	public void addAll(TodosCommentStore comments) {
+		for (int i = 0; i < comments.size(); ++i) {
+			if (isSelected(getHash(comments, i), level)) {
+				store.add(comments, i, comments.getDiffStatus(i));
+			}
+		}
+
+		while (store.size() > maxComments) {
+			if (level + 1 >= Integer.SIZE || isEmpty(level + 1)) {
+				// The comments have the same hash, keep the first ones
+				truncate();
+				break;
+			}
+
+			++level;
+			store = select(store, level);
+		}
+	}
+
+	/**
+	 * Check whether a level would remove all the comments from the sample.
+	 * 
+	 * @param newLevel
+	 *            the level
+	 * @return true if no comment is selected at the level
+	 */
+	private boolean isEmpty(int newLevel) {
+		for (int i = 0; i < store.size(); ++i) {
+			if (isSelected(getHash(store, i), newLevel)) {
+				return false;
+			}
+		}
+
+		return true;
+	}
+
+	/**
+	 * Remove the comments over the maximal size of the sample.
+	 */
+	private void truncate() {
+		TodosCommentStore truncated = new TodosCommentStore(maxComments);
+
+		for (int i = 0; i < maxComments; ++i) {
+			truncated.add(store, i, store.getDiffStatus(i));
+		}
+
+		store = truncated;
+	}
+
+	/**
+	 * Select the comments of a level.
+	 * 
+	 * @param comments
+	 *            the comments
+	 * @param level
+	 *            the level, number of low bits of the hash that must be zero
+	 * @return new store with the selected comments
+	 */
+	static TodosCommentStore select(TodosCommentStore comments,
+			int level) {
+		TodosCommentStore selected = new TodosCommentStore();
+
+		for (int i = 0; i < comments.size(); ++i) {
+			if (isSelected(getHash(comments, i), level)) {
+				selected.add(comments, i, comments.getDiffStatus(i));
+			}
+		}
+
+		return selected;
+	}
+
+	/**
+	 * Get the highest level at which all the comments of a sample are
+	 * selected. It is at least the level of the sample, the comments of other
+	 * samples can be selected at it to compare them.
+	 * 
+	 * @param comments
+	 *            the sampled comments
+	 * @return the level, zero if there are no comments
+	 */
+	static int getLevel(TodosCommentStore comments) {
+		int level = (comments.size() == 0) ? 0 : Integer.SIZE - 1;
+
+		for (int i = 0; i < comments.size() && level > 0; ++i) {
+			level = Math.min(level, Integer.numberOfTrailingZeros(getHash(
+					comments, i)));
+		}
+
+		return level;
+	}
+
+	/**
+	 * Check whether a comment is selected at a level.
+	 * 
+	 * @param hash
+	 *            hash of the comment
+	 * @param level
+	 *            the level, lower than {@link Integer#SIZE}
+	 * @return true if selected, otherwise false
+	 */
+	private static boolean isSelected(int hash, int level) {
+		return (hash & ((1 << level) - 1)) == 0;
+	}
+
+	/**
+	 * Compute a well mixed hash of a comment.
+	 * 
+	 * @param comments
+	 *            the comments
+	 * @param index
+	 *            index of the comment
+	 * @return the hash
+	 */
+	private static int getHash(TodosCommentStore comments, int index) {
+		String file = comments.getFile(index);
+		String pattern = comments.getPattern(index);
+
+		int hash = (file == null) ? 0 : file.hashCode();
+		hash = 31 * hash + ((pattern == null) ? 0 : pattern.hashCode());
+		hash = 31 * hash + comments.getLine(index);
+		hash = 31 * hash + comments.getSourceCodeHash(index);
+
+		// Finalizer of MurmurHash3, spreads the bits to the low ones
+		hash ^= hash >>> 16;
+		hash *= 0x85ebca6b;
+		hash ^= hash >>> 13;
+		hash *= 0xc2b2ae35;
+		hash ^= hash >>> 16;
+		return hash;
+	}
+
+	/**
+	 * Get the sampled comments.
+	 * 
+	 * @return the comments
+	 */
+	public TodosCommentStore getComments() {
+		store.trimToSize();
+		return store;
+	}
+}
@@ -0,0 +1,607 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2026 TODOs Plugin contributors
+ * This file is part of TODOs Plugin (Jenkins CI).
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.jenkinsci.plugins.todos.model;
+
+import java.io.DataInput;
+import java.io.IOException;
+import java.io.Serializable;
+import java.nio.charset.Charset;
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.List;
+
+/**
+ * Columnar store of comments. Each attribute of the comments is stored in its
+ * own primitive array, file paths and patterns are referenced by index to a
+ * dictionary and the source codes are packed in a single UTF-8 encoded buffer.
+ * Counting and grouping are simple loops over the arrays. A source code that
+ * is null is stored as an empty string. The class is not thread safe.
+ * 
+ * @author TODOs Plugin contributors
+ */
+public final class TodosCommentStore implements Serializable {
+	/** Serial version UID. */
+	private static final long serialVersionUID = 0;
+
+	/** Initial capacity of a store. */
+	private static final int DEFAULT_CAPACITY = 16;
+
+	/** Encoding of the text buffer. */
+	private static final Charset UTF_8 = Charset.forName("UTF-8");
+
+	/** The diff statuses indexed by ordinal. */
+	private static final TodosDiffStatus[] STATUSES = TodosDiffStatus.values();
+
+	/** Dictionary of file paths. */
+	private final TodosStringDictionary files;
+
+	/** Dictionary of patterns. */
+	private final TodosStringDictionary patterns;
+
+	/** Number of comments. */
+	private int size;
+
+	/** Indices of file paths in the dictionary. */
+	private int[] fileIds;
+
+	/** Indices of patterns in the dictionary. */
+	private int[] patternIds;
+
+	/** Line numbers. */
+	private int[] lines;
+
+	/** Ordinals of diff statuses, -1 for null. */
+	private byte[] diffStatuses;
+
+	/** End offsets of the source codes in the text buffer. */
+	private int[] textEnds;
+
+	/** The source codes of all comments. */
+	private byte[] text;
+
+	/** Used length of the text buffer. */
+	private int textLength;
+
+	/**
+	 * Create an empty store.
+	 */
+	public TodosCommentStore() {
+		this(DEFAULT_CAPACITY);
+	}
+
+	/**
+	 * Create an empty store.
+	 * 
+	 * @param capacity
+	 *            the expected number of comments
+	 */
+	public TodosCommentStore(int capacity) {
+		this.files = new TodosStringDictionary();
+		this.patterns = new TodosStringDictionary();
+		this.size = 0;
+		this.fileIds = new int[capacity];
+		this.patternIds = new int[capacity];
+		this.lines = new int[capacity];
+		this.diffStatuses = new byte[capacity];
+		this.textEnds = new int[capacity];
+		this.text = new byte[capacity * 32];
+		this.textLength = 0;
+	}
+
+	/**
+	 * Add a comment.
+	 * 
+	 * @param comment
+	 *            the comment
+	 */
+	public void add(TodosComment comment) {
+		add(comment.getPattern(), comment.getFile(), comment.getLine(),
+				comment.getSourceCode(), comment.getDiffStatus());
+	}
+
+	/**
+	 * Add a comment.
+	 * 
+	 * @param pattern
+	 *            the pattern using which the comment was found
+	 * @param file
+	 *            the input file where the comment was found
+	 * @param line
+	 *            the position in the file, line number
+	 * @param sourceCode
+	 *            the matching line and optionally several lines after it
+	 * @param diffStatus
+	 *            the status of a diff, may be null
+	 */
+	public void add(String pattern, String file, int line, String sourceCode,
+			TodosDiffStatus diffStatus) {
+		byte[] source = (sourceCode == null) ? new byte[0] : sourceCode
+				.getBytes(UTF_8);
+
+		ensureCapacity(size + 1, source.length);
+		System.arraycopy(source, 0, text, textLength, source.length);
+		textLength += source.length;
+
+		append(patterns.add(pattern), files.add(file), line, diffStatus);
+	}
+
+	/**
+	 * Add a copy of a comment from another store.
+	 * 
+	 * @param store
+	 *            the other store
+	 * @param index
+	 *            index of the comment in the other store
+	 * @param diffStatus
+	 *            the status of a diff of the copy, may be null
+	 */
+	public void add(TodosCommentStore store, int index, TodosDiffStatus diffStatus) {
+		int start = store.getTextStart(index);
+		int length = store.textEnds[index] - start;
+
+		ensureCapacity(size + 1, length);
+		System.arraycopy(store.text, start, text, textLength, length);
+		textLength += length;
+
+		append(patterns.add(store.getPattern(index)),
+				files.add(store.getFile(index)), store.lines[index],
+				diffStatus);
+	}
+
+	/**
+	 * Add a comment whose pattern and file are already present in the
+	 * dictionaries. Its source code is read from an input.
+	 * 
+	 * @param patternId
+	 *            index of the pattern
+	 * @param fileId
+	 *            index of the file
+	 * @param line
+	 *            the line number
+	 * @param diffStatus
+	 *            the status of a diff, may be null
+	 * @param input
+	 *            the input to read the UTF-8 encoded source code from
+	 * @param length
+	 *            length of the encoded source code
+	 * @throws IOException
+	 *             if reading fails or the indices are not valid
+	 */
+	void add(int patternId, int fileId, int line, TodosDiffStatus diffStatus,
+			DataInput input, int length) throws IOException {
+		if (patternId < 0 || patternId >= patterns.size() || fileId < 0
+				|| fileId >= files.size() || length < 0) {
+			throw new IOException("Invalid comment data");
+		}
+
+		ensureCapacity(size + 1, length);
+		input.readFully(text, textLength, length);
+		textLength += length;
+
+		append(patternId, fileId, line, diffStatus);
+	}
+
+	/**
+	 * Add copies of all comments from another store.
+	 * 
+	 * @param store
+	 *            the other store
+	 */
+	public void addAll(TodosCommentStore store) {
+		ensureCapacity(size + store.size, store.textLength);
+
+		for (int i = 0; i < store.size; ++i) {
+			add(store, i, store.getDiffStatus(i));
+		}
+	}
+
+	/**
+	 * Add copies of all comments from another store, their file paths are
+	 * prefixed. Each distinct file path is prefixed only once.
+	 * 
+	 * @param store
+	 *            the other store
+	 * @param filePrefix
+	 *            the prefix of the file paths
+	 */
+	public void addAll(TodosCommentStore store, String filePrefix) {
+		ensureCapacity(size + store.size, store.textLength);
+		int[] prefixedIds = new int[store.files.size()];
+		Arrays.fill(prefixedIds, -1);
+
+		for (int i = 0; i < store.size; ++i) {
+			int fileId = store.fileIds[i];
+
+			if (prefixedIds[fileId] < 0) {
+				prefixedIds[fileId] = files.add(filePrefix
+						+ store.files.get(fileId));
+			}
+
+			int start = store.getTextStart(i);
+			int length = store.textEnds[i] - start;
+
+			System.arraycopy(store.text, start, text, textLength, length);
+			textLength += length;
+
+			append(patterns.add(store.getPattern(i)), prefixedIds[fileId],
+					store.lines[i], store.getDiffStatus(i));
+		}
+	}
+
+	/**
+	 * Store the attributes of a new comment, its source code must be already
+	 * stored in the text buffer.
+	 * 
+	 * @param patternId
+	 *            index of the pattern
+	 * @param fileId
+	 *            index of the file
+	 * @param line
+	 *            the line number
+	 * @param diffStatus
+	 *            the status of a diff, may be null
+	 */
+	private void append(int patternId, int fileId, int line,
+			TodosDiffStatus diffStatus) {
+		patternIds[size] = patternId;
+		fileIds[size] = fileId;
+		lines[size] = line;
+		diffStatuses[size] = (byte) ((diffStatus == null) ? -1 : diffStatus
+				.ordinal());
+		textEnds[size] = textLength;
+		++size;
+	}
+
+	/**
+	 * Make sure the arrays have enough space.
+	 * 
+	 * @param minCapacity
+	 *            the minimal number of comments
+	 * @param textToAdd
+	 *            number of bytes that will be added to the text buffer
+	 */
+	private void ensureCapacity(int minCapacity, int textToAdd) {
+		if (minCapacity > lines.length) {
+			int capacity = Math.max(minCapacity, lines.length * 2);
+
+			fileIds = Arrays.copyOf(fileIds, capacity);
+			patternIds = Arrays.copyOf(patternIds, capacity);
+			lines = Arrays.copyOf(lines, capacity);
+			diffStatuses = Arrays.copyOf(diffStatuses, capacity);
+			textEnds = Arrays.copyOf(textEnds, capacity);
+		}
+
+		if (textLength + textToAdd > text.length) {
+			text = Arrays.copyOf(text,
+					Math.max(textLength + textToAdd, text.length * 2));
+		}
+	}
+
+	/**
+	 * Release the unused capacity of the arrays.
+	 */
+	public void trimToSize() {
+		if (size < lines.length) {
+			fileIds = Arrays.copyOf(fileIds, size);
+			patternIds = Arrays.copyOf(patternIds, size);
+			lines = Arrays.copyOf(lines, size);
+			diffStatuses = Arrays.copyOf(diffStatuses, size);
+			textEnds = Arrays.copyOf(textEnds, size);
+		}
+
+		if (textLength < text.length) {
+			text = Arrays.copyOf(text, textLength);
+		}
+	}
+
+	/**
+	 * Get the number of comments.
+	 * 
+	 * @return the number of comments
+	 */
+	public int size() {
+		return size;
+	}
+
+	/**
+	 * Get the pattern of a comment.
+	 * 
+	 * @param index
+	 *            index of the comment
+	 * @return the pattern
+	 */
+	public String getPattern(int index) {
+		return patterns.get(patternIds[index]);
+	}
+
+	/**
+	 * Get the file of a comment.
+	 * 
+	 * @param index
+	 *            index of the comment
+	 * @return the file
+	 */
+	public String getFile(int index) {
+		return files.get(fileIds[index]);
+	}
+
+	/**
+	 * Get the index of the pattern of a comment in the dictionary.
+	 * 
+	 * @param index
+	 *            index of the comment
+	 * @return the index of the pattern
+	 */
+	int getPatternId(int index) {
+		return patternIds[index];
+	}
+
+	/**
+	 * Get the index of the file of a comment in the dictionary.
+	 * 
+	 * @param index
+	 *            index of the comment
+	 * @return the index of the file
+	 */
+	public int getFileId(int index) {
+		return fileIds[index];
+	}
+
+	/**
+	 * Get the line of a comment.
+	 * 
+	 * @param index
+	 *            index of the comment
+	 * @return the line
+	 */
+	public int getLine(int index) {
+		return lines[index];
+	}
+
+	/**
+	 * Get the source code of a comment.
+	 * 
+	 * @param index
+	 *            index of the comment
+	 * @return the source code
+	 */
+	public String getSourceCode(int index) {
+		int start = getTextStart(index);
+		return new String(text, start, textEnds[index] - start, UTF_8);
+	}
+
+	/**
+	 * Get the diff status of a comment.
+	 * 
+	 * @param index
+	 *            index of the comment
+	 * @return the status, may be null
+	 */
+	public TodosDiffStatus getDiffStatus(int index) {
+		return (diffStatuses[index] < 0) ? null : STATUSES[diffStatuses[index]];
+	}
+
+	/**
+	 * Get a comment.
+	 * 
+	 * @param index
+	 *            index of the comment
+	 * @return a new comment object with the data
+	 */
+	public TodosComment getComment(int index) {
+		return new TodosComment(getPattern(index), getFile(index),
+				lines[index], getSourceCode(index), getDiffStatus(index));
+	}
+
+	/**
+	 * Get a read only view of the comments as a list.
+	 * 
+	 * @return the list
+	 */
+	public List<TodosComment> asList() {
+		return new AbstractList<TodosComment>() {
+			@Override
+			public TodosComment get(int index) {
+				if (index < 0 || index >= size) {
+					throw new IndexOutOfBoundsException("Index: " + index
+							+ ", size: " + size);
+				}
+
+				return getComment(index);
+			}
+
+			@Override
+			public int size() {
+				return size;
+			}
+		};
+	}
+
+	/**
+	 * Get the dictionary of file paths.
+	 * 
+	 * @return the dictionary
+	 */
+	TodosStringDictionary getFiles() {
+		return files;
+	}
+
+	/**
+	 * Get the dictionary of patterns.
+	 * 
+	 * @return the dictionary
+	 */
+	TodosStringDictionary getPatterns() {
+		return patterns;
+	}
+
+	/**
+	 * Get the buffer with UTF-8 encoded source codes.
+	 * 
+	 * @return the buffer, it must not be modified
+	 * @see #getTextStart(int)
+	 * @see #getTextEnd(int)
+	 */
+	byte[] getText() {
+		return text;
+	}
+
+	/**
+	 * Count comments with a diff status.
+	 * 
+	 * @param diffStatus
+	 *            the status
+	 * @return the number of comments
+	 */
+	public int count(TodosDiffStatus diffStatus) {
+		byte ordinal = (byte) diffStatus.ordinal();
+		int num = 0;
+
+		for (int i = 0; i < size; ++i) {
+			if (diffStatuses[i] == ordinal) {
+				++num;
+			}
+		}
+
+		return num;
+	}
+
+	/**
+	 * Count comments in each file.
+	 * 
+	 * @return number of comments indexed by the index of the file in the
+	 *         dictionary
+	 */
+	int[] countByFile() {
+		int[] counts = new int[files.size()];
+
+		for (int i = 0; i < size; ++i) {
+			++counts[fileIds[i]];
+		}
+
+		return counts;
+	}
+
+	/**
+	 * Compute statistics of the comments. Patterns are in order of their first
+	 * occurrence.
+	 * 
+	 * @return the statistics
+	 */
+	public TodosReportStatistics getStatistics() {
+		int numPatterns = patterns.size();
+		int[] occurrences = new int[numPatterns];
+		BitSet[] filesWithComment = new BitSet[numPatterns];
+
+		for (int i = 0; i < numPatterns; ++i) {
+			filesWithComment[i] = new BitSet(files.size());
+		}
+
+		for (int i = 0; i < size; ++i) {
+			++occurrences[patternIds[i]];
+			filesWithComment[patternIds[i]].set(fileIds[i]);
+		}
+
+		List<TodosPatternStatistics> statistics = new ArrayList<TodosPatternStatistics>(
+				numPatterns);
+
+		for (int i = 0; i < numPatterns; ++i) {
+			statistics.add(new TodosPatternStatistics(patterns.get(i),
+					occurrences[i], filesWithComment[i].cardinality()));
+		}
+
+		return new TodosReportStatistics(statistics, files.size());
+	}
+
+	/**
+	 * Compute hash code of the source code of a comment.
+	 * 
+	 * @param index
+	 *            index of the comment
+	 * @return the hash code
+	 */
+	int getSourceCodeHash(int index) {
+		int hash = 0;
+
+		for (int i = getTextStart(index); i < textEnds[index]; ++i) {
+			hash = 31 * hash + text[i];
+		}
+
+		return hash;
+	}
+
+	/**
+	 * Compare source codes of two comments.
+	 * 
+	 * @param index
+	 *            index of the comment in this store
+	 * @param store
+	 *            the store of the other comment
+	 * @param otherIndex
+	 *            index of the other comment
+	 * @return true if the source codes are equal
+	 */
+	boolean sourceCodeEquals(int index, TodosCommentStore store, int otherIndex) {
+		int start = getTextStart(index);
+		int otherStart = store.getTextStart(otherIndex);
+		int length = textEnds[index] - start;
+
+		if (length != store.textEnds[otherIndex] - otherStart) {
+			return false;
+		}
+
+		for (int i = 0; i < length; ++i) {
+			if (text[start + i] != store.text[otherStart + i]) {
+				return false;
+			}
+		}
+
+		return true;
+	}
+
+	/**
+	 * Get the start offset of the source code of a comment in the text buffer.
+	 * 
+	 * @param index
+	 *            index of the comment
+	 * @return the offset
+	 */
+	int getTextStart(int index) {
+		return (index == 0) ? 0 : textEnds[index - 1];
+	}
+
+	/**
+	 * Get the end offset of the source code of a comment in the text buffer.
+	 * 
+	 * @param index
+	 *            index of the comment
+	 * @return the offset
+	 */
+	int getTextEnd(int index) {
+		return textEnds[index];
+	}
+}
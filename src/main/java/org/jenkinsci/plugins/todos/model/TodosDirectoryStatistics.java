@@ -0,0 +1,227 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2026 TODOs Plugin contributors
+ * This file is part of TODOs Plugin (Jenkins CI).
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.jenkinsci.plugins.todos.model;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import org.jenkinsci.plugins.todos.HtmlUtils;
+
+/**
+ * Statistics of comments in a directory and all its subdirectories. The
+ * directories form a tree, the root represents the whole report. The class
+ * is thread safe.
+ * 
+ * @author TODOs Plugin contributors
+ * 
+ * @see TodosDirectoryStatisticsBuilder
+ */
+public class TodosDirectoryStatistics implements Serializable {
+	/** Serial version UID. */
+	private static final long serialVersionUID = 0L;
+
+	/** Separator of path components. */
+	public static final String SEPARATOR = "/";
+
+	/** The directory name, empty for the root. */
+	private final String name;
+
+	/** The path from the root, empty for the root. */
+	private final String path;
+
+	/** Number of comments in this directory and in its subdirectories. */
+	private final int numComments;
+
+	/** Number of files in this directory and in its subdirectories. */
+	private final int numFiles;
+
+	/** The subdirectories sorted by name. */
+	private final List<TodosDirectoryStatistics> children;
+
+	/**
+	 * Constructor initializing members.
+	 * 
+	 * @param name
+	 *            the directory name, empty for the root
+	 * @param path
+	 *            the path from the root, empty for the root
+	 * @param numComments
+	 *            number of comments in this directory and in its
+	 *            subdirectories
+	 * @param numFiles
+	 *            number of files in this directory and in its subdirectories
+	 * @param children
+	 *            the subdirectories
+	 */
+	public TodosDirectoryStatistics(String name, String path, int numComments,
+			int numFiles, List<TodosDirectoryStatistics> children) {
+		this.name = name;
+		this.path = path;
+		this.numComments = numComments;
+		this.numFiles = numFiles;
+		this.children = new ArrayList<TodosDirectoryStatistics>(children);
+	}
+
+	/**
+	 * Get the directory name.
+	 * 
+	 * @return the name, empty for the root
+	 */
+	public String getName() {
+		return name;
+	}
+
+	/**
+	 * Get the directory name.
+	 * 
+	 * @return the HTML encoded name
+	 */
+	public String getNameHtml() {
+		return HtmlUtils.encodeText(name, true);
+	}
+
+	/**
+	 * Get the path from the root.
+	 * 
+	 * @return the path, components are separated by {@link #SEPARATOR}
+	 */
+	public String getPath() {
+		return path;
+	}
+
+	/**
+	 * Get the path from the root.
+	 * 
+	 * @return the HTML encoded path
+	 */
+	public String getPathHtml() {
+		return HtmlUtils.encodeText(path, true);
+	}
+
+	/**
+	 * Get the path from the root.
+	 * 
+	 * @return the path encoded to be used in URL
+	 */
+	public String getPathUrl() {
+		return HtmlUtils.encodeUrl(path);
+	}
+
+	/**
+	 * Get number of comments in this directory and in its subdirectories.
+	 * 
+	 * @return the number of comments
+	 */
+	public int getNumComments() {
+		return numComments;
+	}
+
+	/**
+	 * Get number of files in this directory and in its subdirectories.
+	 * 
+	 * @return the number of files
+	 */
+	public int getNumFiles() {
+		return numFiles;
+	}
+
+	/**
+	 * Get the subdirectories.
+	 * 
+	 * @return unmodifiable list of the subdirectories sorted by name
+	 */
+	public List<TodosDirectoryStatistics> getChildren() {
+		return Collections.unmodifiableList(children);
+	}
+
+	/**
+	 * Check whether the directory has subdirectories.
+	 * 
+	 * @return true if there are subdirectories, otherwise false
+	 */
+	public boolean hasChildren() {
+		return !children.isEmpty();
+	}
+
+	/**
+	 * Find a directory in the tree.
+	 * 
+	 * @param path
+	 *            the path from this node, components are separated by
+	 *            {@link #SEPARATOR}; null or empty path means this node
+	 * @return the directory or null if there is no such directory
+	 */
+	public TodosDirectoryStatistics find(String path) {
+		if (path == null || path.isEmpty()) {
+			return this;
+		}
+
+		TodosDirectoryStatistics node = this;
+
+		for (String component : path.split(SEPARATOR)) {
+			if (component.isEmpty()) {
+				continue;
+			}
+
+			node = node.getChild(component);
+
+			if (node == null) {
+				return null;
+			}
+		}
+
+		return node;
+	}
+
+	/**
+	 * Get a direct subdirectory.
+	 * 
+	 * @param name
+	 *            the name of the subdirectory
+	 * @return the subdirectory or null if there is no such subdirectory
+	 */
+	private TodosDirectoryStatistics getChild(String name) {
+		int low = 0;
+		int high = children.size() - 1;
+
+		// Binary search, the children are sorted by name
+		while (low <= high) {
+			int middle = (low + high) >>> 1;
+			int result = children.get(middle).name.compareTo(name);
+
+			if (result < 0) {
+				low = middle + 1;
+			} else if (result > 0) {
+				high = middle - 1;
+			} else {
+				return children.get(middle);
+			}
+		}
+
+		return null;
+	}
+}
@@ -0,0 +1,191 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2026 TODOs Plugin contributors
+ * This file is part of TODOs Plugin (Jenkins CI).
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.jenkinsci.plugins.todos.model;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+
+/**
+ * Incremental builder of per-directory statistics. The comments are
+ * aggregated in a prefix tree of path components in a single pass, the memory
+ * depends on the number of distinct directories and files, not on the number
+ * of comments. The class is not thread safe.
+ * 
+ * @author TODOs Plugin contributors
+ */
+public class TodosDirectoryStatisticsBuilder {
+	/** The maximal depth of the tree, deeper directories are merged. */
+	private final int maxDepth;
+
+	/** The root of the tree. */
+	private final Node root = new Node();
+
+	/** Files that were already counted. */
+	private final Set<String> files = new HashSet<String>();
+
+	/**
+	 * Constructor initializing members.
+	 * 
+	 * @param maxDepth
+	 *            the maximal depth of the tree, comments in deeper directories
+	 *            are counted in their ancestor at this depth
+	 */
+	public TodosDirectoryStatisticsBuilder(int maxDepth) {
+		this.maxDepth = maxDepth;
+	}
+
+	/**
+	 * Add a comment to the statistics.
+	 * 
+	 * @param file
+	 *            the file in which the comment was found
+	 */
+	public void add(String file) {
+		add(file, 1);
+	}
+
+	/**
+	 * Add comments in a file to the statistics.
+	 * 
+	 * @param file
+	 *            the file in which the comments were found
+	 * @param numComments
+	 *            the number of comments
+	 */
+	public void add(String file, int numComments) {
+		boolean newFile = files.add(file);
+		Node node = root;
+		node.increment(numComments, newFile);
+
+		String[] components = file.split("[/\\\\]");
+
+		// The last component is the file name
+		for (int i = 0, depth = 0; i < components.length - 1 && depth < maxDepth; ++i) {
+			String component = components[i];
+
+			if (component.isEmpty() || component.equals(".")) {
+				continue;
+			}
+
+			node = node.getChild(component);
+			node.increment(numComments, newFile);
+			++depth;
+		}
+	}
+
+	/**
+	 * Create the statistics from the data added so far.
+	 * 
+	 * @return the root of the tree
+	 */
+	public TodosDirectoryStatistics build() {
+		return root.build("", "");
+	}
+
+	/**
+	 * Node of the prefix tree. For internal use only.
+	 * 
+	 * @author TODOs Plugin contributors
+	 */
+	private static class Node {
+		/** Number of comments. */
+		private int numComments = 0;
+
+		/** Number of files. */
+		private int numFiles = 0;
+
+		/** The subdirectories sorted by name, created on demand. */
+		private Map<String, Node> children = null;
+
+		/**
+		 * New occurrences were found, increment the counters.
+		 * 
+		 * @param comments
+		 *            the number of comments
+		 * @param newFile
+		 *            the file was not counted yet
+		 */
+		public void increment(int comments, boolean newFile) {
+			numComments += comments;
+
+			if (newFile) {
+				++numFiles;
+			}
+		}
+
+		/**
+		 * Get a child node, create it if it doesn't exist yet.
+		 * 
+		 * @param name
+		 *            the directory name
+		 * @return the child node
+		 */
+		public Node getChild(String name) {
+			if (children == null) {
+				children = new TreeMap<String, Node>();
+			}
+
+			Node child = children.get(name);
+
+			if (child == null) {
+				child = new Node();
+				children.put(name, child);
+			}
+
+			return child;
+		}
+
+		/**
+		 * Convert the subtree to the final statistics.
+		 * 
+		 * @param name
+		 *            the directory name
+		 * @param path
+		 *            the path from the root
+		 * @return the statistics
+		 */
+		public TodosDirectoryStatistics build(String name, String path) {
+			List<TodosDirectoryStatistics> result = new ArrayList<TodosDirectoryStatistics>();
+
+			if (children != null) {
+				for (Map.Entry<String, Node> entry : children.entrySet()) {
+					String childPath = path.isEmpty() ? entry.getKey() : path
+							+ TodosDirectoryStatistics.SEPARATOR
+							+ entry.getKey();
+
+					result.add(entry.getValue().build(entry.getKey(),
+							childPath));
+				}
+			}
+
+			return new TodosDirectoryStatistics(name, path, numComments,
+					numFiles, result);
+		}
+	}
+}
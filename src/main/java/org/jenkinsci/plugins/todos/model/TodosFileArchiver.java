@@ -0,0 +1,145 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2026 TODOs Plugin contributors
+ * This file is part of TODOs Plugin (Jenkins CI).
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.jenkinsci.plugins.todos.model;
+
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+
+/**
+ * Records of the files archived on a slave into a single stream, typically a
+ * remote stream to the master. Each file is sent as a start record with its
+ * name and absolute path, data records with its content and an end record
+ * with MD5 checksum of the content. The end record of the archive terminates
+ * the stream.
+ * 
+ * @author TODOs Plugin contributors
+ * @see TodosStreamingParser
+ * @see TodosArchiveReceiver
+ */
+public class TodosFileArchiver {
+	/** Record starting a file. */
+	static final int RECORD_FILE_START = 11;
+
+	/** Record with a part of content of a file. */
+	static final int RECORD_FILE_DATA = 12;
+
+	/** Record finishing a file. */
+	static final int RECORD_FILE_END = 13;
+
+	/** Record terminating the archive. */
+	static final int RECORD_END = 14;
+
+	/** Maximal size of a data record. */
+	static final int CHUNK_SIZE = 64 * 1024;
+
+	/** Algorithm of the checksums. */
+	static final String DIGEST_ALGORITHM = "MD5";
+
+	/**
+	 * Private constructor, static methods only.
+	 */
+	private TodosFileArchiver() {
+	}
+
+	/**
+	 * Write the start record of a file.
+	 * 
+	 * @param stream
+	 *            the output
+	 * @param file
+	 *            the file
+	 * @throws IOException
+	 *             if writing fails
+	 */
+	static void startFile(DataOutputStream stream, File file)
+			throws IOException {
+		stream.writeByte(RECORD_FILE_START);
+		TodosReportCodec.writeString(stream, file.getName());
+		TodosReportCodec.writeString(stream, file.getAbsolutePath());
+	}
+
+	/**
+	 * Write data records of a file, the data are split to chunks.
+	 * 
+	 * @param stream
+	 *            the output
+	 * @param data
+	 *            the data
+	 * @param offset
+	 *            offset of the data
+	 * @param length
+	 *            length of the data
+	 * @throws IOException
+	 *             if writing fails
+	 */
+	static void writeData(DataOutputStream stream, byte[] data, int offset,
+			int length) throws IOException {
+		for (int start = offset; start < offset + length; start += CHUNK_SIZE) {
+			int chunk = Math.min(CHUNK_SIZE, offset + length - start);
+
+			stream.writeByte(RECORD_FILE_DATA);
+			TodosReportCodec.writeVarInt(stream, chunk);
+			stream.write(data, start, chunk);
+		}
+	}
+
+	/**
+	 * Write the end record of a file.
+	 * 
+	 * @param stream
+	 *            the output
+	 * @param digest
+	 *            the digest of the content of the file
+	 * @throws IOException
+	 *             if writing fails
+	 */
+	static void finishFile(DataOutputStream stream, MessageDigest digest)
+			throws IOException {
+		byte[] checksum = digest.digest();
+
+		stream.writeByte(RECORD_FILE_END);
+		TodosReportCodec.writeVarInt(stream, checksum.length);
+		stream.write(checksum);
+	}
+
+	/**
+	 * Create a digest to compute checksums.
+	 * 
+	 * @return the digest
+	 * @throws IOException
+	 *             if the algorithm is not available
+	 */
+	static MessageDigest createDigest() throws IOException {
+		try {
+			return MessageDigest.getInstance(DIGEST_ALGORITHM);
+		} catch (NoSuchAlgorithmException e) {
+			throw new IOException("Checksum algorithm is not available: "
+					+ DIGEST_ALGORITHM, e);
+		}
+	}
+}
@@ -0,0 +1,336 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2026 TODOs Plugin contributors
+ * This file is part of TODOs Plugin (Jenkins CI).
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.jenkinsci.plugins.todos.model;
+
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Custom events of JDK Flight Recorder for the hot paths of the plugin. The
+ * event types are defined at runtime by jdk.jfr.EventFactory using
+ * reflection, because the plugin is built for Java versions without the API.
+ * 
+ * The events are emitted only if they are enabled in the global configuration
+ * and the JVM supports them. {@link EventType#begin()} returns null otherwise
+ * and the caller skips the event, so the only cost is a check of a flag.
+ * 
+ * @author TODOs Plugin contributors
+ */
+public final class TodosFlightRecorder {
+	/** The logger. */
+	private static final Logger LOGGER = Logger
+			.getLogger(TodosFlightRecorder.class.getName());
+
+	/** Prefix of names of the event types. */
+	private static final String NAME_PREFIX = "org.jenkinsci.plugins.todos.";
+
+	/** Category of the event types. */
+	private static final String[] CATEGORY = { "Jenkins", "TODOs" };
+
+	/** Parsing of a report file. */
+	public static final EventType PARSE = new EventType("Parse",
+			"TODOs Report Parsing", new String[] { "file", "bytes",
+					"comments" }, new Class<?>[] { String.class, long.class,
+					int.class });
+
+	/** Comparing of two reports. */
+	public static final EventType DIFF = new EventType("Diff",
+			"TODOs Report Diff", new String[] { "current", "previous",
+					"result" }, new Class<?>[] { int.class, int.class,
+					int.class });
+
+	/** Preparing of the diff for the results page. */
+	public static final EventType RESULTS_PAGE = new EventType("ResultsPage",
+			"TODOs Results Page", new String[] { "build", "comments" },
+			new Class<?>[] { String.class, int.class });
+
+	/** Rendering of a trend chart. */
+	public static final EventType CHART = new EventType("Chart",
+			"TODOs Trend Chart", new String[] { "job", "builds" },
+			new Class<?>[] { String.class, int.class });
+
+	/** The events are enabled. */
+	private static volatile boolean enabled = false;
+
+	/**
+	 * Private constructor, static methods only.
+	 */
+	private TodosFlightRecorder() {
+	}
+
+	/**
+	 * Check whether the events are enabled.
+	 * 
+	 * @return true if enabled, otherwise false
+	 */
+	public static boolean isEnabled() {
+		return enabled;
+	}
+
+	/**
+	 * Enable or disable the events in this JVM.
+	 * 
+	 * @param value
+	 *            true to enable the events, false to disable them
+	 */
+	public static void setEnabled(boolean value) {
+		enabled = value;
+	}
+
+	/**
+	 * Type of the events, it is registered in JDK Flight Recorder on the first
+	 * use.
+	 * 
+	 * @author TODOs Plugin contributors
+	 */
+	public static final class EventType {
+		/** Name of the type. */
+		private final String name;
+
+		/** Human readable label. */
+		private final String label;
+
+		/** Names of the fields. */
+		private final String[] fieldNames;
+
+		/** Types of the fields. */
+		private final Class<?>[] fieldTypes;
+
+		/** The type was initialized. */
+		private boolean initialized = false;
+
+		/** The event factory, null if not available. */
+		private volatile Object factory = null;
+
+		/** EventFactory.newEvent(). */
+		private Method newEvent;
+
+		/** Event.begin(). */
+		private Method beginEvent;
+
+		/** Event.end(). */
+		private Method endEvent;
+
+		/** Event.shouldCommit(). */
+		private Method shouldCommit;
+
+		/** Event.set(int, Object). */
+		private Method setField;
+
+		/** Event.commit(). */
+		private Method commitEvent;
+
+		/**
+		 * Constructor.
+		 * 
+		 * @param name
+		 *            name of the type
+		 * @param label
+		 *            human readable label
+		 * @param fieldNames
+		 *            names of the fields
+		 * @param fieldTypes
+		 *            types of the fields
+		 */
+		private EventType(String name, String label, String[] fieldNames,
+				Class<?>[] fieldTypes) {
+			this.name = NAME_PREFIX + name;
+			this.label = label;
+			this.fieldNames = fieldNames;
+			this.fieldTypes = fieldTypes;
+		}
+
+		/**
+		 * Start an event. The duration is measured until its commit.
+		 * 
+		 * @return the event or null if the events are disabled or not
+		 *         supported
+		 */
+		public Event begin() {
+			if (!enabled) {
+				return null;
+			}
+
+			Object eventFactory = getFactory();
+
+			if (eventFactory == null) {
+				return null;
+			}
+
+			try {
+				Object event = newEvent.invoke(eventFactory);
+				beginEvent.invoke(event);
+				return new Event(this, event);
+			} catch (Exception e) {
+				disable(e);
+				return null;
+			}
+		}
+
+		/**
+		 * Get the event factory, define the type on the first call.
+		 * 
+		 * @return the factory or null if not available
+		 */
+		private Object getFactory() {
+			Object result = factory;
+
+			if (result != null) {
+				return result;
+			}
+
+			synchronized (this) {
+				if (!initialized) {
+					initialized = true;
+
+					try {
+						factory = createFactory();
+					} catch (ClassNotFoundException e) {
+						LOGGER.log(Level.FINE,
+								"JDK Flight Recorder is not available", e);
+					} catch (Exception e) {
+						LOGGER.log(Level.WARNING,
+								"Registering of event type failed: " + name, e);
+					}
+				}
+
+				return factory;
+			}
+		}
+
+		/**
+		 * Define the type using reflection.
+		 * 
+		 * @return the event factory
+		 * @throws Exception
+		 *             if the API is not available or the definition fails
+		 */
+		private Object createFactory() throws Exception {
+			Class<?> eventFactoryClass = Class.forName("jdk.jfr.EventFactory");
+			Class<?> eventClass = Class.forName("jdk.jfr.Event");
+			Class<?> annotationClass = Class
+					.forName("jdk.jfr.AnnotationElement");
+			Class<?> valueClass = Class.forName("jdk.jfr.ValueDescriptor");
+			Class<?> nameClass = Class.forName("jdk.jfr.Name");
+			Class<?> labelClass = Class.forName("jdk.jfr.Label");
+			Class<?> categoryClass = Class.forName("jdk.jfr.Category");
+
+			Constructor<?> annotation = annotationClass.getConstructor(
+					Class.class, Object.class);
+			Constructor<?> value = valueClass.getConstructor(Class.class,
+					String.class, List.class);
+
+			List<Object> annotations = new ArrayList<Object>();
+			annotations.add(annotation.newInstance(nameClass, name));
+			annotations.add(annotation.newInstance(labelClass, label));
+			annotations.add(annotation.newInstance(categoryClass, CATEGORY));
+
+			List<Object> fields = new ArrayList<Object>();
+
+			for (int i = 0; i < fieldNames.length; ++i) {
+				fields.add(value.newInstance(fieldTypes[i], fieldNames[i],
+						Collections.singletonList(annotation.newInstance(
+								labelClass, fieldNames[i]))));
+			}
+
+			newEvent = eventFactoryClass.getMethod("newEvent");
+			beginEvent = eventClass.getMethod("begin");
+			endEvent = eventClass.getMethod("end");
+			shouldCommit = eventClass.getMethod("shouldCommit");
+			setField = eventClass.getMethod("set", int.class, Object.class);
+			commitEvent = eventClass.getMethod("commit");
+
+			return eventFactoryClass.getMethod("create", List.class,
+					List.class).invoke(null, annotations, fields);
+		}
+
+		/**
+		 * Stop emitting of the events of this type after a failure.
+		 * 
+		 * @param e
+		 *            the failure
+		 */
+		private void disable(Exception e) {
+			factory = null;
+			LOGGER.log(Level.WARNING, "Emitting of event failed: " + name, e);
+		}
+	}
+
+	/**
+	 * Started event.
+	 * 
+	 * @author TODOs Plugin contributors
+	 */
+	public static final class Event {
+		/** Type of the event. */
+		private final EventType type;
+
+		/** The instance of jdk.jfr.Event. */
+		private final Object event;
+
+		/**
+		 * Constructor.
+		 * 
+		 * @param type
+		 *            type of the event
+		 * @param event
+		 *            the instance of jdk.jfr.Event
+		 */
+		private Event(EventType type, Object event) {
+			this.type = type;
+			this.event = event;
+		}
+
+		/**
+		 * Finish the event and commit it to the recording.
+		 * 
+		 * @param values
+		 *            values of the fields in order of their definition
+		 */
+		public void commit(Object... values) {
+			try {
+				type.endEvent.invoke(event);
+
+				if (!((Boolean) type.shouldCommit.invoke(event))
+						.booleanValue()) {
+					return;
+				}
+
+				for (int i = 0; i < values.length; ++i) {
+					type.setField.invoke(event, Integer.valueOf(i), values[i]);
+				}
+
+				type.commitEvent.invoke(event);
+			} catch (Exception e) {
+				type.disable(e);
+			}
+		}
+	}
+}
@@ -0,0 +1,180 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2026 TODOs Plugin contributors
+ * This file is part of TODOs Plugin (Jenkins CI).
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.jenkinsci.plugins.todos.model;
+
+import java.io.IOException;
+import java.io.Serializable;
+
+/**
+ * Limits of the ingested reports. When a limit is exceeded, the processing
+ * either fails or continues with exact statistics and only a deterministic
+ * sample of the comments is stored.
+ * 
+ * @author TODOs Plugin contributors
+ * @see TodosCommentSample
+ */
+public class TodosLimits implements Serializable {
+	/** Serial version UID. */
+	private static final long serialVersionUID = 0;
+
+	/** Size of the sample if the number of comments is not limited. */
+	private static final int DEFAULT_SAMPLE_SIZE = 10000;
+
+	/** Maximal number of report files, zero or negative for no limit. */
+	private final int maxFiles;
+
+	/** Maximal size of a report file, zero or negative for no limit. */
+	private final long maxBytesPerFile;
+
+	/** Maximal number of stored comments, zero or negative for no limit. */
+	private final int maxComments;
+
+	/** Store a sample instead of failing when a limit is exceeded. */
+	private final boolean sample;
+
+	/**
+	 * Constructor.
+	 * 
+	 * @param maxFiles
+	 *            maximal number of report files, zero or negative for no
+	 *            limit
+	 * @param maxBytesPerFile
+	 *            maximal size of a report file, zero or negative for no limit
+	 * @param maxComments
+	 *            maximal number of stored comments, zero or negative for no
+	 *            limit
+	 * @param sample
+	 *            store a sample instead of failing when a limit is exceeded
+	 */
+	public TodosLimits(int maxFiles, long maxBytesPerFile, int maxComments,
+			boolean sample) {
+		this.maxFiles = maxFiles;
+		this.maxBytesPerFile = maxBytesPerFile;
+		this.maxComments = maxComments;
+		this.sample = sample;
+	}
+
+	/**
+	 * Check the number of report files.
+	 * 
+	 * @param numFiles
+	 *            the number of files
+	 * @return description of the violation or null if the limit is not
+	 *         exceeded
+	 */
+	public String checkFiles(int numFiles) {
+		if (maxFiles <= 0 || numFiles <= maxFiles) {
+			return null;
+		}
+
+		return String.format("Number of report files %d exceeds the limit %d",
+				Integer.valueOf(numFiles), Integer.valueOf(maxFiles));
+	}
+
+	/**
+	 * Check the size of a report file.
+	 * 
+	 * @param file
+	 *            the file name
+	 * @param length
+	 *            size of the file in bytes
+	 * @return description of the violation or null if the limit is not
+	 *         exceeded
+	 */
+	public String checkFileSize(String file, long length) {
+		if (maxBytesPerFile <= 0 || length <= maxBytesPerFile) {
+			return null;
+		}
+
+		return String.format(
+				"Size of report file %s (%d bytes) exceeds the limit %d bytes",
+				file, Long.valueOf(length), Long.valueOf(maxBytesPerFile));
+	}
+
+	/**
+	 * Check the number of comments.
+	 * 
+	 * @param numComments
+	 *            the number of comments
+	 * @return description of the violation or null if the limit is not
+	 *         exceeded
+	 */
+	public String checkComments(int numComments) {
+		if (maxComments <= 0 || numComments <= maxComments) {
+			return null;
+		}
+
+		return String.format("Number of comments exceeds the limit %d",
+				Integer.valueOf(maxComments));
+	}
+
+	/**
+	 * Get the maximal number of stored comments.
+	 * 
+	 * @return the number, zero or negative for no limit
+	 */
+	public int getMaxComments() {
+		return maxComments;
+	}
+
+	/**
+	 * Get the maximal number of comments in the sample.
+	 * 
+	 * @return the number
+	 */
+	public int getSampleSize() {
+		return (maxComments > 0) ? maxComments : DEFAULT_SAMPLE_SIZE;
+	}
+
+	/**
+	 * Check whether a sample is stored instead of failing when a limit is
+	 * exceeded.
+	 * 
+	 * @return true to store a sample, false to fail
+	 */
+	public boolean isSample() {
+		return sample;
+	}
+
+	/**
+	 * Exception thrown when a limit is exceeded and a sample is not allowed.
+	 * 
+	 * @author TODOs Plugin contributors
+	 */
+	public static class ExceededException extends IOException {
+		/** Serial version UID. */
+		private static final long serialVersionUID = 0;
+
+		/**
+		 * Constructor.
+		 * 
+		 * @param violation
+		 *            description of the violation
+		 */
+		public ExceededException(String violation) {
+			super(violation);
+		}
+	}
+}
@@ -24,9 +24,6 @@
  */
 package org.jenkinsci.plugins.todos.model;
 
-import hudson.FilePath;
-import hudson.remoting.VirtualChannel;
-
 import java.io.File;
 import java.io.IOException;
 
@@ -46,48 +43,11 @@ import org.xml.sax.SAXException;
  * 
  * @author Michal Turek
  */
-public class TodosParser implements FilePath.FileCallable<TodosReport> {
-	/** Serial version UID. */
-	private static final long serialVersionUID = 0;
-
-	/** Pattern for searching the input files. */
-	private final String filePattern;
-
-	/**
-	 * Constructor initializing members.
-	 * 
-	 * @param filePattern
-	 *            pattern for searching the input files
-	 */
-	public TodosParser(String filePattern) {
-		this.filePattern = filePattern;
-	}
-
+public class TodosParser {
 	/**
-	 * Invoke the parsing.
-	 * 
-	 * @see hudson.FilePath.FileCallable#invoke(java.io.File,
-	 *      hudson.remoting.VirtualChannel)
+	 * Private constructor, static methods only.
 	 */
-	public TodosReport invoke(File workspace, VirtualChannel channel)
-			throws IOException {
-		String[] files = findFiles(workspace, filePattern);
-		TodosReport report = new TodosReport();
-
-		for (String filename : files) {
-			try {
-				File inputFile = new File(workspace, filename);
-				report = report.concatenate(parse(inputFile), inputFile);
-			} catch (SAXException e) {
-				throw new IOException("XML parsing failed: " + filename + ", "
-						+ findExceptionMessage(e), e);
-			} catch (JAXBException e) {
-				throw new IOException("XML parsing failed: " + filename + ", "
-						+ findExceptionMessage(e), e);
-			}
-		}
-
-		return report;
+	private TodosParser() {
 	}
 
 	/**
@@ -141,19 +101,36 @@ public class TodosParser implements FilePath.FileCallable<TodosReport> {
 					+ file.getAbsolutePath());
 		}
 
-		// The constant is not available in this version of Java
-		String W3C_XML_SCHEMA_NS_URI = "http://www.w3.org/2001/XMLSchema";
-		SchemaFactory sf = SchemaFactory
-				.newInstance(/* XMLConstants. */W3C_XML_SCHEMA_NS_URI);
-		Schema schema = sf
-				.newSchema(TodosParser.class.getResource("todos.xsd"));
-
+		Schema schema = loadSchema();
 		JAXBContext context = JAXBContext.newInstance(TodosReport.class);
 
 		Unmarshaller unmarshaller = context.createUnmarshaller();
 		unmarshaller.setSchema(schema);
 
-		return (TodosReport) unmarshaller.unmarshal(file);
+		TodosFlightRecorder.Event event = TodosFlightRecorder.PARSE.begin();
+		TodosReport report = (TodosReport) unmarshaller.unmarshal(file);
+
+		if (event != null) {
+			event.commit(file.getPath(), Long.valueOf(file.length()),
+					Integer.valueOf(report.getCommentsCount()));
+		}
+
+		return report;
+	}
+
+	/**
+	 * Load the XML schema of TODOs reports.
+	 * 
+	 * @return the schema
+	 * @throws SAXException
+	 *             if loading fails
+	 */
+	static Schema loadSchema() throws SAXException {
+		// The constant is not available in this version of Java
+		String W3C_XML_SCHEMA_NS_URI = "http://www.w3.org/2001/XMLSchema";
+		SchemaFactory sf = SchemaFactory
+				.newInstance(/* XMLConstants. */W3C_XML_SCHEMA_NS_URI);
+		return sf.newSchema(TodosParser.class.getResource("todos.xsd"));
 	}
 
 	/**
@@ -166,7 +143,7 @@ public class TodosParser implements FilePath.FileCallable<TodosReport> {
 	 * @throws IOException
 	 *             if something fails
 	 */
-	private String[] findFiles(File workspace, String pattern)
+	static String[] findFiles(File workspace, String pattern)
 			throws IOException {
 		try {
 			FileSet fileSet = new FileSet();
@@ -190,7 +167,7 @@ public class TodosParser implements FilePath.FileCallable<TodosReport> {
 	 *            the root exception to search a message in
 	 * @return the first non empty message if found, otherwise an empty string
 	 */
-	private String findExceptionMessage(Throwable exception) {
+	static String findExceptionMessage(Throwable exception) {
 		Throwable cause = exception;
 
 		while (cause != null) {
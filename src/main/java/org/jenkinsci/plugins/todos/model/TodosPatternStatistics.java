@@ -27,12 +27,15 @@ package org.jenkinsci.plugins.todos.model;
 import java.io.Serializable;
 
 import org.jenkinsci.plugins.todos.HtmlUtils;
+import org.kohsuke.stapler.export.Exported;
+import org.kohsuke.stapler.export.ExportedBean;
 
 /**
  * Statistic of one pattern. The class is thread safe.
  * 
  * @author Michal Turek
  */
+@ExportedBean
 public class TodosPatternStatistics implements Serializable {
 	/** Serial version UID. */
 	private static final long serialVersionUID = 0L;
@@ -68,6 +71,7 @@ public class TodosPatternStatistics implements Serializable {
 	 * 
 	 * @return the name
 	 */
+	@Exported
 	public String getPattern() {
 		return pattern;
 	}
@@ -86,6 +90,7 @@ public class TodosPatternStatistics implements Serializable {
 	 * 
 	 * @return the number of occurrences
 	 */
+	@Exported
 	public int getNumOccurrences() {
 		return numOccurrences;
 	}
@@ -95,6 +100,7 @@ public class TodosPatternStatistics implements Serializable {
 	 * 
 	 * @return the number of files
 	 */
+	@Exported
 	public int getNumFiles() {
 		return numFiles;
 	}
@@ -0,0 +1,296 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2026 TODOs Plugin contributors
+ * This file is part of TODOs Plugin (Jenkins CI).
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.jenkinsci.plugins.todos.model;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Limits of the numbers of comments evaluated against running counters while
+ * the comments are received. The counters only grow, so a limit that is
+ * exceeded once stays exceeded and the processing can be aborted as soon as a
+ * hard limit is crossed. The class is not thread safe.
+ * 
+ * @author TODOs Plugin contributors
+ * @see TodosReportReceiver
+ */
+public class TodosQualityGate {
+	/** The limits. */
+	private final List<Limit> limits = new ArrayList<Limit>();
+
+	/** The exceeded limits in order of their violation. */
+	private final List<Limit> violations = new ArrayList<Limit>();
+
+	/** Number of comments per pattern. */
+	private final Map<String, Integer> counters = new HashMap<String, Integer>();
+
+	/** Number of all comments. */
+	private int total = 0;
+
+	/**
+	 * Add a limit.
+	 * 
+	 * @param pattern
+	 *            the pattern, null for all comments
+	 * @param maxComments
+	 *            the maximal number of comments
+	 * @param hard
+	 *            abort the processing when the limit is exceeded
+	 * @param description
+	 *            description of the limit for the user
+	 */
+	public void addLimit(String pattern, int maxComments, boolean hard,
+			String description) {
+		limits.add(new Limit(pattern, maxComments, hard, description));
+	}
+
+	/**
+	 * Check whether there is no limit.
+	 * 
+	 * @return true if there is no limit, otherwise false
+	 */
+	public boolean isEmpty() {
+		return limits.isEmpty();
+	}
+
+	/**
+	 * Count comments of a pattern.
+	 * 
+	 * @param pattern
+	 *            the pattern
+	 * @param numComments
+	 *            number of the comments
+	 */
+	void add(String pattern, int numComments) {
+		Integer count = counters.get(pattern);
+		counters.put(pattern, Integer.valueOf((count == null) ? numComments
+				: count.intValue() + numComments));
+		total += numComments;
+	}
+
+	/**
+	 * Evaluate the limits against the current counters.
+	 * 
+	 * @throws ViolationException
+	 *             if a hard limit is exceeded
+	 */
+	void check() throws ViolationException {
+		for (Limit limit : limits) {
+			if (limit.violated) {
+				continue;
+			}
+
+			int count = getCount(limit.pattern);
+
+			if (count > limit.maxComments) {
+				limit.violated = true;
+				limit.count = count;
+				violations.add(limit);
+
+				if (limit.hard) {
+					throw new ViolationException(limit);
+				}
+			}
+		}
+	}
+
+	/**
+	 * Get the current number of comments.
+	 * 
+	 * @param pattern
+	 *            the pattern, null for all comments
+	 * @return the number
+	 */
+	private int getCount(String pattern) {
+		if (pattern == null) {
+			return total;
+		}
+
+		Integer count = counters.get(pattern);
+		return (count == null) ? 0 : count.intValue();
+	}
+
+	/**
+	 * Get the exceeded limits.
+	 * 
+	 * @return unmodifiable list with the limits in order of their violation
+	 */
+	public List<Limit> getViolations() {
+		return Collections.unmodifiableList(violations);
+	}
+
+	/**
+	 * Check whether a hard limit is exceeded.
+	 * 
+	 * @return true if a hard limit is exceeded, otherwise false
+	 */
+	public boolean isHardViolated() {
+		for (Limit limit : violations) {
+			if (limit.hard) {
+				return true;
+			}
+		}
+
+		return false;
+	}
+
+	/**
+	 * Limit of the number of comments.
+	 * 
+	 * @author TODOs Plugin contributors
+	 */
+	public static class Limit {
+		/** The pattern, null for all comments. */
+		private final String pattern;
+
+		/** The maximal number of comments. */
+		private final int maxComments;
+
+		/** Abort the processing when the limit is exceeded. */
+		private final boolean hard;
+
+		/** Description of the limit for the user. */
+		private final String description;
+
+		/** The limit was exceeded. */
+		private boolean violated = false;
+
+		/** Number of comments when the violation was detected. */
+		private int count = 0;
+
+		/**
+		 * Constructor.
+		 * 
+		 * @param pattern
+		 *            the pattern, null for all comments
+		 * @param maxComments
+		 *            the maximal number of comments
+		 * @param hard
+		 *            abort the processing when the limit is exceeded
+		 * @param description
+		 *            description of the limit for the user
+		 */
+		Limit(String pattern, int maxComments, boolean hard,
+				String description) {
+			this.pattern = pattern;
+			this.maxComments = maxComments;
+			this.hard = hard;
+			this.description = description;
+		}
+
+		/**
+		 * Get the pattern.
+		 * 
+		 * @return the pattern, null for all comments
+		 */
+		public String getPattern() {
+			return pattern;
+		}
+
+		/**
+		 * Get the maximal number of comments.
+		 * 
+		 * @return the number
+		 */
+		public int getMaxComments() {
+			return maxComments;
+		}
+
+		/**
+		 * Check whether the processing is aborted when the limit is
+		 * exceeded.
+		 * 
+		 * @return true if the limit is hard, otherwise false
+		 */
+		public boolean isHard() {
+			return hard;
+		}
+
+		/**
+		 * Get description of the limit.
+		 * 
+		 * @return the description
+		 */
+		public String getDescription() {
+			return description;
+		}
+
+		/**
+		 * Get number of comments when the violation was detected. The
+		 * processing of a soft limit continues, the final number may be
+		 * higher.
+		 * 
+		 * @return the number, zero if the limit is not exceeded
+		 */
+		public int getCount() {
+			return count;
+		}
+
+		@Override
+		public String toString() {
+			return String.format("%s: %d %s comments, maximum is %d",
+					description, Integer.valueOf(count),
+					(pattern == null) ? "all" : pattern,
+					Integer.valueOf(maxComments));
+		}
+	}
+
+	/**
+	 * Exception thrown when a hard limit is exceeded.
+	 * 
+	 * @author TODOs Plugin contributors
+	 */
+	public static class ViolationException extends IOException {
+		/** Serial version UID. */
+		private static final long serialVersionUID = 0;
+
+		/** The exceeded limit. */
+		private final transient Limit limit;
+
+		/**
+		 * Constructor.
+		 * 
+		 * @param limit
+		 *            the exceeded limit
+		 */
+		ViolationException(Limit limit) {
+			super("Threshold exceeded, " + limit);
+			this.limit = limit;
+		}
+
+		/**
+		 * Get the exceeded limit.
+		 * 
+		 * @return the limit
+		 */
+		public Limit getLimit() {
+			return limit;
+		}
+	}
+}
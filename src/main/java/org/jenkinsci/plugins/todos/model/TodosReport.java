@@ -25,18 +25,18 @@
 package org.jenkinsci.plugins.todos.model;
 
 import java.io.File;
+import java.io.IOException;
+import java.io.InvalidObjectException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
 import java.io.Serializable;
 import java.util.ArrayList;
 import java.util.Collections;
-import java.util.Comparator;
 import java.util.HashMap;
-import java.util.HashSet;
-import java.util.Iterator;
-import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
-import java.util.Set;
 
+import javax.xml.bind.Unmarshaller;
 import javax.xml.bind.annotation.XmlAccessType;
 import javax.xml.bind.annotation.XmlAccessorType;
 import javax.xml.bind.annotation.XmlAttribute;
@@ -46,6 +46,10 @@ import javax.xml.bind.annotation.XmlRootElement;
 /**
  * Report that stores all comments that were found. The class is thread safe.
  * 
+ * The comments are stored in a columnar {@link TodosCommentStore}, file paths
+ * and patterns are stored only once in its dictionaries. The report is
+ * serialized using the compact form of {@link TodosReportCodec}.
+ * 
  * @author Michal Turek
  */
 @XmlAccessorType(XmlAccessType.FIELD)
@@ -54,9 +58,15 @@ public class TodosReport implements Serializable {
 	/** Serial version UID. */
 	private static final long serialVersionUID = 1L;
 
-	/** All comments that were found. */
+	/**
+	 * Comments as created by JAXB, they are moved to the store after
+	 * unmarshalling.
+	 */
 	@XmlElement(namespace = "http://todos.sourceforge.net", name = "comment", type = TodosComment.class)
-	private final List<TodosComment> comments;
+	private List<TodosComment> comments;
+
+	/** All comments that were found. */
+	private final transient TodosCommentStore store;
 
 	/** The version of the file format. */
 	@XmlAttribute
@@ -69,8 +79,7 @@ public class TodosReport implements Serializable {
 	 * Helper constructor to create an empty instance.
 	 */
 	public TodosReport() {
-		this(Collections.<TodosComment> emptyList(), Collections
-				.<SlaveFile> emptyList(), "");
+		this(Collections.<TodosComment> emptyList());
 	}
 
 	/**
@@ -80,33 +89,80 @@ public class TodosReport implements Serializable {
 	 *            all comments that were found
 	 */
 	public TodosReport(List<TodosComment> comments) {
-		this(comments, Collections.<SlaveFile> emptyList(), "");
+		this(createStore(comments), Collections.<SlaveFile> emptyList(), "");
 	}
 
 	/**
 	 * Constructor initializing members.
 	 * 
-	 * @param comments
+	 * @param store
 	 *            all comments that were found
 	 * @param sourceFiles
 	 *            the list of files from which the original report was created
 	 * @param version
 	 *            the version of the file format if loaded from a file
 	 */
-	private TodosReport(List<TodosComment> comments,
-			List<SlaveFile> sourceFiles, String version) {
-		this.comments = new ArrayList<TodosComment>(comments);
+	TodosReport(TodosCommentStore store, List<SlaveFile> sourceFiles,
+			String version) {
+		store.trimToSize();
+		this.store = store;
 		this.sourceFiles = new ArrayList<SlaveFile>(sourceFiles);
 		this.version = version;
 	}
 
+	/**
+	 * Create a store containing comments.
+	 * 
+	 * @param comments
+	 *            the comments
+	 * @return the store
+	 */
+	private static TodosCommentStore createStore(List<TodosComment> comments) {
+		TodosCommentStore store = new TodosCommentStore(comments.size());
+
+		for (TodosComment comment : comments) {
+			store.add(comment);
+		}
+
+		return store;
+	}
+
+	/**
+	 * Move the comments created by JAXB to the store. Called by JAXB.
+	 * 
+	 * @param unmarshaller
+	 *            the unmarshaller
+	 * @param parent
+	 *            the parent object, null for the root element
+	 */
+	@SuppressWarnings("unused")
+	private void afterUnmarshal(Unmarshaller unmarshaller, Object parent) {
+		if (comments != null) {
+			for (TodosComment comment : comments) {
+				store.add(comment);
+			}
+
+			store.trimToSize();
+			comments = null;
+		}
+	}
+
 	/**
 	 * Get all comments.
 	 * 
-	 * @return the comments
+	 * @return read only view of the comments
 	 */
 	public List<TodosComment> getComments() {
-		return Collections.unmodifiableList(comments);
+		return store.asList();
+	}
+
+	/**
+	 * Get all comments in the columnar form.
+	 * 
+	 * @return the store, it must not be modified
+	 */
+	public TodosCommentStore getCommentStore() {
+		return store;
 	}
 
 	/**
@@ -123,13 +179,15 @@ public class TodosReport implements Serializable {
 		String version = (!this.version.isEmpty()) ? this.version
 				: report.version;
 
-		List<TodosComment> commentsList = new ArrayList<TodosComment>(comments);
-		commentsList.addAll(report.getComments());
+		TodosCommentStore commentsStore = new TodosCommentStore(store.size()
+				+ report.store.size());
+		commentsStore.addAll(store);
+		commentsStore.addAll(report.store);
 
 		List<SlaveFile> filesList = new ArrayList<SlaveFile>(sourceFiles);
 		filesList.add(new SlaveFile(inputFile));
 
-		return new TodosReport(commentsList, filesList, version);
+		return new TodosReport(commentsStore, filesList, version);
 	}
 
 	/**
@@ -150,7 +208,16 @@ public class TodosReport implements Serializable {
 	 * @return the number of comments
 	 */
 	public int getCommentsCount() {
-		return comments.size();
+		return store.size();
+	}
+
+	/**
+	 * Get the version of the file format.
+	 * 
+	 * @return the version, empty if the report wasn't loaded from a file
+	 */
+	public String getVersion() {
+		return version;
 	}
 
 	/**
@@ -168,53 +235,60 @@ public class TodosReport implements Serializable {
 	 * @return the statistics
 	 */
 	public TodosReportStatistics getStatistics() {
-		Set<String> filesWithComments = new HashSet<String>();
-		Map<String, PatternStatistics> patternStatistics = new HashMap<String, PatternStatistics>();
+		return store.getStatistics();
+	}
 
-		for (TodosComment comment : comments) {
-			filesWithComments.add(comment.getFile());
-
-			PatternStatistics storedPattern = patternStatistics.get(comment
-					.getPattern());
-
-			if (storedPattern == null) {
-				patternStatistics.put(
-						comment.getPattern(),
-						new PatternStatistics(comment.getPattern(), comment
-								.getFile()));
-			} else {
-				storedPattern.increment(comment.getFile());
-			}
+	/**
+	 * Get the per-directory statistics for this report.
+	 * 
+	 * @param maxDepth
+	 *            the maximal depth of the directory tree
+	 * @return the root of the directory tree
+	 */
+	public TodosDirectoryStatistics getDirectoryStatistics(int maxDepth) {
+		TodosDirectoryStatisticsBuilder builder = new TodosDirectoryStatisticsBuilder(
+				maxDepth);
+		TodosStringDictionary files = store.getFiles();
+		int[] counts = store.countByFile();
+
+		for (int i = 0; i < counts.length; ++i) {
+			builder.add(files.get(i), counts[i]);
 		}
 
-		return convertStatistics(patternStatistics);
+		return builder.build();
 	}
 
 	/**
-	 * Convert statistics from internal to the final one.
+	 * Get the highest level of {@link TodosCommentSample} at which all the
+	 * comments of the report are selected.
 	 * 
-	 * @param sourceStatistics
-	 *            the source statistics
-	 * @return the statistics
+	 * @return the level
 	 */
-	private TodosReportStatistics convertStatistics(
-			Map<String, PatternStatistics> sourceStatistics) {
-		List<TodosPatternStatistics> statistics = new ArrayList<TodosPatternStatistics>(
-				sourceStatistics.size());
-
-		for (Map.Entry<String, PatternStatistics> entry : sourceStatistics
-				.entrySet()) {
-			statistics.add(new TodosPatternStatistics(entry.getValue().pattern,
-					entry.getValue().numOccurrences,
-					entry.getValue().filesWithComment.size()));
-		}
+	public int getSampleLevel() {
+		return TodosCommentSample.getLevel(store);
+	}
 
-		return new TodosReportStatistics(statistics);
+	/**
+	 * Select the comments of a level of {@link TodosCommentSample}.
+	 * 
+	 * @param level
+	 *            the level
+	 * @return new report with the selected comments
+	 */
+	public TodosReport selectSample(int level) {
+		return new TodosReport(TodosCommentSample.select(store, level),
+				sourceFiles, version);
 	}
 
 	/**
 	 * Diff two reports.
 	 * 
+	 * A comment of the current report matches the first unmatched comment of
+	 * the previous report with the same file, line and source code. The rest
+	 * of the comments is matched on the file and source code only. The result
+	 * contains the new comments, then the solved ones and then the unchanged
+	 * ones, each group in the original order.
+	 * 
 	 * @param previous
 	 *            the previous/older report
 	 * @return the newly generated report with the results
@@ -224,91 +298,93 @@ public class TodosReport implements Serializable {
 			return this;
 		}
 
-		List<TodosComment> current = comments;
-		List<TodosComment> previous = new LinkedList<TodosComment>(
-				previousReport.getComments());
-		List<TodosComment> results = new LinkedList<TodosComment>();
+		TodosFlightRecorder.Event event = TodosFlightRecorder.DIFF.begin();
+		TodosCommentStore current = store;
+		TodosCommentStore previous = previousReport.store;
+		int[] fileIds = mapFileIds(previous, current);
 
-		Iterator<TodosComment> it = current.iterator();
+		// Match of a comment, index of the other comment or -1
+		int[] currentMatches = new int[current.size()];
+		boolean[] previousMatched = new boolean[previous.size()];
+		boolean[] exactMatches = new boolean[current.size()];
 
 		// Exact match
-		while (it.hasNext()) {
-			TodosComment comment = it.next();
+		DiffIndex exactIndex = new DiffIndex(previous, fileIds, true);
 
-			if (findAndRemoveComment(previous, comment, true)) {
-				results.add(new TodosComment(comment, TodosDiffStatus.UNCHANGED));
-				it.remove();
-			}
+		for (int i = 0; i < current.size(); ++i) {
+			currentMatches[i] = exactIndex.findAndRemove(current, i,
+					previousMatched);
+			exactMatches[i] = currentMatches[i] >= 0;
 		}
 
 		// Inexact match of the rest
-		for (TodosComment comment : current) {
-			if (findAndRemoveComment(previous, comment, false)) {
-				results.add(new TodosComment(comment, TodosDiffStatus.UNCHANGED));
-			} else {
-				results.add(new TodosComment(comment, TodosDiffStatus.NEW));
+		DiffIndex inexactIndex = new DiffIndex(previous, fileIds, false);
+
+		for (int i = 0; i < current.size(); ++i) {
+			if (currentMatches[i] < 0) {
+				currentMatches[i] = inexactIndex.findAndRemove(current, i,
+						previousMatched);
+			}
+		}
+
+		TodosCommentStore results = new TodosCommentStore(current.size()
+				+ previous.size());
+
+		for (int i = 0; i < current.size(); ++i) {
+			if (currentMatches[i] < 0) {
+				results.add(current, i, TodosDiffStatus.NEW);
 			}
 		}
 
-		// Deleted comments
-		for (TodosComment comment : previous) {
-			results.add(new TodosComment(comment, TodosDiffStatus.SOLVED));
+		for (int i = 0; i < previous.size(); ++i) {
+			if (!previousMatched[i]) {
+				results.add(previous, i, TodosDiffStatus.SOLVED);
+			}
+		}
+
+		for (int i = 0; i < current.size(); ++i) {
+			if (exactMatches[i]) {
+				results.add(current, i, TodosDiffStatus.UNCHANGED);
+			}
 		}
 
-		// Sort according to diff status
-		Collections.sort(results, new Comparator<TodosComment>() {
-			public int compare(TodosComment o1, TodosComment o2) {
-				return o1.getDiffStatus().ordinal()
-						- o2.getDiffStatus().ordinal();
+		for (int i = 0; i < current.size(); ++i) {
+			if (currentMatches[i] >= 0 && !exactMatches[i]) {
+				results.add(current, i, TodosDiffStatus.UNCHANGED);
 			}
-		});
+		}
+
+		if (event != null) {
+			event.commit(Integer.valueOf(current.size()),
+					Integer.valueOf(previous.size()),
+					Integer.valueOf(results.size()));
+		}
 
-		return new TodosReport(results);
+		return new TodosReport(results, Collections.<SlaveFile> emptyList(),
+				"");
 	}
 
 	/**
-	 * Search a comment in a list of comments. Remove the comment from the list
-	 * on match.
+	 * Map indices of files in a dictionary to indices in other one.
 	 * 
-	 * @param comments
-	 *            the list of comments
-	 * @param search
-	 *            the comment to search
-	 * @param exactMatch
-	 *            if true check file, line and source code, if false check only
-	 *            file and source code
-	 * @return true if the comment was found and removed from the list
+	 * @param from
+	 *            the store with the source dictionary
+	 * @param to
+	 *            the store with the destination dictionary
+	 * @return the indices in the destination dictionary indexed by the
+	 *         indices in the source one, -1 if the file is not present
 	 */
-	private boolean findAndRemoveComment(List<TodosComment> comments,
-			TodosComment search, boolean exactMatch) {
-		Iterator<TodosComment> it = comments.iterator();
-
-		if (exactMatch) {
-			while (it.hasNext()) {
-				TodosComment comment = it.next();
-
-				if (comment.getLine() == search.getLine()
-						&& comment.getFile().equals(search.getFile())
-						&& comment.getSourceCode().equals(
-								search.getSourceCode())) {
-					it.remove();
-					return true;
-				}
-			}
-		} else {
-			while (it.hasNext()) {
-				TodosComment comment = it.next();
-
-				if (comment.getFile().equals(search.getFile())
-						&& comment.getSourceCode().equals(
-								search.getSourceCode())) {
-					it.remove();
-					return true;
-				}
-			}
+	private static int[] mapFileIds(TodosCommentStore from,
+			TodosCommentStore to) {
+		TodosStringDictionary fromFiles = from.getFiles();
+		TodosStringDictionary toFiles = to.getFiles();
+		int[] fileIds = new int[fromFiles.size()];
+
+		for (int i = 0; i < fileIds.length; ++i) {
+			fileIds[i] = toFiles.indexOf(fromFiles.get(i));
 		}
 
-		return false;
+		return fileIds;
 	}
 
 	/**
@@ -317,15 +393,7 @@ public class TodosReport implements Serializable {
 	 * @return the number of comments
 	 */
 	public int getNewCommentsCount() {
-		int num = 0;
-
-		for (TodosComment comment : comments) {
-			if (comment.getDiffStatus() == TodosDiffStatus.NEW) {
-				++num;
-			}
-		}
-
-		return num;
+		return store.count(TodosDiffStatus.NEW);
 	}
 
 	/**
@@ -334,57 +402,249 @@ public class TodosReport implements Serializable {
 	 * @return the number of comments
 	 */
 	public int getSolvedCommentsCount() {
-		int num = 0;
+		return store.count(TodosDiffStatus.SOLVED);
+	}
 
-		for (TodosComment comment : comments) {
-			if (comment.getDiffStatus() == TodosDiffStatus.SOLVED) {
-				++num;
-			}
+	/**
+	 * Serialize the report using its compact form.
+	 * 
+	 * @return the serialized form
+	 */
+	private Object writeReplace() {
+		return new SerializedReport(this);
+	}
+
+	/**
+	 * The report is always serialized using its compact form.
+	 * 
+	 * @param stream
+	 *            the input stream
+	 * @throws InvalidObjectException
+	 *             always
+	 */
+	private void readObject(ObjectInputStream stream)
+			throws InvalidObjectException {
+		throw new InvalidObjectException(
+				"Serialized form of the report expected");
+	}
+
+	/**
+	 * Serialized form of the report, the data are written by
+	 * {@link TodosReportCodec}.
+	 * 
+	 * @author TODOs Plugin contributors
+	 */
+	private static class SerializedReport implements Serializable {
+		/** Serial version UID. */
+		private static final long serialVersionUID = 2L;
+
+		/** The report. */
+		private transient TodosReport report;
+
+		/**
+		 * Constructor.
+		 * 
+		 * @param report
+		 *            the report to serialize
+		 */
+		SerializedReport(TodosReport report) {
+			this.report = report;
 		}
 
-		return num;
+		/**
+		 * Write the report.
+		 * 
+		 * @param stream
+		 *            the output stream
+		 * @throws IOException
+		 *             if writing fails
+		 */
+		private void writeObject(ObjectOutputStream stream) throws IOException {
+			stream.defaultWriteObject();
+			TodosReportCodec.write(report, stream);
+		}
+
+		/**
+		 * Read the report.
+		 * 
+		 * @param stream
+		 *            the input stream
+		 * @throws IOException
+		 *             if reading fails
+		 * @throws ClassNotFoundException
+		 *             if a class of a serialized object cannot be found
+		 */
+		private void readObject(ObjectInputStream stream) throws IOException,
+				ClassNotFoundException {
+			stream.defaultReadObject();
+			report = TodosReportCodec.read(stream);
+		}
+
+		/**
+		 * Get the deserialized report.
+		 * 
+		 * @return the report
+		 */
+		private Object readResolve() {
+			return report;
+		}
 	}
 
 	/**
-	 * Helper structure to compute statistics of a pattern. For internal use
-	 * only.
+	 * Index of comments of a report used to search matching comments in a
+	 * diff. Comments with equal keys are chained in their original order. For
+	 * internal use only.
 	 * 
-	 * @author Michal Turek
+	 * @author TODOs Plugin contributors
 	 */
-	private static class PatternStatistics {
-		/** The pattern name. */
-		public String pattern;
+	private static class DiffIndex {
+		/** The indexed comments. */
+		private final TodosCommentStore store;
+
+		/** Indices of files of the indexed comments in the searched report. */
+		private final int[] fileIds;
 
-		/** Number of occurrences of a pattern. */
-		public int numOccurrences;
+		/** Compare also lines. */
+		private final boolean exactMatch;
 
-		/** Helper structure to compute number of files with this pattern. */
-		public Set<String> filesWithComment;
+		/** The first comment in a chain of comments with equal keys. */
+		private final Map<DiffKey, int[]> heads = new HashMap<DiffKey, int[]>();
+
+		/** The next comment in the chain or -1. */
+		private final int[] next;
 
 		/**
-		 * Constructor initializing members.
+		 * Constructor.
 		 * 
-		 * @param pattern
-		 *            the pattern name
-		 * @param file
-		 *            the file in which the comment was found
+		 * @param store
+		 *            the comments to index
+		 * @param fileIds
+		 *            indices of files of the indexed comments in the searched
+		 *            report, -1 for files that are not present
+		 * @param exactMatch
+		 *            if true the key is file, line and source code, if false
+		 *            the key is only file and source code
 		 */
-		public PatternStatistics(String pattern, String file) {
-			this.pattern = pattern;
-			this.numOccurrences = 1;
-			this.filesWithComment = new HashSet<String>();
-			filesWithComment.add(file);
+		DiffIndex(TodosCommentStore store, int[] fileIds, boolean exactMatch) {
+			this.store = store;
+			this.fileIds = fileIds;
+			this.exactMatch = exactMatch;
+			this.next = new int[store.size()];
+
+			// Backwards to chain the comments in their original order
+			for (int i = store.size() - 1; i >= 0; --i) {
+				int fileId = fileIds[store.getFileId(i)];
+
+				if (fileId < 0) {
+					continue;
+				}
+
+				DiffKey key = new DiffKey(store, i, fileId, exactMatch);
+				int[] head = heads.get(key);
+
+				if (head == null) {
+					next[i] = -1;
+					heads.put(key, new int[] { i });
+				} else {
+					next[i] = head[0];
+					head[0] = i;
+				}
+			}
 		}
 
 		/**
-		 * New occurrence was found, increment the counters.
+		 * Search the first unmatched comment equal to a comment and mark it as
+		 * matched.
 		 * 
-		 * @param file
-		 *            the file in which the comment was found
+		 * @param search
+		 *            the store of the searched comment
+		 * @param index
+		 *            index of the searched comment
+		 * @param matched
+		 *            the already matched indexed comments
+		 * @return index of the found comment or -1
+		 */
+		int findAndRemove(TodosCommentStore search, int index, boolean[] matched) {
+			int[] head = heads.get(new DiffKey(search, index,
+					search.getFileId(index), exactMatch));
+
+			if (head == null) {
+				return -1;
+			}
+
+			while (head[0] >= 0 && matched[head[0]]) {
+				head[0] = next[head[0]];
+			}
+
+			int found = head[0];
+
+			if (found >= 0) {
+				matched[found] = true;
+				head[0] = next[found];
+			}
+
+			return found;
+		}
+	}
+
+	/**
+	 * Key of a comment in the diff index. For internal use only.
+	 * 
+	 * @author TODOs Plugin contributors
+	 */
+	private static class DiffKey {
+		/** The store of the comment. */
+		private final TodosCommentStore store;
+
+		/** Index of the comment. */
+		private final int index;
+
+		/** Index of the file in the dictionary of the current report. */
+		private final int fileId;
+
+		/** The line or 0 if lines are not compared. */
+		private final int line;
+
+		/** Hash code of the key. */
+		private final int hash;
+
+		/**
+		 * Constructor.
+		 * 
+		 * @param store
+		 *            the store of the comment
+		 * @param index
+		 *            index of the comment
+		 * @param fileId
+		 *            index of the file in the dictionary of the current report
+		 * @param exactMatch
+		 *            compare also lines
 		 */
-		public void increment(String file) {
-			++numOccurrences;
-			filesWithComment.add(file);
+		DiffKey(TodosCommentStore store, int index, int fileId,
+				boolean exactMatch) {
+			this.store = store;
+			this.index = index;
+			this.fileId = fileId;
+			this.line = exactMatch ? store.getLine(index) : 0;
+			this.hash = (31 * fileId + line) * 31
+					+ store.getSourceCodeHash(index);
+		}
+
+		@Override
+		public int hashCode() {
+			return hash;
+		}
+
+		@Override
+		public boolean equals(Object obj) {
+			if (!(obj instanceof DiffKey)) {
+				return false;
+			}
+
+			DiffKey other = (DiffKey) obj;
+			return hash == other.hash && fileId == other.fileId
+					&& line == other.line
+					&& store.sourceCodeEquals(index, other.store, other.index);
 		}
 	}
 
@@ -411,8 +671,20 @@ public class TodosReport implements Serializable {
 		 *            the file in the file system
 		 */
 		public SlaveFile(File file) {
-			this.name = file.getName();
-			this.absolutePath = file.getAbsolutePath();
+			this(file.getName(), file.getAbsolutePath());
+		}
+
+		/**
+		 * Constructor.
+		 * 
+		 * @param name
+		 *            the file name
+		 * @param absolutePath
+		 *            the absolute path to the file
+		 */
+		SlaveFile(String name, String absolutePath) {
+			this.name = name;
+			this.absolutePath = absolutePath;
 		}
 
 		/**
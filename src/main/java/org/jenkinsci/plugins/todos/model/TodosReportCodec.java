@@ -0,0 +1,374 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2026 TODOs Plugin contributors
+ * This file is part of TODOs Plugin (Jenkins CI).
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.jenkinsci.plugins.todos.model;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.nio.charset.Charset;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Compact binary form of a report. It is used for the serialization of the
+ * report, e.g. for the transfer from a slave to the master.
+ * 
+ * The form consists of a header, the dictionaries of files and patterns and a
+ * block of comments. Integers are stored as variable length quantities, seven
+ * bits per byte, strings are UTF-8 encoded and prefixed by their length plus
+ * one, zero stands for null. Each comment is stored as the index of its file,
+ * the index of its pattern, the line, the diff status and the source code.
+ * 
+ * @author TODOs Plugin contributors
+ */
+public final class TodosReportCodec {
+	/** Identification of the format, "TODO" in ASCII. */
+	private static final int MAGIC = 0x544f444f;
+
+	/** Version of the format. */
+	private static final int FORMAT_VERSION = 1;
+
+	/**
+	 * Maximal length of a string or a source code in bytes. The data come
+	 * from a slave, a corrupted length must not exhaust the memory. Longer
+	 * source codes are truncated when written, longer strings are rejected.
+	 */
+	static final int MAX_STRING_LENGTH = 16 * 1024 * 1024;
+
+	/** Maximal number of source files allocated in advance. */
+	private static final int MAX_INITIAL_CAPACITY = 1024;
+
+	/** Encoding of the strings. */
+	private static final Charset UTF_8 = Charset.forName("UTF-8");
+
+	/** The diff statuses indexed by ordinal. */
+	private static final TodosDiffStatus[] STATUSES = TodosDiffStatus.values();
+
+	/**
+	 * Utility class.
+	 */
+	private TodosReportCodec() {
+	}
+
+	/**
+	 * Write a report.
+	 * 
+	 * @param report
+	 *            the report
+	 * @param output
+	 *            the output
+	 * @throws IOException
+	 *             if writing fails or a string is longer than the limit
+	 */
+	public static void write(TodosReport report, DataOutput output)
+			throws IOException {
+		TodosCommentStore store = report.getCommentStore();
+
+		output.writeInt(MAGIC);
+		writeVarInt(output, FORMAT_VERSION);
+		writeString(output, report.getVersion());
+
+		List<TodosReport.SlaveFile> sourceFiles = report.getSourceFiles();
+		writeVarInt(output, sourceFiles.size());
+
+		for (TodosReport.SlaveFile file : sourceFiles) {
+			writeString(output, file.getName());
+			writeString(output, file.getAbsolutePath());
+		}
+
+		writeDictionary(output, store.getFiles());
+		writeDictionary(output, store.getPatterns());
+
+		byte[] text = store.getText();
+		writeVarInt(output, store.size());
+
+		for (int i = 0; i < store.size(); ++i) {
+			TodosDiffStatus status = store.getDiffStatus(i);
+			int start = store.getTextStart(i);
+			int length = truncate(text, start, store.getTextEnd(i) - start,
+					MAX_STRING_LENGTH);
+
+			writeVarInt(output, store.getFileId(i));
+			writeVarInt(output, store.getPatternId(i));
+			writeVarInt(output, store.getLine(i));
+			output.writeByte((status == null) ? 0 : status.ordinal() + 1);
+			writeVarInt(output, length);
+			output.write(text, start, length);
+		}
+	}
+
+	/**
+	 * Read a report.
+	 * 
+	 * @param input
+	 *            the input
+	 * @return the report
+	 * @throws IOException
+	 *             if reading fails or the data are not valid, lengths and
+	 *             counts are checked before anything is allocated
+	 */
+	public static TodosReport read(DataInput input) throws IOException {
+		if (input.readInt() != MAGIC) {
+			throw new IOException("Invalid format of the report");
+		}
+
+		int formatVersion = readVarInt(input);
+
+		if (formatVersion != FORMAT_VERSION) {
+			throw new IOException("Unsupported version of the report format: "
+					+ formatVersion);
+		}
+
+		String version = readString(input);
+		int numSourceFiles = readLength(input, Integer.MAX_VALUE,
+				"number of source files");
+		List<TodosReport.SlaveFile> sourceFiles = new ArrayList<TodosReport.SlaveFile>(
+				Math.min(numSourceFiles, MAX_INITIAL_CAPACITY));
+
+		for (int i = 0; i < numSourceFiles; ++i) {
+			String name = readString(input);
+			String absolutePath = readString(input);
+			sourceFiles.add(new TodosReport.SlaveFile(name, absolutePath));
+		}
+
+		int numFiles = readLength(input, Integer.MAX_VALUE, "number of files");
+		TodosCommentStore store = new TodosCommentStore(0);
+		readDictionary(input, store.getFiles(), numFiles);
+		readDictionary(input, store.getPatterns(),
+				readLength(input, Integer.MAX_VALUE, "number of patterns"));
+
+		int size = readLength(input, Integer.MAX_VALUE, "number of comments");
+
+		for (int i = 0; i < size; ++i) {
+			int fileId = readVarInt(input);
+			int patternId = readVarInt(input);
+			int line = readVarInt(input);
+			int status = input.readUnsignedByte();
+
+			if (status > STATUSES.length) {
+				throw new IOException("Invalid diff status: " + status);
+			}
+
+			int length = readLength(input, MAX_STRING_LENGTH,
+					"length of source code");
+			store.add(patternId, fileId, line,
+					(status == 0) ? null : STATUSES[status - 1], input, length);
+		}
+
+		return new TodosReport(store, sourceFiles, version);
+	}
+
+	/**
+	 * Write a dictionary.
+	 * 
+	 * @param output
+	 *            the output
+	 * @param dictionary
+	 *            the dictionary
+	 * @throws IOException
+	 *             if writing fails
+	 */
+	private static void writeDictionary(DataOutput output,
+			TodosStringDictionary dictionary) throws IOException {
+		writeVarInt(output, dictionary.size());
+
+		for (int i = 0; i < dictionary.size(); ++i) {
+			writeString(output, dictionary.get(i));
+		}
+	}
+
+	/**
+	 * Read a dictionary.
+	 * 
+	 * @param input
+	 *            the input
+	 * @param dictionary
+	 *            the empty dictionary to fill
+	 * @param size
+	 *            number of values
+	 * @throws IOException
+	 *             if reading fails or the values are not distinct
+	 */
+	private static void readDictionary(DataInput input,
+			TodosStringDictionary dictionary, int size) throws IOException {
+		for (int i = 0; i < size; ++i) {
+			if (dictionary.add(readString(input)) != i) {
+				throw new IOException("Duplicate value in a dictionary");
+			}
+		}
+	}
+
+	/**
+	 * Write a string.
+	 * 
+	 * @param output
+	 *            the output
+	 * @param value
+	 *            the string, may be null
+	 * @throws IOException
+	 *             if writing fails or the string is longer than
+	 *             {@link #MAX_STRING_LENGTH} bytes
+	 */
+	static void writeString(DataOutput output, String value)
+			throws IOException {
+		if (value == null) {
+			writeVarInt(output, 0);
+			return;
+		}
+
+		byte[] bytes = value.getBytes(UTF_8);
+
+		if (bytes.length > MAX_STRING_LENGTH) {
+			// It would be rejected by the reader
+			throw new IOException("String too long to be stored: "
+					+ bytes.length + " bytes, the limit is "
+					+ MAX_STRING_LENGTH + " bytes");
+		}
+
+		writeVarInt(output, bytes.length + 1);
+		output.write(bytes);
+	}
+
+	/**
+	 * Get length of UTF-8 encoded text truncated to a limit. The text is cut
+	 * before a character, never inside of it.
+	 * 
+	 * @param text
+	 *            the encoded text
+	 * @param start
+	 *            start of the text
+	 * @param length
+	 *            length of the text
+	 * @param max
+	 *            the maximal length
+	 * @return the length, at most max
+	 */
+	static int truncate(byte[] text, int start, int length, int max) {
+		if (length <= max) {
+			return length;
+		}
+
+		int end = start + max;
+
+		// Skip back over the continuation bytes of a split character
+		while (end > start && (text[end] & 0xc0) == 0x80) {
+			--end;
+		}
+
+		return end - start;
+	}
+
+	/**
+	 * Read a string.
+	 * 
+	 * @param input
+	 *            the input
+	 * @return the string, may be null
+	 * @throws IOException
+	 *             if reading fails or the length is not valid
+	 */
+	static String readString(DataInput input) throws IOException {
+		int length = readLength(input, MAX_STRING_LENGTH + 1,
+				"length of string");
+
+		if (length == 0) {
+			return null;
+		}
+
+		byte[] bytes = new byte[length - 1];
+		input.readFully(bytes);
+		return new String(bytes, UTF_8);
+	}
+
+	/**
+	 * Read a length or a count and check its range.
+	 * 
+	 * @param input
+	 *            the input
+	 * @param max
+	 *            the maximal valid value
+	 * @param description
+	 *            description of the value for the error message
+	 * @return the value
+	 * @throws IOException
+	 *             if reading fails or the value is negative or too large
+	 */
+	static int readLength(DataInput input, int max, String description)
+			throws IOException {
+		int value = readVarInt(input);
+
+		if (value < 0 || value > max) {
+			throw new IOException("Invalid " + description + ": " + value);
+		}
+
+		return value;
+	}
+
+	/**
+	 * Write an integer as a variable length quantity. Negative values take
+	 * five bytes.
+	 * 
+	 * @param output
+	 *            the output
+	 * @param value
+	 *            the value
+	 * @throws IOException
+	 *             if writing fails
+	 */
+	static void writeVarInt(DataOutput output, int value) throws IOException {
+		int rest = value;
+
+		while ((rest & ~0x7f) != 0) {
+			output.writeByte((rest & 0x7f) | 0x80);
+			rest >>>= 7;
+		}
+
+		output.writeByte(rest);
+	}
+
+	/**
+	 * Read an integer stored as a variable length quantity.
+	 * 
+	 * @param input
+	 *            the input
+	 * @return the value
+	 * @throws IOException
+	 *             if reading fails or the value is too long
+	 */
+	static int readVarInt(DataInput input) throws IOException {
+		int value = 0;
+
+		for (int shift = 0; shift < 35; shift += 7) {
+			int b = input.readUnsignedByte();
+			value |= (b & 0x7f) << shift;
+
+			if ((b & 0x80) == 0) {
+				return value;
+			}
+		}
+
+		throw new IOException("Invalid variable length integer");
+	}
+}
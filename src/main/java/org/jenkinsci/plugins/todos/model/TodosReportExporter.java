@@ -0,0 +1,504 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2026 TODOs Plugin contributors
+ * This file is part of TODOs Plugin (Jenkins CI).
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.jenkinsci.plugins.todos.model;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.Charset;
+import java.util.Locale;
+
+/**
+ * Export of a report to CSV or JSON. The comments are encoded one by one
+ * directly from the store to the output. The source codes are escaped on the
+ * level of their UTF-8 bytes, the characters that need escaping are all
+ * ASCII and ASCII bytes never occur inside multi-byte sequences. Only the
+ * file paths and patterns are encoded to bytes, once per dictionary entry.
+ * 
+ * The CSV follows RFC 4180, the first line is a header and all text fields
+ * are quoted. The JSON is an object with an array of comments.
+ * 
+ * @author TODOs Plugin contributors
+ */
+public final class TodosReportExporter {
+	/** Encoding of the output. */
+	private static final Charset UTF_8 = Charset.forName("UTF-8");
+
+	/** Size of the output buffer. */
+	private static final int BUFFER_SIZE = 8192;
+
+	/** Hexadecimal digits. */
+	private static final byte[] HEX_DIGITS = ascii("0123456789abcdef");
+
+	/** Names of the diff statuses indexed by ordinal. */
+	private static final byte[][] STATUS_NAMES = new byte[TodosDiffStatus
+			.values().length][];
+
+	static {
+		for (TodosDiffStatus status : TodosDiffStatus.values()) {
+			STATUS_NAMES[status.ordinal()] = ascii(status.name().toLowerCase(
+					Locale.ENGLISH));
+		}
+	}
+
+	/**
+	 * Supported formats.
+	 * 
+	 * @author TODOs Plugin contributors
+	 */
+	public enum Format {
+		/** Comma separated values. */
+		CSV("text/csv;charset=UTF-8"),
+
+		/** JavaScript object notation. */
+		JSON("application/json;charset=UTF-8");
+
+		/** The content type. */
+		private final String contentType;
+
+		/**
+		 * Constructor.
+		 * 
+		 * @param contentType
+		 *            the content type
+		 */
+		private Format(String contentType) {
+			this.contentType = contentType;
+		}
+
+		/**
+		 * Get the content type of the format.
+		 * 
+		 * @return the content type including the encoding
+		 */
+		public String getContentType() {
+			return contentType;
+		}
+	}
+
+	/**
+	 * Utility class.
+	 */
+	private TodosReportExporter() {
+	}
+
+	/**
+	 * Encode an ASCII string.
+	 * 
+	 * @param value
+	 *            the string
+	 * @return the bytes
+	 */
+	private static byte[] ascii(String value) {
+		return value.getBytes(UTF_8);
+	}
+
+	/**
+	 * Export a report. The output is buffered and flushed, but not closed.
+	 * 
+	 * @param report
+	 *            the report
+	 * @param format
+	 *            the format
+	 * @param withStatus
+	 *            include the diff statuses of the comments
+	 * @param output
+	 *            the output
+	 * @throws IOException
+	 *             if writing fails
+	 */
+	public static void write(TodosReport report, Format format,
+			boolean withStatus, OutputStream output) throws IOException {
+		TodosCommentStore store = report.getCommentStore();
+		OutputStream out = new BufferedOutputStream(output, BUFFER_SIZE);
+		Encoder encoder = (format == Format.CSV) ? new CsvEncoder(out)
+				: new JsonEncoder(out);
+
+		byte[][] files = new byte[store.getFiles().size()][];
+		byte[][] patterns = new byte[store.getPatterns().size()][];
+		byte[] text = store.getText();
+
+		encoder.begin(withStatus);
+
+		for (int i = 0; i < store.size(); ++i) {
+			int fileId = store.getFileId(i);
+			int patternId = store.getPatternId(i);
+
+			if (files[fileId] == null) {
+				files[fileId] = store.getFiles().get(fileId).getBytes(UTF_8);
+			}
+
+			if (patterns[patternId] == null) {
+				patterns[patternId] = store.getPatterns().get(patternId)
+						.getBytes(UTF_8);
+			}
+
+			encoder.comment(i, withStatus ? getStatus(store, i) : null,
+					files[fileId], store.getLine(i), patterns[patternId],
+					text, store.getTextStart(i), store.getTextEnd(i));
+		}
+
+		encoder.end();
+		out.flush();
+	}
+
+	/**
+	 * Get the name of the diff status of a comment.
+	 * 
+	 * @param store
+	 *            the store
+	 * @param index
+	 *            index of the comment
+	 * @return the ASCII encoded name, empty if the status is not known
+	 */
+	private static byte[] getStatus(TodosCommentStore store, int index) {
+		TodosDiffStatus status = store.getDiffStatus(index);
+		return (status == null) ? new byte[0] : STATUS_NAMES[status
+				.ordinal()];
+	}
+
+	/**
+	 * Encoder of the comments in a particular format.
+	 * 
+	 * @author TODOs Plugin contributors
+	 */
+	private abstract static class Encoder {
+		/** The output. */
+		protected final OutputStream out;
+
+		/** Buffer for the digits of numbers. */
+		private final byte[] digits = new byte[10];
+
+		/**
+		 * Constructor.
+		 * 
+		 * @param out
+		 *            the output
+		 */
+		protected Encoder(OutputStream out) {
+			this.out = out;
+		}
+
+		/**
+		 * Write the beginning of the document.
+		 * 
+		 * @param withStatus
+		 *            the diff statuses are included
+		 * @throws IOException
+		 *             if writing fails
+		 */
+		abstract void begin(boolean withStatus) throws IOException;
+
+		/**
+		 * Write a comment.
+		 * 
+		 * @param index
+		 *            index of the comment
+		 * @param status
+		 *            ASCII encoded name of the diff status, null if not
+		 *            included
+		 * @param file
+		 *            UTF-8 encoded file path
+		 * @param line
+		 *            the line number
+		 * @param pattern
+		 *            UTF-8 encoded pattern
+		 * @param text
+		 *            buffer with UTF-8 encoded source code
+		 * @param start
+		 *            start of the source code in the buffer
+		 * @param end
+		 *            end of the source code in the buffer
+		 * @throws IOException
+		 *             if writing fails
+		 */
+		abstract void comment(int index, byte[] status, byte[] file,
+				int line, byte[] pattern, byte[] text, int start, int end)
+				throws IOException;
+
+		/**
+		 * Write the end of the document.
+		 * 
+		 * @throws IOException
+		 *             if writing fails
+		 */
+		abstract void end() throws IOException;
+
+		/**
+		 * Write a number.
+		 * 
+		 * @param value
+		 *            the number
+		 * @throws IOException
+		 *             if writing fails
+		 */
+		protected void writeNumber(int value) throws IOException {
+			long remaining = value;
+
+			if (remaining < 0) {
+				out.write('-');
+				remaining = -remaining;
+			}
+
+			int position = digits.length;
+
+			do {
+				digits[--position] = (byte) ('0' + remaining % 10);
+				remaining /= 10;
+			} while (remaining > 0);
+
+			out.write(digits, position, digits.length - position);
+		}
+	}
+
+	/**
+	 * Encoder of CSV.
+	 * 
+	 * @author TODOs Plugin contributors
+	 */
+	private static class CsvEncoder extends Encoder {
+		/** The header with the diff statuses. */
+		private static final byte[] HEADER_WITH_STATUS = ascii("status,file,line,pattern,comment\r\n");
+
+		/** The header without the diff statuses. */
+		private static final byte[] HEADER = ascii("file,line,pattern,comment\r\n");
+
+		/**
+		 * Constructor.
+		 * 
+		 * @param out
+		 *            the output
+		 */
+		CsvEncoder(OutputStream out) {
+			super(out);
+		}
+
+		@Override
+		void begin(boolean withStatus) throws IOException {
+			out.write(withStatus ? HEADER_WITH_STATUS : HEADER);
+		}
+
+		@Override
+		void comment(int index, byte[] status, byte[] file, int line,
+				byte[] pattern, byte[] text, int start, int end)
+				throws IOException {
+			if (status != null) {
+				out.write(status);
+				out.write(',');
+			}
+
+			writeQuoted(file, 0, file.length);
+			out.write(',');
+			writeNumber(line);
+			out.write(',');
+			writeQuoted(pattern, 0, pattern.length);
+			out.write(',');
+			writeQuoted(text, start, end);
+			out.write('\r');
+			out.write('\n');
+		}
+
+		@Override
+		void end() {
+		}
+
+		/**
+		 * Write a quoted field, the quotes inside are doubled.
+		 * 
+		 * @param bytes
+		 *            UTF-8 encoded value
+		 * @param start
+		 *            start of the value
+		 * @param end
+		 *            end of the value
+		 * @throws IOException
+		 *             if writing fails
+		 */
+		private void writeQuoted(byte[] bytes, int start, int end)
+				throws IOException {
+			out.write('"');
+			int written = start;
+
+			for (int i = start; i < end; ++i) {
+				if (bytes[i] == '"') {
+					out.write(bytes, written, i + 1 - written);
+					out.write('"');
+					written = i + 1;
+				}
+			}
+
+			out.write(bytes, written, end - written);
+			out.write('"');
+		}
+	}
+
+	/**
+	 * Encoder of JSON.
+	 * 
+	 * @author TODOs Plugin contributors
+	 */
+	private static class JsonEncoder extends Encoder {
+		/** The beginning of the document. */
+		private static final byte[] BEGIN = ascii("{\"comments\":[");
+
+		/** The beginning of the first comment. */
+		private static final byte[] FIRST = ascii("\n{");
+
+		/** The beginning of the next comments. */
+		private static final byte[] NEXT = ascii(",\n{");
+
+		/** The status key. */
+		private static final byte[] STATUS = ascii("\"status\":\"");
+
+		/** The end of the status. */
+		private static final byte[] STATUS_END = ascii("\",");
+
+		/** The file key. */
+		private static final byte[] FILE = ascii("\"file\":");
+
+		/** The line key. */
+		private static final byte[] LINE = ascii(",\"line\":");
+
+		/** The pattern key. */
+		private static final byte[] PATTERN = ascii(",\"pattern\":");
+
+		/** The comment key. */
+		private static final byte[] COMMENT = ascii(",\"comment\":");
+
+		/** The end of the document. */
+		private static final byte[] END = ascii("\n]}\n");
+
+		/** The escape of a control character without a short form. */
+		private static final byte[] UNICODE_ESCAPE = ascii("u00");
+
+		/**
+		 * Constructor.
+		 * 
+		 * @param out
+		 *            the output
+		 */
+		JsonEncoder(OutputStream out) {
+			super(out);
+		}
+
+		@Override
+		void begin(boolean withStatus) throws IOException {
+			out.write(BEGIN);
+		}
+
+		@Override
+		void comment(int index, byte[] status, byte[] file, int line,
+				byte[] pattern, byte[] text, int start, int end)
+				throws IOException {
+			out.write((index == 0) ? FIRST : NEXT);
+
+			if (status != null) {
+				out.write(STATUS);
+				out.write(status);
+				out.write(STATUS_END);
+			}
+
+			out.write(FILE);
+			writeString(file, 0, file.length);
+			out.write(LINE);
+			writeNumber(line);
+			out.write(PATTERN);
+			writeString(pattern, 0, pattern.length);
+			out.write(COMMENT);
+			writeString(text, start, end);
+			out.write('}');
+		}
+
+		@Override
+		void end() throws IOException {
+			out.write(END);
+		}
+
+		/**
+		 * Write a string literal, the quotes, backslashes and control
+		 * characters inside are escaped.
+		 * 
+		 * @param bytes
+		 *            UTF-8 encoded value
+		 * @param start
+		 *            start of the value
+		 * @param end
+		 *            end of the value
+		 * @throws IOException
+		 *             if writing fails
+		 */
+		private void writeString(byte[] bytes, int start, int end)
+				throws IOException {
+			out.write('"');
+			int written = start;
+
+			for (int i = start; i < end; ++i) {
+				int b = bytes[i];
+
+				if (b == '"' || b == '\\' || (b >= 0 && b < 0x20)) {
+					out.write(bytes, written, i - written);
+					writeEscape(b);
+					written = i + 1;
+				}
+			}
+
+			out.write(bytes, written, end - written);
+			out.write('"');
+		}
+
+		/**
+		 * Write an escape sequence of a character.
+		 * 
+		 * @param c
+		 *            the ASCII character
+		 * @throws IOException
+		 *             if writing fails
+		 */
+		private void writeEscape(int c) throws IOException {
+			out.write('\\');
+
+			switch (c) {
+			case '"':
+			case '\\':
+				out.write(c);
+				break;
+			case '\n':
+				out.write('n');
+				break;
+			case '\r':
+				out.write('r');
+				break;
+			case '\t':
+				out.write('t');
+				break;
+			default:
+				out.write(UNICODE_ESCAPE);
+				out.write(HEX_DIGITS[c >> 4]);
+				out.write(HEX_DIGITS[c & 0xf]);
+				break;
+			}
+		}
+	}
+}
@@ -0,0 +1,189 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2026 TODOs Plugin contributors
+ * This file is part of TODOs Plugin (Jenkins CI).
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.jenkinsci.plugins.todos.model;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.jenkinsci.plugins.todos.model.TodosReport.SlaveFile;
+
+/**
+ * Merger of the results of several child builds into a single result. The
+ * file paths of each child are prefixed by its name, so the files of
+ * different children are always distinct. The statistics are therefore merged
+ * from the compact statistics of the children without their reports, the
+ * reports are needed only for the merged report. The class is not thread
+ * safe.
+ * 
+ * @author TODOs Plugin contributors
+ */
+public class TodosReportMerger {
+	/** Comparator of directories by name. */
+	private static final Comparator<TodosDirectoryStatistics> BY_NAME = new Comparator<TodosDirectoryStatistics>() {
+		public int compare(TodosDirectoryStatistics o1,
+				TodosDirectoryStatistics o2) {
+			return o1.getName().compareTo(o2.getName());
+		}
+	};
+
+	/** Number of occurrences and files per pattern in order of occurrence. */
+	private final Map<String, int[]> patterns = new LinkedHashMap<String, int[]>();
+
+	/** Number of comments of all children. */
+	private int numComments = 0;
+
+	/** Number of distinct files of all children. */
+	private int numFiles = 0;
+
+	/** Per-directory statistics of the children. */
+	private final List<TodosDirectoryStatistics> directories = new ArrayList<TodosDirectoryStatistics>();
+
+	/** The merged comments. */
+	private final TodosCommentStore store = new TodosCommentStore();
+
+	/** The files from which the merged reports were created. */
+	private final List<SlaveFile> sourceFiles = new ArrayList<SlaveFile>();
+
+	/**
+	 * Add the statistics of a child.
+	 * 
+	 * @param name
+	 *            the name of the child, the top level directory of its files
+	 * @param statistics
+	 *            the report statistics of the child
+	 * @param directoryStatistics
+	 *            the per-directory statistics of the child, may be null
+	 */
+	public void addStatistics(String name, TodosReportStatistics statistics,
+			TodosDirectoryStatistics directoryStatistics) {
+		for (TodosPatternStatistics pattern : statistics
+				.getPatternStatistics()) {
+			int[] counts = patterns.get(pattern.getPattern());
+
+			if (counts == null) {
+				counts = new int[2];
+				patterns.put(pattern.getPattern(), counts);
+			}
+
+			counts[0] += pattern.getNumOccurrences();
+			counts[1] += pattern.getNumFiles();
+		}
+
+		numComments += statistics.getNumComments();
+		numFiles += statistics.getNumFiles();
+
+		if (directoryStatistics == null) {
+			directories.add(new TodosDirectoryStatistics(name, name,
+					statistics.getNumComments(), statistics.getNumFiles(),
+					Collections.<TodosDirectoryStatistics> emptyList()));
+		} else {
+			directories.add(relocate(directoryStatistics, name, name));
+		}
+	}
+
+	/**
+	 * Add the report of a child.
+	 * 
+	 * @param name
+	 *            the name of the child, the top level directory of its files
+	 * @param report
+	 *            the report of the child
+	 */
+	public void addReport(String name, TodosReport report) {
+		store.addAll(report.getCommentStore(), name
+				+ TodosDirectoryStatistics.SEPARATOR);
+		sourceFiles.addAll(report.getSourceFiles());
+	}
+
+	/**
+	 * Move a directory with its subdirectories under a new parent.
+	 * 
+	 * @param directory
+	 *            the directory
+	 * @param name
+	 *            the new name of the directory
+	 * @param path
+	 *            the new path of the directory
+	 * @return the moved directory
+	 */
+	private static TodosDirectoryStatistics relocate(
+			TodosDirectoryStatistics directory, String name, String path) {
+		List<TodosDirectoryStatistics> children = new ArrayList<TodosDirectoryStatistics>(
+				directory.getChildren().size());
+
+		for (TodosDirectoryStatistics child : directory.getChildren()) {
+			children.add(relocate(child, child.getName(), path
+					+ TodosDirectoryStatistics.SEPARATOR + child.getName()));
+		}
+
+		return new TodosDirectoryStatistics(name, path,
+				directory.getNumComments(), directory.getNumFiles(), children);
+	}
+
+	/**
+	 * Get the merged report statistics.
+	 * 
+	 * @return the statistics
+	 */
+	public TodosReportStatistics getStatistics() {
+		List<TodosPatternStatistics> statistics = new ArrayList<TodosPatternStatistics>(
+				patterns.size());
+
+		for (Map.Entry<String, int[]> entry : patterns.entrySet()) {
+			statistics.add(new TodosPatternStatistics(entry.getKey(), entry
+					.getValue()[0], entry.getValue()[1]));
+		}
+
+		return new TodosReportStatistics(statistics, numFiles);
+	}
+
+	/**
+	 * Get the merged per-directory statistics, the children are the top
+	 * level directories.
+	 * 
+	 * @return the statistics
+	 */
+	public TodosDirectoryStatistics getDirectoryStatistics() {
+		List<TodosDirectoryStatistics> children = new ArrayList<TodosDirectoryStatistics>(
+				directories);
+		Collections.sort(children, BY_NAME);
+
+		return new TodosDirectoryStatistics("", "", numComments, numFiles,
+				children);
+	}
+
+	/**
+	 * Get the merged report.
+	 * 
+	 * @return the report
+	 */
+	public TodosReport getReport() {
+		return new TodosReport(store, sourceFiles, "");
+	}
+}
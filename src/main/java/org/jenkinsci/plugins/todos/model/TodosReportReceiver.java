@@ -0,0 +1,328 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2026 TODOs Plugin contributors
+ * This file is part of TODOs Plugin (Jenkins CI).
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.jenkinsci.plugins.todos.model;
+
+import java.io.BufferedInputStream;
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Consumer of the records streamed by {@link TodosStreamingParser}. The
+ * comments are counted in the statistics as soon as their batch arrives, they
+ * are not kept in memory. Copies of the parsed files are passed to an archive
+ * receiver, if the stream contains them. The class is not thread safe.
+ * 
+ * @author TODOs Plugin contributors
+ */
+public class TodosReportReceiver implements TodosStreamConsumer {
+	/** Size of the input buffer. */
+	private static final int BUFFER_SIZE = 64 * 1024;
+
+	/** The report statistics. */
+	private final TodosStatisticsBuilder statistics = new TodosStatisticsBuilder();
+
+	/** The per-directory statistics. */
+	private final TodosDirectoryStatisticsBuilder directories;
+
+	/** The parsed files. */
+	private final List<TodosReport.SlaveFile> sourceFiles = new ArrayList<TodosReport.SlaveFile>();
+
+	/** The receiver of the copies of the files, may be null. */
+	private final TodosArchiveReceiver archive;
+
+	/** The limits of the numbers of comments, may be null. */
+	private final TodosQualityGate qualityGate;
+
+	/** Sample of the comments, null if the reports are not limited. */
+	private final TodosCommentSample sample;
+
+	/** Descriptions of the exceeded limits of the reports. */
+	private final List<String> truncations = new ArrayList<String>();
+
+	/** Number of received comments. */
+	private int numComments = 0;
+
+	/** Timings of computing of the statistics. */
+	private final TodosTimings timings = new TodosTimings();
+
+	/**
+	 * Constructor initializing members.
+	 * 
+	 * @param maxDepth
+	 *            the maximal depth of the tree in the per-directory statistics
+	 */
+	public TodosReportReceiver(int maxDepth) {
+		this(maxDepth, null);
+	}
+
+	/**
+	 * Constructor initializing members.
+	 * 
+	 * @param maxDepth
+	 *            the maximal depth of the tree in the per-directory statistics
+	 * @param archive
+	 *            the receiver of the copies of the files, may be null if the
+	 *            stream doesn't contain them
+	 */
+	public TodosReportReceiver(int maxDepth, TodosArchiveReceiver archive) {
+		this(maxDepth, archive, null);
+	}
+
+	/**
+	 * Constructor initializing members.
+	 * 
+	 * @param maxDepth
+	 *            the maximal depth of the tree in the per-directory statistics
+	 * @param archive
+	 *            the receiver of the copies of the files, may be null if the
+	 *            stream doesn't contain them
+	 * @param qualityGate
+	 *            the limits of the numbers of comments evaluated after each
+	 *            batch, may be null
+	 */
+	public TodosReportReceiver(int maxDepth, TodosArchiveReceiver archive,
+			TodosQualityGate qualityGate) {
+		this(maxDepth, archive, qualityGate, null);
+	}
+
+	/**
+	 * Constructor initializing members.
+	 * 
+	 * @param maxDepth
+	 *            the maximal depth of the tree in the per-directory statistics
+	 * @param archive
+	 *            the receiver of the copies of the files, may be null if the
+	 *            stream doesn't contain them
+	 * @param qualityGate
+	 *            the limits of the numbers of comments evaluated after each
+	 *            batch, may be null
+	 * @param limits
+	 *            limits of the reports, a sample of the comments is collected
+	 *            if they allow it, may be null
+	 */
+	public TodosReportReceiver(int maxDepth, TodosArchiveReceiver archive,
+			TodosQualityGate qualityGate, TodosLimits limits) {
+		this.directories = new TodosDirectoryStatisticsBuilder(maxDepth);
+		this.archive = archive;
+		this.qualityGate = qualityGate;
+		this.sample = (limits != null && limits.isSample()) ? new TodosCommentSample(
+				limits.getSampleSize()) : null;
+	}
+
+	/**
+	 * Consume all records from a stream.
+	 * 
+	 * @see TodosStreamConsumer#receive(InputStream)
+	 */
+	public void receive(InputStream stream) throws IOException {
+		DataInputStream input = new DataInputStream(new BufferedInputStream(
+				stream, BUFFER_SIZE));
+
+		try {
+			while (true) {
+				int type = input.read();
+
+				switch (type) {
+				case TodosStreamingParser.RECORD_FILE:
+					String name = TodosReportCodec.readString(input);
+					String absolutePath = TodosReportCodec.readString(input);
+					sourceFiles.add(new TodosReport.SlaveFile(name,
+							absolutePath));
+					break;
+
+				case TodosStreamingParser.RECORD_BATCH:
+					consume(TodosReportCodec.read(input).getCommentStore());
+					break;
+
+				case TodosStreamingParser.RECORD_TRUNCATED:
+					truncations.add(TodosReportCodec.readString(input));
+					break;
+
+				case TodosStreamingParser.RECORD_END:
+					return;
+
+				case -1:
+					throw new IOException(
+							"Unexpected end of the report stream");
+
+				default:
+					if (archive == null || !archive.receiveRecord(type, input)) {
+						throw new IOException(
+								"Invalid record in the report stream: " + type);
+					}
+				}
+			}
+		} finally {
+			if (archive != null) {
+				archive.abort();
+			}
+		}
+	}
+
+	/**
+	 * Count a batch of comments in the statistics and evaluate the limits.
+	 * 
+	 * @param batch
+	 *            the comments
+	 * @throws TodosQualityGate.ViolationException
+	 *             if a hard limit is exceeded
+	 */
+	private void consume(TodosCommentStore batch)
+			throws TodosQualityGate.ViolationException {
+		long start = System.nanoTime();
+
+		for (int i = 0; i < batch.size(); ++i) {
+			statistics.add(batch.getPattern(i), batch.getFile(i));
+		}
+
+		TodosStringDictionary files = batch.getFiles();
+		int[] counts = batch.countByFile();
+
+		for (int i = 0; i < counts.length; ++i) {
+			directories.add(files.get(i), counts[i]);
+		}
+
+		numComments += batch.size();
+		timings.add(TodosTimings.STATISTICS, System.nanoTime() - start, 0,
+				batch.size(), 0);
+
+		if (sample != null) {
+			sample.addAll(batch);
+		}
+
+		if (qualityGate != null) {
+			TodosStringDictionary patterns = batch.getPatterns();
+			int[] patternCounts = new int[patterns.size()];
+
+			for (int i = 0; i < batch.size(); ++i) {
+				++patternCounts[batch.getPatternId(i)];
+			}
+
+			for (int i = 0; i < patternCounts.length; ++i) {
+				qualityGate.add(patterns.get(i), patternCounts[i]);
+			}
+
+			qualityGate.check();
+		}
+	}
+
+	/**
+	 * Get the statistics of the received comments.
+	 * 
+	 * @return the statistics
+	 */
+	public TodosReportStatistics getStatistics() {
+		long start = System.nanoTime();
+		TodosReportStatistics result = statistics.build();
+		timings.add(TodosTimings.STATISTICS, System.nanoTime() - start, 0, 0,
+				0);
+		return result;
+	}
+
+	/**
+	 * Get the per-directory statistics of the received comments.
+	 * 
+	 * @return the root of the directory tree
+	 */
+	public TodosDirectoryStatistics getDirectoryStatistics() {
+		return directories.build();
+	}
+
+	/**
+	 * Get the parsed files.
+	 * 
+	 * @return unmodifiable list with the files
+	 */
+	public List<TodosReport.SlaveFile> getSourceFiles() {
+		return Collections.unmodifiableList(sourceFiles);
+	}
+
+	/**
+	 * Get names of the copies of the files that replaced a stale content.
+	 * 
+	 * @return unmodifiable list with the names
+	 * @see TodosArchiveReceiver#getStaleFiles()
+	 */
+	public List<String> getStaleFiles() {
+		if (archive == null) {
+			return Collections.emptyList();
+		}
+
+		return archive.getStaleFiles();
+	}
+
+	/**
+	 * Get timings of computing of the statistics and of writing of the
+	 * copies of the files.
+	 * 
+	 * @return new object with the timings
+	 */
+	public TodosTimings getTimings() {
+		TodosTimings result = new TodosTimings();
+		result.addAll(timings);
+
+		if (archive != null) {
+			result.addAll(archive.getTimings());
+		}
+
+		return result;
+	}
+
+	/**
+	 * Get descriptions of the exceeded limits of the reports.
+	 * 
+	 * @return unmodifiable list with the descriptions, empty if the reports
+	 *         are complete
+	 */
+	public List<String> getTruncations() {
+		return Collections.unmodifiableList(truncations);
+	}
+
+	/**
+	 * Get the sample of the received comments.
+	 * 
+	 * @return report with the sample or null if the reports are not limited
+	 */
+	public TodosReport getSample() {
+		if (sample == null) {
+			return null;
+		}
+
+		return new TodosReport(sample.getComments(), sourceFiles, "");
+	}
+
+	/**
+	 * Get number of received comments.
+	 * 
+	 * @return the number of comments
+	 */
+	public int getCommentsCount() {
+		return numComments;
+	}
+}
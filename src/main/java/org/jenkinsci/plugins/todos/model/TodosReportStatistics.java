@@ -27,13 +27,20 @@ package org.jenkinsci.plugins.todos.model;
 import java.io.Serializable;
 import java.util.ArrayList;
 import java.util.Collections;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.kohsuke.stapler.export.Exported;
+import org.kohsuke.stapler.export.ExportedBean;
 
 /**
  * Statistics of a report. The class is thread safe.
  * 
  * @author Michal Turek
  */
+@ExportedBean
 public class TodosReportStatistics implements Serializable {
 	/** Serial version UID. */
 	private static final long serialVersionUID = 0L;
@@ -41,6 +48,15 @@ public class TodosReportStatistics implements Serializable {
 	/** Statistics per patterns. */
 	private final List<TodosPatternStatistics> patternStatistics;
 
+	/** Total number of comments, precomputed sum of all patterns. */
+	private final int numComments;
+
+	/** Number of distinct files containing at least one comment. */
+	private final int numFiles;
+
+	/** Index of the statistics by pattern name, rebuilt after loading. */
+	private transient final Map<String, TodosPatternStatistics> index;
+
 	/**
 	 * Helper constructor to create an empty instance.
 	 */
@@ -49,37 +65,65 @@ public class TodosReportStatistics implements Serializable {
 	}
 
 	/**
-	 * Constructor.
+	 * Constructor. The number of distinct files is not known, the sum of files
+	 * per pattern is used instead.
 	 * 
 	 * @param patternStatistics
 	 *            statistics per patterns
 	 */
 	public TodosReportStatistics(List<TodosPatternStatistics> patternStatistics) {
-		this.patternStatistics = new ArrayList<TodosPatternStatistics>(
-				patternStatistics);
+		this(patternStatistics, sumFiles(patternStatistics));
 	}
 
 	/**
-	 * Get number of comments that were found.
+	 * Constructor.
 	 * 
-	 * @return the number of comments
+	 * @param patternStatistics
+	 *            statistics per patterns
+	 * @param numFiles
+	 *            number of distinct files containing at least one comment
 	 */
-	public int getNumComments() {
-		int numComments = 0;
+	public TodosReportStatistics(
+			List<TodosPatternStatistics> patternStatistics, int numFiles) {
+		this.patternStatistics = new ArrayList<TodosPatternStatistics>(
+				patternStatistics);
+		this.numFiles = numFiles;
+		this.index = new LinkedHashMap<String, TodosPatternStatistics>(
+				patternStatistics.size() * 2);
+
+		int comments = 0;
 
 		for (TodosPatternStatistics statistics : patternStatistics) {
-			numComments += statistics.getNumOccurrences();
+			comments += statistics.getNumOccurrences();
+			index.put(statistics.getPattern(), statistics);
 		}
 
-		return numComments;
+		this.numComments = comments;
 	}
 
 	/**
-	 * Get number of files containing the comments.
+	 * Rebuild the transient index and the precomputed values after
+	 * deserialization. Data stored by older versions of the plugin contain
+	 * only the list of pattern statistics.
 	 * 
-	 * @return the number of files
+	 * @return the fully initialized instance
 	 */
-	public int getNumFiles() {
+	private Object readResolve() {
+		if (numFiles == 0) {
+			return new TodosReportStatistics(patternStatistics);
+		}
+
+		return new TodosReportStatistics(patternStatistics, numFiles);
+	}
+
+	/**
+	 * Sum number of files of all patterns.
+	 * 
+	 * @param patternStatistics
+	 *            statistics per patterns
+	 * @return the sum, files with several patterns are counted several times
+	 */
+	private static int sumFiles(List<TodosPatternStatistics> patternStatistics) {
 		int numFiles = 0;
 
 		for (TodosPatternStatistics statistics : patternStatistics) {
@@ -89,15 +133,45 @@ public class TodosReportStatistics implements Serializable {
 		return numFiles;
 	}
 
+	/**
+	 * Get number of comments that were found.
+	 * 
+	 * @return the number of comments
+	 */
+	@Exported
+	public int getNumComments() {
+		return numComments;
+	}
+
+	/**
+	 * Get number of distinct files containing the comments.
+	 * 
+	 * @return the number of files
+	 */
+	@Exported
+	public int getNumFiles() {
+		return numFiles;
+	}
+
 	/**
 	 * Get statistics of all patterns.
 	 * 
 	 * @return unmodifiable list with statistics
 	 */
+	@Exported
 	public List<TodosPatternStatistics> getPatternStatistics() {
 		return Collections.unmodifiableList(patternStatistics);
 	}
 
+	/**
+	 * Get names of all patterns.
+	 * 
+	 * @return unmodifiable set with the names in the order of the statistics
+	 */
+	public Set<String> getPatterns() {
+		return Collections.unmodifiableSet(index.keySet());
+	}
+
 	/**
 	 * Get statistics of a concrete pattern.
 	 * 
@@ -107,10 +181,10 @@ public class TodosReportStatistics implements Serializable {
 	 *         is defined a new object initialized with zeros will be returned
 	 */
 	public TodosPatternStatistics getPatternStatistics(String pattern) {
-		for (TodosPatternStatistics statistics : patternStatistics) {
-			if (statistics.getPattern().equals(pattern)) {
-				return statistics;
-			}
+		TodosPatternStatistics statistics = index.get(pattern);
+
+		if (statistics != null) {
+			return statistics;
 		}
 
 		return new TodosPatternStatistics(pattern, 0, 0);
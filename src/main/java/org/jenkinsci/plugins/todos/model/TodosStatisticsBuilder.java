@@ -0,0 +1,117 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2026 TODOs Plugin contributors
+ * This file is part of TODOs Plugin (Jenkins CI).
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.jenkinsci.plugins.todos.model;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Incremental builder of report statistics. Files are stored in a dictionary
+ * and each pattern remembers files containing it in a bit set indexed by the
+ * dictionary, so the number of distinct files is exact and cheap to compute.
+ * The class is not thread safe.
+ * 
+ * @author TODOs Plugin contributors
+ */
+public class TodosStatisticsBuilder {
+	/** Dictionary of files, file path to its index. */
+	private final Map<String, Integer> files = new HashMap<String, Integer>();
+
+	/** Statistics of particular patterns in order of first occurrence. */
+	private final Map<String, PatternStatistics> patterns = new LinkedHashMap<String, PatternStatistics>();
+
+	/**
+	 * Add a comment to the statistics.
+	 * 
+	 * @param pattern
+	 *            the pattern using which the comment was found
+	 * @param file
+	 *            the file in which the comment was found
+	 */
+	public void add(String pattern, String file) {
+		Integer fileIndex = files.get(file);
+
+		if (fileIndex == null) {
+			fileIndex = Integer.valueOf(files.size());
+			files.put(file, fileIndex);
+		}
+
+		PatternStatistics statistics = patterns.get(pattern);
+
+		if (statistics == null) {
+			statistics = new PatternStatistics();
+			patterns.put(pattern, statistics);
+		}
+
+		++statistics.numOccurrences;
+		statistics.filesWithComment.set(fileIndex.intValue());
+	}
+
+	/**
+	 * Add a comment to the statistics.
+	 * 
+	 * @param comment
+	 *            the comment
+	 */
+	public void add(TodosComment comment) {
+		add(comment.getPattern(), comment.getFile());
+	}
+
+	/**
+	 * Create the statistics from the data added so far.
+	 * 
+	 * @return the statistics
+	 */
+	public TodosReportStatistics build() {
+		List<TodosPatternStatistics> statistics = new ArrayList<TodosPatternStatistics>(
+				patterns.size());
+
+		for (Map.Entry<String, PatternStatistics> entry : patterns.entrySet()) {
+			statistics.add(new TodosPatternStatistics(entry.getKey(), entry
+					.getValue().numOccurrences, entry.getValue().filesWithComment
+					.cardinality()));
+		}
+
+		return new TodosReportStatistics(statistics, files.size());
+	}
+
+	/**
+	 * Helper structure to compute statistics of a pattern. For internal use
+	 * only.
+	 * 
+	 * @author TODOs Plugin contributors
+	 */
+	private static class PatternStatistics {
+		/** Number of occurrences of a pattern. */
+		public int numOccurrences = 0;
+
+		/** Indices of files with this pattern in the dictionary. */
+		public final BitSet filesWithComment = new BitSet();
+	}
+}
@@ -0,0 +1,207 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2026 TODOs Plugin contributors
+ * This file is part of TODOs Plugin (Jenkins CI).
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.jenkinsci.plugins.todos.model;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+import org.kohsuke.stapler.export.Exported;
+import org.kohsuke.stapler.export.ExportedBean;
+
+/**
+ * Differences between statistics of two reports. The class is thread safe.
+ * 
+ * @author TODOs Plugin contributors
+ */
+@ExportedBean
+public class TodosStatisticsDelta implements Serializable {
+	/** Serial version UID. */
+	private static final long serialVersionUID = 0L;
+
+	/** Difference in number of comments. */
+	private final int numCommentsDelta;
+
+	/** Difference in number of files. */
+	private final int numFilesDelta;
+
+	/** Differences per patterns defined in any of the two statistics. */
+	private final List<PatternDelta> patternDeltas;
+
+	/**
+	 * Constructor initializing members.
+	 * 
+	 * @param numCommentsDelta
+	 *            difference in number of comments
+	 * @param numFilesDelta
+	 *            difference in number of files
+	 * @param patternDeltas
+	 *            differences per patterns
+	 */
+	public TodosStatisticsDelta(int numCommentsDelta, int numFilesDelta,
+			List<PatternDelta> patternDeltas) {
+		this.numCommentsDelta = numCommentsDelta;
+		this.numFilesDelta = numFilesDelta;
+		this.patternDeltas = new ArrayList<PatternDelta>(patternDeltas);
+	}
+
+	/**
+	 * Compute differences between two statistics.
+	 * 
+	 * @param current
+	 *            the current statistics
+	 * @param previous
+	 *            the previous statistics
+	 * @return the differences or null if any of the statistics is null
+	 */
+	public static TodosStatisticsDelta compute(TodosReportStatistics current,
+			TodosReportStatistics previous) {
+		if (current == null || previous == null) {
+			return null;
+		}
+
+		Set<String> patterns = new LinkedHashSet<String>(current.getPatterns());
+		patterns.addAll(previous.getPatterns());
+
+		List<PatternDelta> patternDeltas = new ArrayList<PatternDelta>(
+				patterns.size());
+
+		for (String pattern : patterns) {
+			TodosPatternStatistics currentPattern = current
+					.getPatternStatistics(pattern);
+			TodosPatternStatistics previousPattern = previous
+					.getPatternStatistics(pattern);
+
+			patternDeltas.add(new PatternDelta(pattern, currentPattern
+					.getNumOccurrences() - previousPattern.getNumOccurrences(),
+					currentPattern.getNumFiles()
+							- previousPattern.getNumFiles()));
+		}
+
+		return new TodosStatisticsDelta(current.getNumComments()
+				- previous.getNumComments(), current.getNumFiles()
+				- previous.getNumFiles(), patternDeltas);
+	}
+
+	/**
+	 * Get difference in number of comments.
+	 * 
+	 * @return the difference
+	 */
+	@Exported
+	public int getNumCommentsDelta() {
+		return numCommentsDelta;
+	}
+
+	/**
+	 * Get difference in number of files.
+	 * 
+	 * @return the difference
+	 */
+	@Exported
+	public int getNumFilesDelta() {
+		return numFilesDelta;
+	}
+
+	/**
+	 * Get differences per patterns defined in any of the two statistics.
+	 * 
+	 * @return unmodifiable list with the differences
+	 */
+	@Exported
+	public List<PatternDelta> getPatternDeltas() {
+		return Collections.unmodifiableList(patternDeltas);
+	}
+
+	/**
+	 * Differences of one pattern. The class is thread safe.
+	 * 
+	 * @author TODOs Plugin contributors
+	 */
+	@ExportedBean
+	public static class PatternDelta implements Serializable {
+		/** Serial version UID. */
+		private static final long serialVersionUID = 0L;
+
+		/** The pattern name. */
+		private final String pattern;
+
+		/** Difference in number of comments matching this pattern. */
+		private final int numOccurrencesDelta;
+
+		/** Difference in number of files containing this pattern. */
+		private final int numFilesDelta;
+
+		/**
+		 * Constructor initializing members.
+		 * 
+		 * @param pattern
+		 *            the pattern
+		 * @param numOccurrencesDelta
+		 *            difference in number of comments matching this pattern
+		 * @param numFilesDelta
+		 *            difference in number of files containing this pattern
+		 */
+		public PatternDelta(String pattern, int numOccurrencesDelta,
+				int numFilesDelta) {
+			this.pattern = pattern;
+			this.numOccurrencesDelta = numOccurrencesDelta;
+			this.numFilesDelta = numFilesDelta;
+		}
+
+		/**
+		 * Get the pattern name.
+		 * 
+		 * @return the name
+		 */
+		@Exported
+		public String getPattern() {
+			return pattern;
+		}
+
+		/**
+		 * Get difference in number of comments matching this pattern.
+		 * 
+		 * @return the difference
+		 */
+		@Exported
+		public int getNumOccurrencesDelta() {
+			return numOccurrencesDelta;
+		}
+
+		/**
+		 * Get difference in number of files containing this pattern.
+		 * 
+		 * @return the difference
+		 */
+		@Exported
+		public int getNumFilesDelta() {
+			return numFilesDelta;
+		}
+	}
+}
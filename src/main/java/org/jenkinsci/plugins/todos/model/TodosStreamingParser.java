@@ -0,0 +1,591 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2026 TODOs Plugin contributors
+ * This file is part of TODOs Plugin (Jenkins CI).
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.jenkinsci.plugins.todos.model;
+
+import hudson.FilePath;
+import hudson.remoting.VirtualChannel;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.security.MessageDigest;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Set;
+
+import javax.xml.parsers.ParserConfigurationException;
+import javax.xml.parsers.SAXParser;
+import javax.xml.parsers.SAXParserFactory;
+import javax.xml.validation.Schema;
+
+import org.xml.sax.Attributes;
+import org.xml.sax.InputSource;
+import org.xml.sax.SAXException;
+import org.xml.sax.SAXParseException;
+import org.xml.sax.helpers.DefaultHandler;
+
+/**
+ * Parse XML formatted TODOs reports and stream the comments in batches to an
+ * output, typically a remote stream to the master. The master can process the
+ * batches while the slave is still parsing the remaining files.
+ * 
+ * The stream consists of records, each starts with its type. A file record
+ * contains the name and the absolute path of a parsed file, a batch record
+ * contains comments in the form of {@link TodosReportCodec} and the end
+ * record terminates the stream. The stream is closed without the end record
+ * if the parsing fails.
+ * 
+ * Optionally the content of the files is copied to the stream while they are
+ * parsed, using the records of {@link TodosFileArchiver}. Each file is read
+ * only once.
+ * 
+ * Exceeded limits either fail the parsing or they are announced by a
+ * truncation record with the description of the violation. The parsing
+ * continues without copying of the files then, so the statistics stay exact.
+ * 
+ * @author TODOs Plugin contributors
+ * @see TodosReportReceiver
+ */
+public class TodosStreamingParser implements
+		FilePath.FileCallable<TodosTimings> {
+	/** Serial version UID. */
+	private static final long serialVersionUID = 0;
+
+	/** Record with a parsed file. */
+	static final int RECORD_FILE = 1;
+
+	/** Record with a batch of comments. */
+	static final int RECORD_BATCH = 2;
+
+	/** Record terminating the stream. */
+	static final int RECORD_END = 3;
+
+	/** Record with description of an exceeded limit. */
+	static final int RECORD_TRUNCATED = 4;
+
+	/** Maximal number of comments in a batch. */
+	private static final int BATCH_SIZE = 1000;
+
+	/** Size of the output buffer. */
+	private static final int BUFFER_SIZE = 64 * 1024;
+
+	/** XML namespace of the reports. */
+	private static final String NAMESPACE = "http://todos.sourceforge.net";
+
+	/** Pattern for searching the input files. */
+	private final String filePattern;
+
+	/** Copy content of the files to the output. */
+	private final boolean copyFiles;
+
+	/** The output for the records. */
+	private final OutputStream output;
+
+	/** Limits of the reports, may be null. */
+	private final TodosLimits limits;
+
+	/** Emit events of JDK Flight Recorder, the setting of the master. */
+	private final boolean flightRecorder = TodosFlightRecorder.isEnabled();
+
+	/**
+	 * Constructor initializing members.
+	 * 
+	 * @param filePattern
+	 *            pattern for searching the input files
+	 * @param copyFiles
+	 *            copy content of the files to the output
+	 * @param output
+	 *            the output for the records, it is closed at the end
+	 */
+	public TodosStreamingParser(String filePattern, boolean copyFiles,
+			OutputStream output) {
+		this(filePattern, copyFiles, output, null);
+	}
+
+	/**
+	 * Constructor initializing members.
+	 * 
+	 * @param filePattern
+	 *            pattern for searching the input files
+	 * @param copyFiles
+	 *            copy content of the files to the output
+	 * @param output
+	 *            the output for the records, it is closed at the end
+	 * @param limits
+	 *            limits of the reports, may be null
+	 */
+	public TodosStreamingParser(String filePattern, boolean copyFiles,
+			OutputStream output, TodosLimits limits) {
+		this.filePattern = filePattern;
+		this.copyFiles = copyFiles;
+		this.output = output;
+		this.limits = (limits == null) ? new TodosLimits(0, 0, 0, false)
+				: limits;
+	}
+
+	/**
+	 * Invoke the parsing.
+	 * 
+	 * @return the timings of the searching and the parsing
+	 * @see hudson.FilePath.FileCallable#invoke(java.io.File,
+	 *      hudson.remoting.VirtualChannel)
+	 */
+	public TodosTimings invoke(File workspace, VirtualChannel channel)
+			throws IOException {
+		DataOutputStream stream = new DataOutputStream(
+				new BufferedOutputStream(output, BUFFER_SIZE));
+		TodosTimings timings = new TodosTimings();
+		TodosFlightRecorder.setEnabled(flightRecorder);
+
+		try {
+			long start = System.nanoTime();
+			String[] files = TodosParser.findFiles(workspace, filePattern);
+			timings.add(TodosTimings.FIND_FILES, System.nanoTime() - start,
+					files.length, 0, 0);
+
+			SAXParser parser = createParser();
+			Set<String> truncations = new HashSet<String>();
+			boolean copy = checkLimit(stream, truncations,
+					limits.checkFiles(files.length), copyFiles);
+			int numComments = 0;
+
+			for (String filename : files) {
+				File inputFile = new File(workspace, filename);
+				copy = checkLimit(stream, truncations, limits.checkFileSize(
+						inputFile.getAbsolutePath(), inputFile.length()), copy);
+
+				BatchHandler handler = new BatchHandler(stream, limits,
+						numComments);
+				TodosFlightRecorder.Event event = TodosFlightRecorder.PARSE
+						.begin();
+				start = System.nanoTime();
+
+				try {
+					parse(parser, inputFile, handler, stream, copy);
+				} catch (SAXException e) {
+					if (e.getException() instanceof IOException) {
+						// Exceeded limit or failed output
+						throw (IOException) e.getException();
+					}
+
+					throw new IOException("XML parsing failed: " + filename
+							+ ", " + TodosParser.findExceptionMessage(e), e);
+				}
+
+				handler.flush();
+				numComments += handler.getNumComments();
+				copy = checkLimit(stream, truncations,
+						limits.checkComments(numComments), copy);
+
+				stream.writeByte(RECORD_FILE);
+				TodosReportCodec.writeString(stream, inputFile.getName());
+				TodosReportCodec.writeString(stream,
+						inputFile.getAbsolutePath());
+				stream.flush();
+
+				timings.add(TodosTimings.PARSE, System.nanoTime() - start, 1,
+						handler.getNumComments(), inputFile.length());
+
+				if (event != null) {
+					event.commit(inputFile.getPath(),
+							Long.valueOf(inputFile.length()),
+							Integer.valueOf(handler.getNumComments()));
+				}
+			}
+
+			stream.writeByte(RECORD_END);
+			return timings;
+		} finally {
+			stream.close();
+		}
+	}
+
+	/**
+	 * Handle result of a check of a limit.
+	 * 
+	 * @param stream
+	 *            the output for the records
+	 * @param truncations
+	 *            the already announced violations
+	 * @param violation
+	 *            description of the violation or null if the limit is not
+	 *            exceeded
+	 * @param copy
+	 *            the files are copied
+	 * @return true if the next files should be copied, otherwise false
+	 * @throws IOException
+	 *             if the limit is exceeded and a sample is not allowed
+	 */
+	private boolean checkLimit(DataOutputStream stream,
+			Set<String> truncations, String violation, boolean copy)
+			throws IOException {
+		if (violation == null) {
+			return copy;
+		}
+
+		if (!limits.isSample()) {
+			throw new TodosLimits.ExceededException(violation);
+		}
+
+		if (truncations.add(violation)) {
+			stream.writeByte(RECORD_TRUNCATED);
+			TodosReportCodec.writeString(stream, violation);
+		}
+
+		// The receiver stores a sample instead of the copies
+		return false;
+	}
+
+	/**
+	 * Parse a file and optionally copy its content to the output.
+	 * 
+	 * @param parser
+	 *            the parser
+	 * @param file
+	 *            the file
+	 * @param handler
+	 *            the handler of the parsed content
+	 * @param stream
+	 *            the output for the records
+	 * @param copy
+	 *            copy content of the file to the output
+	 * @throws SAXException
+	 *             if parsing fails
+	 * @throws IOException
+	 *             if reading or writing fails
+	 */
+	private void parse(SAXParser parser, File file, BatchHandler handler,
+			DataOutputStream stream, boolean copy) throws SAXException,
+			IOException {
+		parser.reset();
+
+		if (!copy) {
+			parser.parse(file, handler);
+			return;
+		}
+
+		CopyingInputStream copying = new CopyingInputStream(
+				new FileInputStream(file), stream);
+
+		try {
+			TodosFileArchiver.startFile(stream, file);
+
+			InputSource source = new InputSource(new BufferedInputStream(
+					copying, TodosFileArchiver.CHUNK_SIZE));
+			source.setSystemId(file.toURI().toString());
+			parser.parse(source, handler);
+
+			// The parser may not read the trailing content
+			copying.drain();
+			TodosFileArchiver.finishFile(stream, copying.getDigest());
+		} finally {
+			copying.closeInput();
+		}
+	}
+
+	/**
+	 * Create a validating SAX parser.
+	 * 
+	 * @return the parser
+	 * @throws IOException
+	 *             if the parser can't be created
+	 */
+	private static SAXParser createParser() throws IOException {
+		try {
+			Schema schema = TodosParser.loadSchema();
+			SAXParserFactory factory = SAXParserFactory.newInstance();
+			factory.setNamespaceAware(true);
+			factory.setSchema(schema);
+			return factory.newSAXParser();
+		} catch (SAXException e) {
+			throw new IOException("Creating of XML parser failed", e);
+		} catch (ParserConfigurationException e) {
+			throw new IOException("Creating of XML parser failed", e);
+		}
+	}
+
+	/**
+	 * Input stream that copies all data that are read to the output as data
+	 * records of {@link TodosFileArchiver} and computes their checksum.
+	 * 
+	 * @author TODOs Plugin contributors
+	 */
+	private static class CopyingInputStream extends FilterInputStream {
+		/** The output for the records. */
+		private final DataOutputStream stream;
+
+		/** Digest of the data. */
+		private final MessageDigest digest;
+
+		/**
+		 * Constructor.
+		 * 
+		 * @param input
+		 *            the input
+		 * @param stream
+		 *            the output for the records
+		 * @throws IOException
+		 *             if the digest is not available
+		 */
+		CopyingInputStream(InputStream input, DataOutputStream stream)
+				throws IOException {
+			super(input);
+			this.stream = stream;
+			this.digest = TodosFileArchiver.createDigest();
+		}
+
+		@Override
+		public int read() throws IOException {
+			byte[] data = new byte[1];
+			return (read(data, 0, 1) < 0) ? -1 : (data[0] & 0xff);
+		}
+
+		@Override
+		public int read(byte[] data, int offset, int length)
+				throws IOException {
+			int count = super.read(data, offset, length);
+
+			if (count > 0) {
+				digest.update(data, offset, count);
+				TodosFileArchiver.writeData(stream, data, offset, count);
+			}
+
+			return count;
+		}
+
+		@Override
+		public long skip(long n) throws IOException {
+			byte[] data = new byte[(int) Math.min(n, 4096)];
+			int count = read(data, 0, data.length);
+			return Math.max(count, 0);
+		}
+
+		@Override
+		public boolean markSupported() {
+			return false;
+		}
+
+		/**
+		 * The parser closes the input at the end of the document, keep it
+		 * open to be able to drain it.
+		 * 
+		 * @see #closeInput()
+		 */
+		@Override
+		public void close() {
+			// Closed by closeInput()
+		}
+
+		/**
+		 * Close the input.
+		 * 
+		 * @throws IOException
+		 *             if closing fails
+		 */
+		public void closeInput() throws IOException {
+			super.close();
+		}
+
+		/**
+		 * Read and copy the rest of the input.
+		 * 
+		 * @throws IOException
+		 *             if reading or writing fails
+		 */
+		public void drain() throws IOException {
+			byte[] data = new byte[TodosFileArchiver.CHUNK_SIZE];
+
+			while (read(data, 0, data.length) >= 0) {
+				// Copied by the read
+			}
+		}
+
+		/**
+		 * Get the digest of the data.
+		 * 
+		 * @return the digest
+		 */
+		public MessageDigest getDigest() {
+			return digest;
+		}
+	}
+
+	/**
+	 * SAX handler that collects comments of a file and writes them in
+	 * batches. Validation errors stop the parsing.
+	 * 
+	 * @author TODOs Plugin contributors
+	 */
+	private static class BatchHandler extends DefaultHandler {
+		/** The output for the records. */
+		private final DataOutputStream stream;
+
+		/** Limits of the reports. */
+		private final TodosLimits limits;
+
+		/** Number of comments in the previous files. */
+		private final int previousComments;
+
+		/** The comments that were not written yet. */
+		private TodosCommentStore batch = new TodosCommentStore(BATCH_SIZE);
+
+		/** Number of comments in the file. */
+		private int numComments = 0;
+
+		/** Pattern of the current comment, null outside of a comment. */
+		private String pattern = null;
+
+		/** File of the current comment. */
+		private String file = null;
+
+		/** Line of the current comment. */
+		private int line = 0;
+
+		/** Source code of the current comment. */
+		private final StringBuilder sourceCode = new StringBuilder();
+
+		/**
+		 * Constructor.
+		 * 
+		 * @param stream
+		 *            the output for the records
+		 * @param limits
+		 *            limits of the reports
+		 * @param previousComments
+		 *            number of comments in the previous files
+		 */
+		BatchHandler(DataOutputStream stream, TodosLimits limits,
+				int previousComments) {
+			this.stream = stream;
+			this.limits = limits;
+			this.previousComments = previousComments;
+		}
+
+		@Override
+		public void startElement(String uri, String localName, String qName,
+				Attributes attributes) throws SAXException {
+			if (NAMESPACE.equals(uri) && "comment".equals(localName)) {
+				pattern = attributes.getValue("pattern");
+				file = attributes.getValue("file");
+				line = parseLine(attributes.getValue("line"));
+				sourceCode.setLength(0);
+			}
+		}
+
+		@Override
+		public void characters(char[] ch, int start, int length) {
+			if (pattern != null) {
+				sourceCode.append(ch, start, length);
+			}
+		}
+
+		@Override
+		public void endElement(String uri, String localName, String qName)
+				throws SAXException {
+			if (pattern == null) {
+				return;
+			}
+
+			batch.add(pattern, file, line, sourceCode.toString(),
+					TodosDiffStatus.UNCHANGED);
+			pattern = null;
+			++numComments;
+
+			if (!limits.isSample()) {
+				String violation = limits.checkComments(previousComments
+						+ numComments);
+
+				if (violation != null) {
+					// Fail fast, don't wait for the end of the file
+					throw new SAXException(new TodosLimits.ExceededException(
+							violation));
+				}
+			}
+
+			if (batch.size() >= BATCH_SIZE) {
+				try {
+					flush();
+				} catch (IOException e) {
+					throw new SAXException("Writing of comments failed", e);
+				}
+			}
+		}
+
+		@Override
+		public void error(SAXParseException e) throws SAXException {
+			throw e;
+		}
+
+		/**
+		 * Write the collected comments.
+		 * 
+		 * @throws IOException
+		 *             if writing fails
+		 */
+		public void flush() throws IOException {
+			if (batch.size() == 0) {
+				return;
+			}
+
+			stream.writeByte(RECORD_BATCH);
+			TodosReportCodec.write(new TodosReport(batch,
+					Collections.<TodosReport.SlaveFile> emptyList(), ""),
+					stream);
+			batch = new TodosCommentStore(BATCH_SIZE);
+		}
+
+		/**
+		 * Get number of comments in the file.
+		 * 
+		 * @return the number of comments
+		 */
+		public int getNumComments() {
+			return numComments;
+		}
+
+		/**
+		 * Parse a line number, the value is validated by the schema.
+		 * 
+		 * @param value
+		 *            the value
+		 * @return the line number
+		 * @throws SAXException
+		 *             if the value is not a valid number
+		 */
+		private static int parseLine(String value) throws SAXException {
+			try {
+				return Integer.parseInt(value.trim());
+			} catch (NumberFormatException e) {
+				throw new SAXException("Invalid line number: " + value, e);
+			}
+		}
+	}
+}
@@ -0,0 +1,123 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2026 TODOs Plugin contributors
+ * This file is part of TODOs Plugin (Jenkins CI).
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.jenkinsci.plugins.todos.model;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Dictionary of strings that are repeated in a report, e.g. file paths and
+ * patterns. Each distinct value is stored only once and it is identified by
+ * its index. The class is not thread safe.
+ * 
+ * @author TODOs Plugin contributors
+ */
+public class TodosStringDictionary implements Serializable {
+	/** Serial version UID. */
+	private static final long serialVersionUID = 0;
+
+	/** The values in order of their indices. */
+	private final List<String> values;
+
+	/** Index of a value. Rebuilt after deserialization. */
+	private transient Map<String, Integer> indices;
+
+	/**
+	 * Create an empty dictionary.
+	 */
+	public TodosStringDictionary() {
+		this.values = new ArrayList<String>();
+		this.indices = new HashMap<String, Integer>();
+	}
+
+	/**
+	 * Add a value to the dictionary, if it is not already present.
+	 * 
+	 * @param value
+	 *            the value, may be null
+	 * @return the index of the value
+	 */
+	public int add(String value) {
+		Integer index = indices.get(value);
+
+		if (index == null) {
+			index = Integer.valueOf(values.size());
+			values.add(value);
+			indices.put(value, index);
+		}
+
+		return index.intValue();
+	}
+
+	/**
+	 * Get the index of a value.
+	 * 
+	 * @param value
+	 *            the value, may be null
+	 * @return the index or -1 if the value is not present
+	 */
+	public int indexOf(String value) {
+		Integer index = indices.get(value);
+		return (index == null) ? -1 : index.intValue();
+	}
+
+	/**
+	 * Get the value at an index.
+	 * 
+	 * @param index
+	 *            the index
+	 * @return the value
+	 */
+	public String get(int index) {
+		return values.get(index);
+	}
+
+	/**
+	 * Get the number of distinct values.
+	 * 
+	 * @return the number of values
+	 */
+	public int size() {
+		return values.size();
+	}
+
+	/**
+	 * Rebuild the index after deserialization.
+	 * 
+	 * @return this object
+	 */
+	private Object readResolve() {
+		indices = new HashMap<String, Integer>(values.size() * 2);
+
+		for (int i = 0; i < values.size(); ++i) {
+			indices.put(values.get(i), Integer.valueOf(i));
+		}
+
+		return this;
+	}
+}
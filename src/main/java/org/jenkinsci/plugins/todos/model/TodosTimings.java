@@ -0,0 +1,287 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2026 TODOs Plugin contributors
+ * This file is part of TODOs Plugin (Jenkins CI).
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.jenkinsci.plugins.todos.model;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Timing and size metrics of the processing phases. Repeated measurements of
+ * a phase are summed. The class is thread safe and it can be transferred from
+ * a slave to the master.
+ * 
+ * @author TODOs Plugin contributors
+ */
+public class TodosTimings implements Serializable {
+	/** Serial version UID. */
+	private static final long serialVersionUID = 0;
+
+	/** Searching of the report files. */
+	public static final String FIND_FILES = "findFiles";
+
+	/** Parsing of a report file including the copying of its content. */
+	public static final String PARSE = "parse";
+
+	/** Transfer of the records from the slave, the wall time. */
+	public static final String TRANSFER = "transfer";
+
+	/** Computing of the statistics from the received comments. */
+	public static final String STATISTICS = "getStatistics";
+
+	/** Writing of the received copy of a report file. */
+	public static final String COPY = "copyFilesToBuildDirectory";
+
+	/** Loading of a stored report. */
+	public static final String LOAD_REPORT = "loadReport";
+
+	/** Comparing of two reports. */
+	public static final String DIFF_REPORTS = "diffReports";
+
+	/** Getting of the difference on the results page. */
+	public static final String REPORT_DIFF = "getReportDiff";
+
+	/** Rendering of a trend chart. */
+	public static final String BUILD_CHART = "buildChart";
+
+	/** Export of a report to CSV or JSON. */
+	public static final String EXPORT = "export";
+
+	/** Merging of the results of child builds. */
+	public static final String AGGREGATE = "aggregate";
+
+	/** The phases in order of their first measurement. */
+	private final Map<String, Phase> phases = new LinkedHashMap<String, Phase>();
+
+	/**
+	 * Add a measurement of a phase.
+	 * 
+	 * @param name
+	 *            name of the phase
+	 * @param nanos
+	 *            elapsed time in nanoseconds
+	 * @param files
+	 *            number of processed files
+	 * @param comments
+	 *            number of processed comments
+	 * @param bytes
+	 *            number of processed bytes
+	 */
+	public synchronized void add(String name, long nanos, int files,
+			int comments, long bytes) {
+		Phase phase = getPhase(name);
+		++phase.count;
+		phase.nanos += nanos;
+		phase.files += files;
+		phase.comments += comments;
+		phase.bytes += bytes;
+	}
+
+	/**
+	 * Add all measurements of other timings.
+	 * 
+	 * @param timings
+	 *            the other timings
+	 */
+	public void addAll(TodosTimings timings) {
+		for (Phase other : timings.getPhases()) {
+			synchronized (this) {
+				Phase phase = getPhase(other.name);
+				phase.count += other.count;
+				phase.nanos += other.nanos;
+				phase.files += other.files;
+				phase.comments += other.comments;
+				phase.bytes += other.bytes;
+			}
+		}
+	}
+
+	/**
+	 * Get a phase, create it if it doesn't exist yet.
+	 * 
+	 * @param name
+	 *            name of the phase
+	 * @return the phase
+	 */
+	private Phase getPhase(String name) {
+		Phase phase = phases.get(name);
+
+		if (phase == null) {
+			phase = new Phase(name);
+			phases.put(name, phase);
+		}
+
+		return phase;
+	}
+
+	/**
+	 * Get the phases.
+	 * 
+	 * @return copies of the phases in order of their first measurement
+	 */
+	public synchronized List<Phase> getPhases() {
+		List<Phase> result = new ArrayList<Phase>(phases.size());
+
+		for (Phase phase : phases.values()) {
+			result.add(phase.copy());
+		}
+
+		return result;
+	}
+
+	/**
+	 * Metrics of a phase.
+	 * 
+	 * @author TODOs Plugin contributors
+	 */
+	public static class Phase implements Serializable {
+		/** Serial version UID. */
+		private static final long serialVersionUID = 0;
+
+		/** Name of the phase. */
+		private final String name;
+
+		/** Number of measurements. */
+		private int count = 0;
+
+		/** Elapsed time in nanoseconds. */
+		private long nanos = 0;
+
+		/** Number of processed files. */
+		private int files = 0;
+
+		/** Number of processed comments. */
+		private int comments = 0;
+
+		/** Number of processed bytes. */
+		private long bytes = 0;
+
+		/**
+		 * Constructor.
+		 * 
+		 * @param name
+		 *            name of the phase
+		 */
+		private Phase(String name) {
+			this.name = name;
+		}
+
+		/**
+		 * Create a copy.
+		 * 
+		 * @return the copy
+		 */
+		private Phase copy() {
+			Phase phase = new Phase(name);
+			phase.count = count;
+			phase.nanos = nanos;
+			phase.files = files;
+			phase.comments = comments;
+			phase.bytes = bytes;
+			return phase;
+		}
+
+		/**
+		 * Get name of the phase.
+		 * 
+		 * @return the name
+		 */
+		public String getName() {
+			return name;
+		}
+
+		/**
+		 * Get number of measurements.
+		 * 
+		 * @return the number
+		 */
+		public int getCount() {
+			return count;
+		}
+
+		/**
+		 * Get elapsed time.
+		 * 
+		 * @return the time in nanoseconds
+		 */
+		public long getNanos() {
+			return nanos;
+		}
+
+		/**
+		 * Get number of processed files.
+		 * 
+		 * @return the number
+		 */
+		public int getFiles() {
+			return files;
+		}
+
+		/**
+		 * Get number of processed comments.
+		 * 
+		 * @return the number
+		 */
+		public int getComments() {
+			return comments;
+		}
+
+		/**
+		 * Get number of processed bytes.
+		 * 
+		 * @return the number
+		 */
+		public long getBytes() {
+			return bytes;
+		}
+
+		/**
+		 * Format the metrics to a single line.
+		 * 
+		 * @return the formatted metrics
+		 */
+		@Override
+		public String toString() {
+			StringBuilder builder = new StringBuilder();
+			builder.append(String.format("%s: %.1f ms", name, nanos / 1e6));
+
+			if (files > 0) {
+				builder.append(", ").append(files).append(" files");
+			}
+
+			if (comments > 0) {
+				builder.append(", ").append(comments).append(" comments");
+			}
+
+			if (bytes > 0) {
+				builder.append(", ").append(bytes).append(" bytes");
+			}
+
+			return builder.toString();
+		}
+	}
+}
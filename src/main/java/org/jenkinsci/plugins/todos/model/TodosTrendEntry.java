@@ -0,0 +1,74 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2026 TODOs Plugin contributors
+ * This file is part of TODOs Plugin (Jenkins CI).
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.jenkinsci.plugins.todos.model;
+
+import java.io.Serializable;
+
+/**
+ * Statistics of one build in a trend. The class is thread safe.
+ * 
+ * @author TODOs Plugin contributors
+ */
+public class TodosTrendEntry implements Serializable {
+	/** Serial version UID. */
+	private static final long serialVersionUID = 0L;
+
+	/** The build number. */
+	private final int buildNumber;
+
+	/** Report statistics of the build. */
+	private final TodosReportStatistics statistics;
+
+	/**
+	 * Constructor initializing members.
+	 * 
+	 * @param buildNumber
+	 *            the build number
+	 * @param statistics
+	 *            report statistics of the build
+	 */
+	public TodosTrendEntry(int buildNumber, TodosReportStatistics statistics) {
+		this.buildNumber = buildNumber;
+		this.statistics = statistics;
+	}
+
+	/**
+	 * Get the build number.
+	 * 
+	 * @return the number
+	 */
+	public int getBuildNumber() {
+		return buildNumber;
+	}
+
+	/**
+	 * Get report statistics of the build.
+	 * 
+	 * @return the statistics
+	 */
+	public TodosReportStatistics getStatistics() {
+		return statistics;
+	}
+}
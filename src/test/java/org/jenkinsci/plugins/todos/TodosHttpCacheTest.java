@@ -0,0 +1,101 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2026 TODOs Plugin contributors
+ * This file is part of TODOs Plugin (Jenkins CI).
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.jenkinsci.plugins.todos;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+
+/**
+ * Tests of {@link TodosHttpCache}.
+ * 
+ * @author TODOs Plugin contributors
+ */
+public class TodosHttpCacheTest {
+	/** An entity tag. */
+	private static final String TAG = "\"0123456789abcdef\"";
+
+	/**
+	 * A single tag matches only itself.
+	 */
+	@Test
+	public void singleTag() {
+		assertTrue(TodosHttpCache.matches(TAG, TAG));
+		assertFalse(TodosHttpCache.matches("\"fedcba9876543210\"", TAG));
+		assertFalse(TodosHttpCache.matches("", TAG));
+	}
+
+	/**
+	 * Any tag of a list matches, the white space around is ignored.
+	 */
+	@Test
+	public void listOfTags() {
+		assertTrue(TodosHttpCache.matches("\"a\", " + TAG + " ,\"b\"", TAG));
+		assertFalse(TodosHttpCache.matches("\"a\",\"b\"", TAG));
+	}
+
+	/**
+	 * The weak comparison ignores the weak prefix.
+	 */
+	@Test
+	public void weakTag() {
+		assertTrue(TodosHttpCache.matches("W/" + TAG, TAG));
+		assertTrue(TodosHttpCache.matches("\"a\", W/" + TAG, TAG));
+	}
+
+	/**
+	 * The asterisk matches any tag.
+	 */
+	@Test
+	public void asterisk() {
+		assertTrue(TodosHttpCache.matches("*", TAG));
+	}
+
+	/**
+	 * The tag is not matched without the quotes.
+	 */
+	@Test
+	public void unquotedTag() {
+		assertFalse(TodosHttpCache.matches("0123456789abcdef", TAG));
+	}
+
+	/**
+	 * Equal values produce equal quoted tags, different values different
+	 * ones.
+	 */
+	@Test
+	public void eTag() {
+		String tag = TodosHttpCache.getETag("job/1", Long.valueOf(10), null);
+
+		assertEquals(tag, TodosHttpCache.getETag("job/1", Long.valueOf(10),
+				null));
+		assertFalse(tag.equals(TodosHttpCache.getETag("job/1", Long
+				.valueOf(11), null)));
+		assertTrue(tag.startsWith("\"") && tag.endsWith("\""));
+		assertTrue(TodosHttpCache.matches(tag, tag));
+	}
+}
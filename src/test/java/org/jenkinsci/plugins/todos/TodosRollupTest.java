@@ -0,0 +1,217 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2026 TODOs Plugin contributors
+ * This file is part of TODOs Plugin (Jenkins CI).
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.jenkinsci.plugins.todos;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.jenkinsci.plugins.todos.model.TodosComment;
+import org.jenkinsci.plugins.todos.model.TodosReport;
+import org.jenkinsci.plugins.todos.model.TodosReportStatistics;
+import org.junit.Test;
+
+/**
+ * Tests of {@link TodosRollup.Entry}.
+ * 
+ * @author TODOs Plugin contributors
+ */
+public class TodosRollupTest {
+	/** Last day of the window. */
+	private static final int LAST = TodosRollup.DAYS - 1;
+
+	/** A day of the first build. */
+	private static final int DAY = 15000;
+
+	/**
+	 * The first build is valid for the whole window.
+	 */
+	@Test
+	public void firstBuildFillsWindow() {
+		TodosRollup.Entry entry = new TodosRollup.Entry();
+		entry.update(1, DAY, statistics(5));
+
+		assertArrayEquals(window(5, 5, 0), trend(entry, DAY));
+	}
+
+	/**
+	 * The days without builds keep the value of the last build.
+	 */
+	@Test
+	public void daysWithoutBuildsKeepLastValue() {
+		TodosRollup.Entry entry = new TodosRollup.Entry();
+		entry.update(1, DAY, statistics(5));
+		entry.update(2, DAY + 3, statistics(8));
+
+		assertArrayEquals(window(5, 8, 1), trend(entry, DAY + 3));
+		assertArrayEquals(window(5, 8, 3), trend(entry, DAY + 5));
+	}
+
+	/**
+	 * The last build of a day wins, a build with an older timestamp updates
+	 * only the current day.
+	 */
+	@Test
+	public void olderBuildUpdatesCurrentDay() {
+		TodosRollup.Entry entry = new TodosRollup.Entry();
+		entry.update(1, DAY, statistics(5));
+		entry.update(2, DAY + 1, statistics(8));
+		entry.update(3, DAY, statistics(2));
+
+		assertArrayEquals(window(5, 2, 1), trend(entry, DAY + 1));
+	}
+
+	/**
+	 * A gap longer than the window shifts all the days, they keep the value
+	 * of the previous build.
+	 */
+	@Test
+	public void longGapShiftsWholeWindow() {
+		TodosRollup.Entry entry = new TodosRollup.Entry();
+		entry.update(1, DAY, statistics(5));
+		entry.update(2, DAY + 2 * TodosRollup.DAYS, statistics(8));
+
+		assertArrayEquals(window(5, 8, 1), trend(entry, DAY + 2
+				* TodosRollup.DAYS));
+	}
+
+	/**
+	 * The days before the window of an entry are not counted, the days after
+	 * its last day keep the last value.
+	 */
+	@Test
+	public void trendOutsideOfWindow() {
+		TodosRollup.Entry entry = new TodosRollup.Entry();
+		entry.update(1, DAY, statistics(5));
+
+		assertArrayEquals(window(0, 5, TodosRollup.DAYS - 10), trend(entry,
+				DAY - 10));
+		assertArrayEquals(window(5, 5, 0), trend(entry, DAY + 100));
+	}
+
+	/**
+	 * The trends of several entries are summed.
+	 */
+	@Test
+	public void trendsAreSummed() {
+		TodosRollup.Entry first = new TodosRollup.Entry();
+		first.update(1, DAY, statistics(5));
+		TodosRollup.Entry second = new TodosRollup.Entry();
+		second.update(1, DAY, statistics(1));
+		second.update(2, DAY + 1, statistics(3));
+
+		int[] trend = new int[TodosRollup.DAYS];
+		first.addTrend(trend, DAY + 1);
+		second.addTrend(trend, DAY + 1);
+
+		assertArrayEquals(window(6, 8, 1), trend);
+	}
+
+	/**
+	 * Only the last builds are kept in the series of builds.
+	 */
+	@Test
+	public void buildTrendKeepsLastBuilds() {
+		TodosRollup.Entry entry = new TodosRollup.Entry();
+
+		for (int i = 1; i <= TodosRollup.BUILDS + 5; ++i) {
+			entry.update(i, DAY, statistics(i));
+		}
+
+		int[] builds = entry.getBuildTrend();
+		assertEquals(TodosRollup.BUILDS, builds.length);
+		assertEquals(6, builds[0]);
+		assertEquals(TodosRollup.BUILDS + 5, builds[builds.length - 1]);
+	}
+
+	/**
+	 * A copy is not changed by the updates of the original.
+	 */
+	@Test
+	public void copyIsIndependent() {
+		TodosRollup.Entry entry = new TodosRollup.Entry();
+		entry.update(1, DAY, statistics(5));
+		TodosRollup.Entry copy = entry.copy();
+		entry.update(2, DAY + 1, statistics(8));
+
+		assertArrayEquals(window(5, 5, 0), trend(copy, DAY));
+		assertArrayEquals(new int[] { 5 }, copy.getBuildTrend());
+	}
+
+	/**
+	 * Create statistics with a number of comments.
+	 * 
+	 * @param numComments
+	 *            the number of comments
+	 * @return the statistics
+	 */
+	private static TodosReportStatistics statistics(int numComments) {
+		List<TodosComment> comments = new ArrayList<TodosComment>();
+
+		for (int i = 0; i < numComments; ++i) {
+			comments.add(new TodosComment("TODO", "A.java", i, "c"));
+		}
+
+		return new TodosReport(comments).getStatistics();
+	}
+
+	/**
+	 * Get the trend of an entry.
+	 * 
+	 * @param entry
+	 *            the entry
+	 * @param today
+	 *            the current day
+	 * @return the trend, its last value belongs to today
+	 */
+	private static int[] trend(TodosRollup.Entry entry, int today) {
+		int[] trend = new int[TodosRollup.DAYS];
+		entry.addTrend(trend, today);
+		return trend;
+	}
+
+	/**
+	 * Create an expected trend.
+	 * 
+	 * @param before
+	 *            the value of the older days
+	 * @param after
+	 *            the value of the last days
+	 * @param lastDays
+	 *            number of the last days with the second value, at least one
+	 *            if zero
+	 * @return the trend
+	 */
+	private static int[] window(int before, int after, int lastDays) {
+		int[] trend = new int[TodosRollup.DAYS];
+		int split = LAST + 1 - Math.max(lastDays, 1);
+		Arrays.fill(trend, 0, split, before);
+		Arrays.fill(trend, split, TodosRollup.DAYS, after);
+		return trend;
+	}
+}
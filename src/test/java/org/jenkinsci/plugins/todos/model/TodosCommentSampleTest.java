@@ -0,0 +1,160 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2026 TODOs Plugin contributors
+ * This file is part of TODOs Plugin (Jenkins CI).
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.jenkinsci.plugins.todos.model;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.HashSet;
+import java.util.Set;
+
+import org.junit.Test;
+
+/**
+ * Tests of {@link TodosCommentSample}.
+ * 
+ * @author TODOs Plugin contributors
+ */
+public class TodosCommentSampleTest {
+	/**
+	 * All comments are kept while they fit.
+	 */
+	@Test
+	public void smallInputKept() {
+		TodosCommentSample sample = new TodosCommentSample(100);
+		sample.addAll(comments(0, 50));
+
+		assertEquals(50, sample.getComments().size());
+	}
+
+	/**
+	 * The sample is thinned to its size but it is never empty.
+	 */
+	@Test
+	public void thinnedToSize() {
+		TodosCommentSample sample = new TodosCommentSample(50);
+		sample.addAll(comments(0, 10000));
+
+		int size = sample.getComments().size();
+		assertTrue("Sample size " + size, size > 0 && size <= 50);
+	}
+
+	/**
+	 * The selection doesn't depend on the order and the batches of the
+	 * comments.
+	 */
+	@Test
+	public void independentOfOrder() {
+		TodosCommentSample whole = new TodosCommentSample(50);
+		whole.addAll(comments(0, 2000));
+
+		TodosCommentSample batches = new TodosCommentSample(50);
+		batches.addAll(comments(1000, 2000));
+		batches.addAll(comments(0, 1000));
+
+		assertEquals(keys(whole.getComments()), keys(batches.getComments()));
+	}
+
+	/**
+	 * The unchanged comments of a bigger report are selected again, the
+	 * samples can be compared at a common level.
+	 */
+	@Test
+	public void stableSelection() {
+		TodosCommentSample first = new TodosCommentSample(50);
+		first.addAll(comments(0, 2000));
+		TodosCommentSample second = new TodosCommentSample(50);
+		second.addAll(comments(0, 4000));
+
+		TodosCommentStore firstComments = first.getComments();
+		TodosCommentStore secondComments = second.getComments();
+		int level = Math.max(TodosCommentSample.getLevel(firstComments),
+				TodosCommentSample.getLevel(secondComments));
+
+		Set<String> common = keys(TodosCommentSample.select(firstComments,
+				level));
+		Set<String> selected = keys(TodosCommentSample.select(
+				secondComments, level));
+		selected.retainAll(keys(comments(0, 2000)));
+
+		assertEquals(common, selected);
+	}
+
+	/**
+	 * Comments with the same hash can't be thinned, the sample keeps the
+	 * first ones instead of dropping all of them.
+	 */
+	@Test
+	public void sameHashNotEmpty() {
+		TodosCommentStore comments = new TodosCommentStore();
+
+		for (int i = 0; i < 100; ++i) {
+			comments.add(new TodosComment("TODO", "A.java", 1, "same"));
+		}
+
+		TodosCommentSample sample = new TodosCommentSample(10);
+		sample.addAll(comments);
+		sample.addAll(comments);
+
+		assertEquals(10, sample.getComments().size());
+	}
+
+	/**
+	 * Create distinct comments.
+	 * 
+	 * @param from
+	 *            the first line, inclusive
+	 * @param to
+	 *            the last line, exclusive
+	 * @return the comments
+	 */
+	private static TodosCommentStore comments(int from, int to) {
+		TodosCommentStore comments = new TodosCommentStore();
+
+		for (int i = from; i < to; ++i) {
+			comments.add(new TodosComment("TODO", "F" + (i % 7) + ".java", i,
+					"comment " + i));
+		}
+
+		return comments;
+	}
+
+	/**
+	 * Get keys identifying the comments.
+	 * 
+	 * @param comments
+	 *            the comments
+	 * @return the keys
+	 */
+	private static Set<String> keys(TodosCommentStore comments) {
+		Set<String> keys = new HashSet<String>();
+
+		for (int i = 0; i < comments.size(); ++i) {
+			keys.add(comments.getFile(i) + ":" + comments.getLine(i));
+		}
+
+		return keys;
+	}
+}
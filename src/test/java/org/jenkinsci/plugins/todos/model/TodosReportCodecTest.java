@@ -0,0 +1,211 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2026 TODOs Plugin contributors
+ * This file is part of TODOs Plugin (Jenkins CI).
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.jenkinsci.plugins.todos.model;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.fail;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.Test;
+
+/**
+ * Tests of {@link TodosReportCodec}.
+ * 
+ * @author TODOs Plugin contributors
+ */
+public class TodosReportCodecTest {
+	/**
+	 * The values survive the variable length encoding, the small ones take a
+	 * single byte.
+	 * 
+	 * @throws IOException
+	 *             if the encoding fails
+	 */
+	@Test
+	public void varIntRoundTrip() throws IOException {
+		int[] values = { 0, 1, 127, 128, 16383, 16384, Integer.MAX_VALUE, -1,
+				Integer.MIN_VALUE };
+
+		for (int value : values) {
+			ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+			TodosReportCodec.writeVarInt(new DataOutputStream(bytes), value);
+			assertEquals(value, TodosReportCodec.readVarInt(input(bytes
+					.toByteArray())));
+		}
+
+		ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+		TodosReportCodec.writeVarInt(new DataOutputStream(bytes), 127);
+		assertEquals(1, bytes.size());
+	}
+
+	/**
+	 * A negative length is rejected before anything is allocated.
+	 * 
+	 * @throws IOException
+	 *             if the encoding fails
+	 */
+	@Test(expected = IOException.class)
+	public void negativeLengthRejected() throws IOException {
+		ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+		TodosReportCodec.writeVarInt(new DataOutputStream(bytes), -5);
+		TodosReportCodec.readLength(input(bytes.toByteArray()),
+				Integer.MAX_VALUE, "length");
+	}
+
+	/**
+	 * A string length over the limit is rejected before anything is
+	 * allocated.
+	 * 
+	 * @throws IOException
+	 *             if the encoding fails
+	 */
+	@Test(expected = IOException.class)
+	public void tooLongStringRejected() throws IOException {
+		ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+		TodosReportCodec.writeVarInt(new DataOutputStream(bytes),
+				TodosReportCodec.MAX_STRING_LENGTH + 2);
+		TodosReportCodec.readString(input(bytes.toByteArray()));
+	}
+
+	/**
+	 * The writer refuses a string that the reader would reject.
+	 */
+	@Test
+	public void tooLongStringNotWritten() {
+		StringBuilder value = new StringBuilder();
+
+		while (value.length() <= TodosReportCodec.MAX_STRING_LENGTH) {
+			value.append("0123456789abcdef");
+		}
+
+		try {
+			TodosReportCodec.writeString(new DataOutputStream(
+					new ByteArrayOutputStream()), value.toString());
+			fail("A string longer than the limit was written");
+		} catch (IOException e) {
+			// Expected
+		}
+	}
+
+	/**
+	 * Strings including null and multibyte characters survive the encoding.
+	 * 
+	 * @throws IOException
+	 *             if the encoding fails
+	 */
+	@Test
+	public void stringRoundTrip() throws IOException {
+		ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+		DataOutputStream output = new DataOutputStream(bytes);
+		TodosReportCodec.writeString(output, null);
+		TodosReportCodec.writeString(output, "");
+		TodosReportCodec.writeString(output, "P\u0159\u00edli\u0161");
+
+		DataInputStream input = input(bytes.toByteArray());
+		assertNull(TodosReportCodec.readString(input));
+		assertEquals("", TodosReportCodec.readString(input));
+		assertEquals("P\u0159\u00edli\u0161",
+				TodosReportCodec.readString(input));
+	}
+
+	/**
+	 * Truncated text never ends inside of a multibyte character.
+	 * 
+	 * @throws IOException
+	 *             if the encoding fails
+	 */
+	@Test
+	public void truncateAtCharacterBoundary() throws IOException {
+		byte[] text = "a\u00e9b".getBytes("UTF-8");
+
+		assertEquals(4, TodosReportCodec.truncate(text, 0, 4, 10));
+		assertEquals(3, TodosReportCodec.truncate(text, 0, 4, 3));
+		assertEquals(1, TodosReportCodec.truncate(text, 0, 4, 2));
+		assertEquals(0, TodosReportCodec.truncate(text, 1, 3, 1));
+	}
+
+	/**
+	 * A report survives the encoding including the diff statuses.
+	 * 
+	 * @throws IOException
+	 *             if the encoding fails
+	 */
+	@Test
+	public void reportRoundTrip() throws IOException {
+		List<TodosComment> comments = new ArrayList<TodosComment>();
+		comments.add(new TodosComment("TODO", "a/A.java", 10, "fix it"));
+		comments.add(new TodosComment(new TodosComment("FIXME", "a/A.java",
+				20, "broken"), TodosDiffStatus.NEW));
+		comments.add(new TodosComment("TODO", "b/B.java", 1, ""));
+
+		ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+		TodosReportCodec.write(new TodosReport(comments),
+				new DataOutputStream(bytes));
+		TodosReport report = TodosReportCodec.read(input(bytes
+				.toByteArray()));
+
+		assertEquals(comments.size(), report.getCommentsCount());
+
+		for (int i = 0; i < comments.size(); ++i) {
+			TodosComment expected = comments.get(i);
+			TodosComment actual = report.getComments().get(i);
+			assertEquals(expected.getPattern(), actual.getPattern());
+			assertEquals(expected.getFile(), actual.getFile());
+			assertEquals(expected.getLine(), actual.getLine());
+			assertEquals(expected.getSourceCode(), actual.getSourceCode());
+			assertEquals(expected.getDiffStatus(), actual.getDiffStatus());
+		}
+	}
+
+	/**
+	 * Data that are not a report are rejected.
+	 * 
+	 * @throws IOException
+	 *             if the data are not a report
+	 */
+	@Test(expected = IOException.class)
+	public void invalidMagicRejected() throws IOException {
+		TodosReportCodec.read(input(new byte[] { 'X', 'M', 'L', '!', 0 }));
+	}
+
+	/**
+	 * Create an input of bytes.
+	 * 
+	 * @param bytes
+	 *            the bytes
+	 * @return the input
+	 */
+	private static DataInputStream input(byte[] bytes) {
+		return new DataInputStream(new ByteArrayInputStream(bytes));
+	}
+}
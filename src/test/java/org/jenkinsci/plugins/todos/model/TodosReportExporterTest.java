@@ -0,0 +1,151 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2026 TODOs Plugin contributors
+ * This file is part of TODOs Plugin (Jenkins CI).
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.jenkinsci.plugins.todos.model;
+
+import static org.junit.Assert.assertEquals;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.jenkinsci.plugins.todos.model.TodosReportExporter.Format;
+import org.junit.Test;
+
+/**
+ * Tests of {@link TodosReportExporter}.
+ * 
+ * @author TODOs Plugin contributors
+ */
+public class TodosReportExporterTest {
+	/**
+	 * The fields are quoted and the quotes inside are doubled, the line
+	 * breaks are kept inside of the quotes.
+	 * 
+	 * @throws IOException
+	 *             if the export fails
+	 */
+	@Test
+	public void csvEscaping() throws IOException {
+		List<TodosComment> comments = new ArrayList<TodosComment>();
+		comments.add(new TodosComment("TODO", "a,b.java", 7,
+				"say \"hi\"\nnow"));
+
+		assertEquals("file,line,pattern,comment\r\n"
+				+ "\"a,b.java\",7,\"TODO\",\"say \"\"hi\"\"\nnow\"\r\n",
+				export(comments, Format.CSV, false));
+	}
+
+	/**
+	 * The diff status is the first column if requested.
+	 * 
+	 * @throws IOException
+	 *             if the export fails
+	 */
+	@Test
+	public void csvStatus() throws IOException {
+		List<TodosComment> comments = new ArrayList<TodosComment>();
+		comments.add(new TodosComment(new TodosComment("FIXME", "A.java",
+				-1, ""), TodosDiffStatus.SOLVED));
+
+		assertEquals("status,file,line,pattern,comment\r\n"
+				+ "solved,\"A.java\",-1,\"FIXME\",\"\"\r\n",
+				export(comments, Format.CSV, true));
+	}
+
+	/**
+	 * Quotes, backslashes and control characters are escaped, the other
+	 * characters are kept as they are.
+	 * 
+	 * @throws IOException
+	 *             if the export fails
+	 */
+	@Test
+	public void jsonEscaping() throws IOException {
+		List<TodosComment> comments = new ArrayList<TodosComment>();
+		comments.add(new TodosComment("TODO", "C:\\src\\A.java", 1,
+				"\"q\"\t\r\n\u0001 \u00e9\u20ac"));
+		comments.add(new TodosComment("XXX", "B.java", 22, ""));
+
+		assertEquals("{\"comments\":[\n"
+				+ "{\"file\":\"C:\\\\src\\\\A.java\",\"line\":1,"
+				+ "\"pattern\":\"TODO\","
+				+ "\"comment\":\"\\\"q\\\"\\t\\r\\n\\u0001 \u00e9\u20ac\"},\n"
+				+ "{\"file\":\"B.java\",\"line\":22,\"pattern\":\"XXX\","
+				+ "\"comment\":\"\"}\n]}\n",
+				export(comments, Format.JSON, false));
+	}
+
+	/**
+	 * The diff status is the first property if requested.
+	 * 
+	 * @throws IOException
+	 *             if the export fails
+	 */
+	@Test
+	public void jsonStatus() throws IOException {
+		List<TodosComment> comments = new ArrayList<TodosComment>();
+		comments.add(new TodosComment(new TodosComment("TODO", "A.java", 3,
+				"x"), TodosDiffStatus.NEW));
+
+		assertEquals("{\"comments\":[\n"
+				+ "{\"status\":\"new\",\"file\":\"A.java\",\"line\":3,"
+				+ "\"pattern\":\"TODO\",\"comment\":\"x\"}\n]}\n",
+				export(comments, Format.JSON, true));
+	}
+
+	/**
+	 * An empty report is a valid document.
+	 * 
+	 * @throws IOException
+	 *             if the export fails
+	 */
+	@Test
+	public void jsonEmpty() throws IOException {
+		assertEquals("{\"comments\":[\n]}\n", export(
+				new ArrayList<TodosComment>(), Format.JSON, false));
+	}
+
+	/**
+	 * Export comments.
+	 * 
+	 * @param comments
+	 *            the comments
+	 * @param format
+	 *            the format
+	 * @param withStatus
+	 *            include the diff statuses
+	 * @return the exported document
+	 * @throws IOException
+	 *             if the export fails
+	 */
+	private static String export(List<TodosComment> comments, Format format,
+			boolean withStatus) throws IOException {
+		ByteArrayOutputStream output = new ByteArrayOutputStream();
+		TodosReportExporter.write(new TodosReport(comments), format,
+				withStatus, output);
+		return output.toString("UTF-8");
+	}
+}
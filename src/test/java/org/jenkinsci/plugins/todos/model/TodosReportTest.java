@@ -0,0 +1,217 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2026 TODOs Plugin contributors
+ * This file is part of TODOs Plugin (Jenkins CI).
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.jenkinsci.plugins.todos.model;
+
+import static org.junit.Assert.assertEquals;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.Test;
+
+/**
+ * Tests of {@link TodosReport}.
+ * 
+ * @author TODOs Plugin contributors
+ */
+public class TodosReportTest {
+	/**
+	 * The diff lists the new, solved and unchanged comments, the exact
+	 * matches before the moved ones.
+	 */
+	@Test
+	public void diffOrder() {
+		List<TodosComment> previous = new ArrayList<TodosComment>();
+		previous.add(new TodosComment("TODO", "A.java", 1, "same"));
+		previous.add(new TodosComment("TODO", "A.java", 5, "moved"));
+		previous.add(new TodosComment("FIXME", "B.java", 3, "solved"));
+
+		List<TodosComment> current = new ArrayList<TodosComment>();
+		current.add(new TodosComment("TODO", "A.java", 9, "moved"));
+		current.add(new TodosComment("TODO", "A.java", 2, "new"));
+		current.add(new TodosComment("TODO", "A.java", 1, "same"));
+
+		List<TodosComment> diff = new TodosReport(current).diffReports(
+				new TodosReport(previous)).getComments();
+
+		assertEquals(4, diff.size());
+		assertComment("new", TodosDiffStatus.NEW, diff.get(0));
+		assertComment("solved", TodosDiffStatus.SOLVED, diff.get(1));
+		assertComment("same", TodosDiffStatus.UNCHANGED, diff.get(2));
+		assertComment("moved", TodosDiffStatus.UNCHANGED, diff.get(3));
+		assertEquals(9, diff.get(3).getLine());
+	}
+
+	/**
+	 * The diff of random reports with many duplicates equals the diff of the
+	 * original list based implementation, including the order.
+	 */
+	@Test
+	public void diffMatchesListImplementation() {
+		Random random = new Random(42);
+
+		for (int round = 0; round < 50; ++round) {
+			List<TodosComment> previous = randomComments(random);
+			List<TodosComment> current = randomComments(random);
+
+			List<TodosComment> expected = diffLists(current, previous);
+			List<TodosComment> actual = new TodosReport(current).diffReports(
+					new TodosReport(previous)).getComments();
+
+			assertEquals(expected.size(), actual.size());
+
+			for (int i = 0; i < expected.size(); ++i) {
+				TodosComment comment = expected.get(i);
+				assertEquals(comment.getFile(), actual.get(i).getFile());
+				assertEquals(comment.getLine(), actual.get(i).getLine());
+				assertComment(comment.getSourceCode(), comment
+						.getDiffStatus(), actual.get(i));
+			}
+		}
+	}
+
+	/**
+	 * Check the source code and the diff status of a comment.
+	 * 
+	 * @param sourceCode
+	 *            the expected source code
+	 * @param status
+	 *            the expected diff status
+	 * @param comment
+	 *            the comment
+	 */
+	private static void assertComment(String sourceCode,
+			TodosDiffStatus status, TodosComment comment) {
+		assertEquals(sourceCode, comment.getSourceCode());
+		assertEquals(status, comment.getDiffStatus());
+	}
+
+	/**
+	 * Generate comments from a small set of values, so they match often.
+	 * 
+	 * @param random
+	 *            the generator
+	 * @return the comments
+	 */
+	private static List<TodosComment> randomComments(Random random) {
+		List<TodosComment> comments = new ArrayList<TodosComment>();
+		int size = random.nextInt(40);
+
+		for (int i = 0; i < size; ++i) {
+			comments.add(new TodosComment("TODO", "F" + random.nextInt(3)
+					+ ".java", random.nextInt(5), "c" + random.nextInt(4)));
+		}
+
+		return comments;
+	}
+
+	/**
+	 * The original diff of lists of comments the report must be compatible
+	 * with.
+	 * 
+	 * @param currentComments
+	 *            the current comments
+	 * @param previousComments
+	 *            the previous comments
+	 * @return the diff
+	 */
+	private static List<TodosComment> diffLists(
+			List<TodosComment> currentComments,
+			List<TodosComment> previousComments) {
+		List<TodosComment> current = new LinkedList<TodosComment>(
+				currentComments);
+		List<TodosComment> previous = new LinkedList<TodosComment>(
+				previousComments);
+		List<TodosComment> results = new LinkedList<TodosComment>();
+
+		Iterator<TodosComment> it = current.iterator();
+
+		while (it.hasNext()) {
+			TodosComment comment = it.next();
+
+			if (findAndRemove(previous, comment, true)) {
+				results.add(new TodosComment(comment,
+						TodosDiffStatus.UNCHANGED));
+				it.remove();
+			}
+		}
+
+		for (TodosComment comment : current) {
+			if (findAndRemove(previous, comment, false)) {
+				results.add(new TodosComment(comment,
+						TodosDiffStatus.UNCHANGED));
+			} else {
+				results.add(new TodosComment(comment, TodosDiffStatus.NEW));
+			}
+		}
+
+		for (TodosComment comment : previous) {
+			results.add(new TodosComment(comment, TodosDiffStatus.SOLVED));
+		}
+
+		Collections.sort(results, new Comparator<TodosComment>() {
+			public int compare(TodosComment o1, TodosComment o2) {
+				return o1.getDiffStatus().ordinal()
+						- o2.getDiffStatus().ordinal();
+			}
+		});
+
+		return results;
+	}
+
+	/**
+	 * Find a comment in a list and remove it.
+	 * 
+	 * @param comments
+	 *            the list
+	 * @param search
+	 *            the comment to search
+	 * @param exactMatch
+	 *            compare also the lines
+	 * @return true if the comment was found and removed
+	 */
+	private static boolean findAndRemove(List<TodosComment> comments,
+			TodosComment search, boolean exactMatch) {
+		Iterator<TodosComment> it = comments.iterator();
+
+		while (it.hasNext()) {
+			TodosComment comment = it.next();
+
+			if ((!exactMatch || comment.getLine() == search.getLine())
+					&& comment.getFile().equals(search.getFile())
+					&& comment.getSourceCode().equals(search.getSourceCode())) {
+				it.remove();
+				return true;
+			}
+		}
+
+		return false;
+	}
+}